@@ -0,0 +1,53 @@
+package com.scf.loan.bench.bill;
+
+import com.scf.loan.bill.plan.strategy.AnnuityPowerTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 等额本息期供：无限精度 pow 与缓存幂表对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnuityInstallmentBenchmark {
+    @Param({"12", "36", "60", "120"})
+    private int periodCount;
+
+    private final long principal = 1_000_000_00L;
+    /**
+     * 日利率万分之五，30 天一期
+     */
+    private final long periodRate = 50000L * 30;
+    private AnnuityPowerTable powerTable;
+
+    @Setup
+    public void setUp() {
+        powerTable = new AnnuityPowerTable();
+        powerTable.installment(principal, periodRate, periodCount);
+    }
+
+    @Benchmark
+    public long exactPow() {
+        return AnnuityPowerTable.exactInstallment(principal, periodRate, periodCount);
+    }
+
+    @Benchmark
+    public long powerTable() {
+        return powerTable.installment(principal, periodRate, periodCount);
+    }
+}
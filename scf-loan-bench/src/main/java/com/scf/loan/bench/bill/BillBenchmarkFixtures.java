@@ -0,0 +1,116 @@
+package com.scf.loan.bench.bill;
+
+import com.scf.loan.bill.plan.ChargeRate;
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanStrategy;
+import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
+import com.scf.loan.bill.plan.RepayRequest;
+import com.scf.loan.bill.plan.RepayTrialRequest;
+import com.scf.loan.bill.plan.RepayTrialScheduleItem;
+import com.scf.loan.bill.plan.RepayTrialSubjectAmount;
+import com.scf.loan.bill.plan.enums.RateUnit;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.bill.plan.strategy.EqualPrincipalInterestStrategy;
+import com.scf.loan.bill.plan.strategy.EqualPrincipalStrategy;
+import com.scf.loan.bill.plan.strategy.InterestFirstPrincipalLastStrategy;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.bill.service.impl.RepayPlanServiceImpl;
+import com.scf.loan.common.dto.RepayPlanItem;
+import com.scf.loan.common.enums.ChargeSubject;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基准测试公共数据：本金 100 万元（分），日利率万分之五，30 天一期
+ */
+final class BillBenchmarkFixtures {
+    static final long PRINCIPAL = 1_000_000_00L;
+    static final long DAILY_RATE = 50000L;
+    static final long PENALTY_DAILY_RATE = 75000L;
+    static final int PERIOD_DAYS = 30;
+    static final LocalDate LOAN_DATE = LocalDate.of(2026, 1, 1);
+
+    private BillBenchmarkFixtures() {
+    }
+
+    static List<RepayPlanStrategy> strategies() {
+        return Arrays.asList(
+                new EqualPrincipalStrategy(),
+                new EqualPrincipalInterestStrategy(),
+                new InterestFirstPrincipalLastStrategy());
+    }
+
+    static RepayPlanService planService() {
+        return new RepayPlanServiceImpl(new RepayPlanStrategyRouter(strategies()));
+    }
+
+    static RepayPlanRequest planRequest(RepayMethod method, int periodCount) {
+        RepayPlanRequest request = new RepayPlanRequest();
+        fill(request, method, periodCount);
+        return request;
+    }
+
+    static RepayTrialRequest trialRequest(RepayMethod method, int periodCount, LocalDate trialDate) {
+        RepayTrialRequest request = new RepayTrialRequest();
+        fill(request, method, periodCount);
+        request.setTrialDate(trialDate);
+        return request;
+    }
+
+    static RepayRequest repayRequest(RepayMethod method, int periodCount, LocalDate trialDate, long repayAmount) {
+        RepayRequest request = new RepayRequest();
+        fill(request, method, periodCount);
+        request.setTrialDate(trialDate);
+        request.setRepayAmount(repayAmount);
+        return request;
+    }
+
+    /**
+     * 由计划生成带已还明细的期次，模拟已部分还款的借据
+     */
+    static List<RepayTrialScheduleItem> periodDetails(List<RepayPlanItem> planItems) {
+        List<RepayTrialScheduleItem> periodDetails = new ArrayList<>(planItems.size());
+        for (RepayPlanItem planItem : planItems) {
+            RepayTrialScheduleItem item = new RepayTrialScheduleItem();
+            item.setPeriod(planItem.getPeriod());
+            item.setStartDate(planItem.getStartDate());
+            item.setDueDate(planItem.getDueDate());
+            RepayTrialSubjectAmount repaidInterest = new RepayTrialSubjectAmount();
+            repaidInterest.setSubject(ChargeSubject.INTEREST);
+            repaidInterest.setAmount(100L);
+            item.setRepaidDetails(Collections.singletonList(repaidInterest));
+            periodDetails.add(item);
+        }
+        return periodDetails;
+    }
+
+    /**
+     * 自 from 起每 step 天一次部分还款
+     */
+    static List<LocalDate> repayDates(LocalDate from, int count, int step) {
+        List<LocalDate> repayDates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            repayDates.add(from.plusDays((long) i * step));
+        }
+        return repayDates;
+    }
+
+    private static void fill(RepayPlanRequest request, RepayMethod method, int periodCount) {
+        request.setRepayMethod(method);
+        request.setPrincipal(PRINCIPAL);
+        request.setDailyRate(DAILY_RATE);
+        request.setPenaltyDailyRate(PENALTY_DAILY_RATE);
+        request.setLoanDate(LOAN_DATE);
+        request.setPeriodDays(PERIOD_DAYS);
+        request.setPeriodCount(periodCount);
+        ChargeRate guaranteeFee = new ChargeRate();
+        guaranteeFee.setSubject(ChargeSubject.GUARANTEE_FEE);
+        guaranteeFee.setRateUnit(RateUnit.DAILY);
+        guaranteeFee.setRateValue(10000L);
+        request.setChargeRates(Collections.singletonList(guaranteeFee));
+    }
+}
@@ -0,0 +1,58 @@
+package com.scf.loan.bench.bill;
+
+import com.scf.loan.bench.BenchmarkSupport;
+import com.scf.loan.bill.plan.PayoffQuote;
+import com.scf.loan.bill.plan.RepayTrialRequest;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.bill.service.PayoffQuoteService;
+import com.scf.loan.bill.service.impl.PayoffQuoteServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 提前结清报价：未来 30 天逐日报价，区间模式与逐日单次报价对比
+ */
+@State(Scope.Benchmark)
+public class PayoffQuoteBenchmark extends BenchmarkSupport {
+    private static final int DAYS = 30;
+
+    @Param({"12", "36"})
+    private int periodCount;
+
+    private PayoffQuoteService quoteService;
+    private List<RepayTrialRequest> dailyRequests;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        quoteService = new PayoffQuoteServiceImpl(BillBenchmarkFixtures.planService());
+        LocalDate from = BillBenchmarkFixtures.LOAN_DATE.plusDays(BillBenchmarkFixtures.PERIOD_DAYS * 3L + 5L);
+        dailyRequests = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) {
+            dailyRequests.add(BillBenchmarkFixtures.trialRequest(RepayMethod.EQUAL_PRINCIPAL_INTEREST, periodCount,
+                    from.plusDays(i)));
+        }
+        endDate = from.plusDays(DAYS - 1L);
+    }
+
+    @Benchmark
+    public Object quoteRange() {
+        return quoteService.quoteRange(dailyRequests.get(0), endDate);
+    }
+
+    @Benchmark
+    public Object quoteDaily() {
+        List<PayoffQuote> quotes = new ArrayList<>(DAYS);
+        for (RepayTrialRequest request : dailyRequests) {
+            quotes.add(quoteService.quote(request));
+        }
+        return quotes;
+    }
+}
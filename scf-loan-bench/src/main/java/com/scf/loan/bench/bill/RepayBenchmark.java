@@ -0,0 +1,39 @@
+package com.scf.loan.bench.bill;
+
+import com.scf.loan.bench.BenchmarkSupport;
+import com.scf.loan.bill.plan.RepayRequest;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.bill.service.RepayService;
+import com.scf.loan.bill.service.impl.RepayServiceImpl;
+import com.scf.loan.bill.service.impl.RepayTrialServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+
+/**
+ * 还款：试算后按科目顺序分配还款金额
+ */
+@State(Scope.Benchmark)
+public class RepayBenchmark extends BenchmarkSupport {
+    @Param({"12", "36"})
+    private int periodCount;
+
+    private RepayService repayService;
+    private RepayRequest request;
+
+    @Setup
+    public void setUp() {
+        repayService = new RepayServiceImpl(new RepayTrialServiceImpl(BillBenchmarkFixtures.planService()));
+        LocalDate trialDate = BillBenchmarkFixtures.LOAN_DATE.plusDays(BillBenchmarkFixtures.PERIOD_DAYS + 3L);
+        request = BillBenchmarkFixtures.repayRequest(RepayMethod.EQUAL_PRINCIPAL_INTEREST, periodCount, trialDate, 2_000_000L);
+    }
+
+    @Benchmark
+    public Object repay() {
+        return repayService.repay(request);
+    }
+}
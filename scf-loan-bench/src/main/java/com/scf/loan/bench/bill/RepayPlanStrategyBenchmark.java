@@ -0,0 +1,53 @@
+package com.scf.loan.bench.bill;
+
+import com.scf.loan.bench.BenchmarkSupport;
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanStrategy;
+import com.scf.loan.bill.plan.RepayPlanStrategyKey;
+import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.common.dto.RepayPlanItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/**
+ * 三种还款方式的计划生成，generate 会逐期构建 {@link RepayPlanItem}
+ */
+@State(Scope.Benchmark)
+public class RepayPlanStrategyBenchmark extends BenchmarkSupport {
+    @Param({"EQUAL_PRINCIPAL", "EQUAL_PRINCIPAL_INTEREST", "INTEREST_FIRST"})
+    private RepayMethod repayMethod;
+
+    @Param({"12", "36", "60", "120"})
+    private int periodCount;
+
+    private RepayPlanStrategy strategy;
+    private RepayPlanRequest request;
+
+    @Setup
+    public void setUp() {
+        RepayPlanStrategyKey key = new RepayPlanStrategyKey();
+        key.setRepayMethod(repayMethod);
+        strategy = new RepayPlanStrategyRouter(BillBenchmarkFixtures.strategies()).route(key);
+        request = BillBenchmarkFixtures.planRequest(repayMethod, periodCount);
+    }
+
+    @Benchmark
+    public void generate(Blackhole blackhole) {
+        List<RepayPlanItem> items = strategy.generate(request);
+        for (int i = 0; i < items.size(); i++) {
+            blackhole.consume(items.get(i));
+        }
+    }
+
+    @Benchmark
+    public Object generateSchedule() {
+        return strategy.generateSchedule(request);
+    }
+}
@@ -0,0 +1,50 @@
+package com.scf.loan.bench.bill;
+
+import com.scf.loan.bench.BenchmarkSupport;
+import com.scf.loan.bill.plan.RepayTrialRequest;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.bill.service.RepayTrialService;
+import com.scf.loan.bill.service.impl.RepayTrialServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+
+/**
+ * 还款试算：仅计划、带期次已还明细、带部分还款日期三种输入
+ */
+@State(Scope.Benchmark)
+public class RepayTrialBenchmark extends BenchmarkSupport {
+    @Param({"PLAN_ONLY", "PERIOD_DETAILS", "REPAY_DATES"})
+    private String scenario;
+
+    @Param({"12", "36"})
+    private int periodCount;
+
+    private RepayTrialService trialService;
+    private RepayTrialRequest request;
+
+    @Setup
+    public void setUp() {
+        RepayPlanService planService = BillBenchmarkFixtures.planService();
+        trialService = new RepayTrialServiceImpl(planService);
+        // 试算日落在中间一期且已逾期 5 天
+        LocalDate trialDate = BillBenchmarkFixtures.LOAN_DATE
+                .plusDays((long) BillBenchmarkFixtures.PERIOD_DAYS * (periodCount / 2) + 5);
+        request = BillBenchmarkFixtures.trialRequest(RepayMethod.EQUAL_PRINCIPAL_INTEREST, periodCount, trialDate);
+        if ("PERIOD_DETAILS".equals(scenario)) {
+            request.setPeriodDetails(BillBenchmarkFixtures.periodDetails(planService.generatePlan(request)));
+        } else if ("REPAY_DATES".equals(scenario)) {
+            request.setRepayDates(BillBenchmarkFixtures.repayDates(BillBenchmarkFixtures.LOAN_DATE, periodCount * 2, 15));
+        }
+    }
+
+    @Benchmark
+    public Object trial() {
+        return trialService.trial(request);
+    }
+}
@@ -0,0 +1,75 @@
+package com.scf.loan.bench.common;
+
+import com.scf.loan.bench.BenchmarkSupport;
+import com.scf.loan.common.utils.scf.InterestArithmetic;
+import com.scf.loan.common.utils.scf.RepayDateTimeline;
+import com.scf.loan.common.utils.scf.ScfInterestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 计息工具：两种运算方式的计息与罚息，以及按部分还款日期计算计息/罚息天数
+ */
+@State(Scope.Benchmark)
+public class ScfInterestUtilsBenchmark extends BenchmarkSupport {
+    @Param({"BIG_DECIMAL", "FIXED_POINT"})
+    private InterestArithmetic arithmetic;
+
+    @Param({"12"})
+    private int repayDateCount;
+
+    private final Long principal = 1_000_000_00L;
+    private final Long rate = 50000L;
+    private final Long days = 30L;
+    private final LocalDate startDate = LocalDate.of(2026, 1, 1);
+    private final LocalDate dueDate = LocalDate.of(2026, 1, 31);
+    private final LocalDate queryDate = LocalDate.of(2026, 6, 30);
+    private List<LocalDate> repayDates;
+    private RepayDateTimeline repayDateTimeline;
+
+    @Setup
+    public void setUp() {
+        repayDates = new ArrayList<>(repayDateCount);
+        for (int i = 0; i < repayDateCount; i++) {
+            repayDates.add(startDate.plusDays(i * 15L));
+        }
+        repayDateTimeline = RepayDateTimeline.of(repayDates);
+    }
+
+    @Benchmark
+    public long calculateInterest() {
+        return ScfInterestUtils.calculateInterest(principal, rate, days, arithmetic);
+    }
+
+    @Benchmark
+    public long calculateUnpaidInterest() {
+        return ScfInterestUtils.calculateUnpaidInterest(principal, rate, 45, arithmetic);
+    }
+
+    @Benchmark
+    public int calculateInterestDays() {
+        return ScfInterestUtils.calculateInterestDays(startDate, repayDates, queryDate);
+    }
+
+    @Benchmark
+    public int calculatePenaltyDays() {
+        return ScfInterestUtils.calculatePenaltyDays(dueDate, repayDates, queryDate);
+    }
+
+    @Benchmark
+    public int calculateInterestDaysTimeline() {
+        return ScfInterestUtils.calculateInterestDays(startDate, repayDateTimeline, queryDate);
+    }
+
+    @Benchmark
+    public int calculatePenaltyDaysTimeline() {
+        return ScfInterestUtils.calculatePenaltyDays(dueDate, repayDateTimeline, queryDate);
+    }
+}
@@ -0,0 +1,112 @@
+package com.scf.loan.bench.job;
+
+import com.scf.loan.bench.BenchmarkSupport;
+import com.scf.loan.job.framework.model.RouteResult;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.route.BusinessTypeRouteStrategy;
+import com.scf.loan.job.framework.route.CreditContractTypeRouteStrategy;
+import com.scf.loan.job.framework.route.DefaultRouteStrategy;
+import com.scf.loan.job.framework.route.RegionRouteStrategy;
+import com.scf.loan.job.framework.route.RouteService;
+import com.scf.loan.job.framework.route.RouteStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 路由：预编译路由计划+结果缓存 与 逐个策略按参数路由（PER_PARAM）的单次路由开销，
+ * 参数在有限个业务类型/区域组合上重复，模拟高频调度
+ */
+@State(Scope.Benchmark)
+public class RouteServiceBenchmark extends BenchmarkSupport {
+    @Param({"COMPILED", "PER_PARAM"})
+    private String mode;
+
+    @Param({"16"})
+    private int distinctTuples;
+
+    private static final int PARAM_COUNT = 1024;
+
+    private RouteService routeService;
+
+    @Setup
+    public void setUp() {
+        List<RouteStrategy> strategies = Arrays.asList(new CreditContractTypeRouteStrategy(),
+                new BusinessTypeRouteStrategy(), new RegionRouteStrategy(), new DefaultRouteStrategy());
+        if ("PER_PARAM".equals(mode)) {
+            List<RouteStrategy> undeclared = new ArrayList<>();
+            for (RouteStrategy strategy : strategies) {
+                undeclared.add(perParam(strategy));
+            }
+            strategies = undeclared;
+        }
+        routeService = new RouteService(strategies);
+    }
+
+    @Benchmark
+    public RouteResult route(ParamState state) {
+        return routeService.route(state.next());
+    }
+
+    /**
+     * 每个线程独立的参数集，路由回写 routeKey 时不在线程间争用缓存行
+     */
+    @State(Scope.Thread)
+    public static class ParamState {
+        private ScfCoreCommandParam<?>[] params;
+        private int index;
+
+        @Setup
+        public void setUp(RouteServiceBenchmark benchmark) {
+            params = new ScfCoreCommandParam<?>[PARAM_COUNT];
+            for (int i = 0; i < PARAM_COUNT; i++) {
+                int tuple = i % benchmark.distinctTuples;
+                Map<String, Object> businessParam = new HashMap<>();
+                businessParam.put("businessId", "B" + i);
+                businessParam.put("region", "region-" + (tuple % 4));
+                if (tuple % 2 == 0) {
+                    businessParam.put("businessType", "type-" + tuple);
+                }
+                ScfCoreCommandParam<Map<String, Object>> param = new ScfCoreCommandParam<>();
+                param.setCommandType("BENCH");
+                param.setBusinessParam(businessParam);
+                params[i] = param;
+            }
+        }
+
+        ScfCoreCommandParam<?> next() {
+            index = (index + 1) & (PARAM_COUNT - 1);
+            return params[index];
+        }
+    }
+
+    /**
+     * 不声明依赖属性的包装，使 RouteService 退化为逐个策略按参数路由
+     */
+    private static RouteStrategy perParam(RouteStrategy delegate) {
+        return new RouteStrategy() {
+            @Override
+            public boolean supports(ScfCoreCommandParam<?> param) {
+                return delegate.supports(param);
+            }
+
+            @Override
+            public String route(ScfCoreCommandParam<?> param) {
+                return delegate.route(param);
+            }
+
+            @Override
+            public int getOrder() {
+                return delegate.getOrder();
+            }
+        };
+    }
+}
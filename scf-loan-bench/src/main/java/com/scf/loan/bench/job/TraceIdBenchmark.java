@@ -0,0 +1,54 @@
+package com.scf.loan.bench.job;
+
+import com.scf.loan.bench.BenchmarkSupport;
+import com.scf.loan.job.framework.trace.TraceIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 追踪号生成：32 线程并发下每秒生成的追踪号数量，
+ * LEGACY 为按天格式化日期、String.format 补零的原实现，UUID 为任务处理器原先使用的随机 UUID
+ */
+@Threads(32)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TraceIdBenchmark extends BenchmarkSupport {
+    private static final AtomicLong LEGACY_SEQ = new AtomicLong(0);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    @Benchmark
+    public String rootId() {
+        return TraceIdGenerator.generateRootId("SC", "REPAY");
+    }
+
+    @Benchmark
+    public String legacyRootId() {
+        String sys = legacyFormat("SC", 2, "SC");
+        String date = LocalDate.now().format(DATE_FORMATTER);
+        String task = legacyFormat("REPAY", 4, "TASK");
+        long seq = LEGACY_SEQ.incrementAndGet() % 100000000L;
+        return sys + date + task + String.format("%08d", seq);
+    }
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static String legacyFormat(String value, int length, String fallback) {
+        String v = value == null || value.trim().isEmpty() ? fallback : value;
+        if (v.length() >= length) {
+            return v.substring(0, length);
+        }
+        return String.format("%1$-" + length + "s", v).replace(' ', '0');
+    }
+}
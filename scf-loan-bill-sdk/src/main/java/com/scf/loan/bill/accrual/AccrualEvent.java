@@ -0,0 +1,25 @@
+package com.scf.loan.bill.accrual;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 计息账本事件：一次还款按科目实际冲抵的金额，抵扣顺序由还款服务决定，账本只记录结果
+ */
+@Data
+public class AccrualEvent {
+    private LocalDate eventDate;
+    private Long paidPrincipal;
+    private Long paidInterest;
+    private Long paidPenalty;
+
+    public static AccrualEvent repayment(LocalDate eventDate, long paidPrincipal, long paidInterest, long paidPenalty) {
+        AccrualEvent event = new AccrualEvent();
+        event.setEventDate(eventDate);
+        event.setPaidPrincipal(paidPrincipal);
+        event.setPaidInterest(paidInterest);
+        event.setPaidPenalty(paidPenalty);
+        return event;
+    }
+}
@@ -0,0 +1,219 @@
+package com.scf.loan.bill.accrual;
+
+import com.scf.loan.common.utils.scf.ScfInterestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 单笔借据的增量计息账本：按日期有序保存还款事件，每 snapshotInterval 个事件留存一份快照。
+ * <p>
+ * 查询某日的未还利息/罚息时从该日之前最近的快照出发，只重放其后的事件，
+ * 结果与从放款日起全量重放一致（见 {@link #replay(LocalDate)}）。
+ * 利息按剩余本金分段计提，罚息自 penaltyStartDate 起按剩余本金计提；
+ * 适用于部分还款未结清利息的场景，参见 docs/design/repay/还款计息逻辑复杂度分析.md。
+ * <p>
+ * 事件与快照只保存在内存中，尚未接入还款试算与持久化，试算仍按还款计划重新计算。
+ */
+public class AccrualLedger {
+    private final long dailyRate;
+    private final long penaltyDailyRate;
+    private final int penaltyStartDay;
+    private final int snapshotInterval;
+    private final List<AccrualEvent> events = new ArrayList<>();
+    private int[] eventDays = new int[8];
+    /**
+     * snapshots[j] 为计入前 j * snapshotInterval 个事件后的状态，snapshots[0] 为放款日初始状态
+     */
+    private final List<AccrualSnapshot> snapshots = new ArrayList<>();
+
+    public AccrualLedger(long principal, long dailyRate, long penaltyDailyRate, LocalDate loanDate, LocalDate penaltyStartDate) {
+        this(principal, dailyRate, penaltyDailyRate, loanDate, penaltyStartDate, 1);
+    }
+
+    public AccrualLedger(long principal, long dailyRate, long penaltyDailyRate, LocalDate loanDate,
+                         LocalDate penaltyStartDate, int snapshotInterval) {
+        if (principal <= 0 || dailyRate < 0 || penaltyDailyRate < 0 || loanDate == null
+                || penaltyStartDate == null || snapshotInterval <= 0) {
+            throw new IllegalArgumentException("参数不合法");
+        }
+        this.dailyRate = dailyRate;
+        this.penaltyDailyRate = penaltyDailyRate;
+        this.penaltyStartDay = toEpochDay(penaltyStartDate);
+        this.snapshotInterval = snapshotInterval;
+        this.snapshots.add(new AccrualSnapshot(toEpochDay(loanDate), 0, principal, 0L, 0L));
+    }
+
+    /**
+     * 记录一次还款；冲抵金额超过当日应还时拒绝。事件日期早于已有事件时按日期插入，
+     * 其后的快照失效并校验后续事件仍然成立
+     */
+    public synchronized void record(AccrualEvent event) {
+        if (event == null || event.getEventDate() == null) {
+            throw new IllegalArgumentException("参数不合法");
+        }
+        int day = toEpochDay(event.getEventDate());
+        if (day < snapshots.get(0).getEpochDay()) {
+            throw new IllegalArgumentException("事件日期早于放款日: " + event.getEventDate());
+        }
+        if (safeLong(event.getPaidPrincipal()) < 0 || safeLong(event.getPaidInterest()) < 0
+                || safeLong(event.getPaidPenalty()) < 0) {
+            throw new IllegalArgumentException("冲抵金额不能为负");
+        }
+        AccrualEvent copy = AccrualEvent.repayment(event.getEventDate(), safeLong(event.getPaidPrincipal()),
+                safeLong(event.getPaidInterest()), safeLong(event.getPaidPenalty()));
+        int index = upperBound(day);
+        insert(index, copy, day);
+        int validSnapshots = index / snapshotInterval + 1;
+        List<AccrualSnapshot> dropped = new ArrayList<>(snapshots.subList(validSnapshots, snapshots.size()));
+        snapshots.subList(validSnapshots, snapshots.size()).clear();
+        try {
+            // 校验新事件及其后全部事件，并重建快照
+            stateAfter(events.size());
+        } catch (IllegalStateException e) {
+            remove(index);
+            snapshots.subList(validSnapshots, snapshots.size()).clear();
+            snapshots.addAll(dropped);
+            throw new IllegalArgumentException("冲抵金额超过应还: " + event, e);
+        }
+    }
+
+    /**
+     * 截至 queryDate（含当日事件）的账本状态，仅重放最近快照之后的事件
+     */
+    public synchronized AccrualSnapshot accrue(LocalDate queryDate) {
+        int queryDay = checkQueryDay(queryDate);
+        int eventCount = upperBound(queryDay);
+        AccrualSnapshot state = stateAfter(eventCount);
+        return accrueTo(state, queryDay);
+    }
+
+    /**
+     * 从放款日起全量重放，用于核对增量结果
+     */
+    public synchronized AccrualSnapshot replay(LocalDate queryDate) {
+        int queryDay = checkQueryDay(queryDate);
+        int eventCount = upperBound(queryDay);
+        return accrueTo(apply(snapshots.get(0), eventCount), queryDay);
+    }
+
+    public synchronized int getEventCount() {
+        return events.size();
+    }
+
+    public synchronized int getSnapshotCount() {
+        return snapshots.size();
+    }
+
+    /**
+     * 计入前 eventCount 个事件后的状态，途经的快照按需补建
+     */
+    private AccrualSnapshot stateAfter(int eventCount) {
+        int target = eventCount / snapshotInterval;
+        while (snapshots.size() <= target) {
+            AccrualSnapshot last = snapshots.get(snapshots.size() - 1);
+            snapshots.add(apply(last, last.getEventCount() + snapshotInterval));
+        }
+        return apply(snapshots.get(target), eventCount);
+    }
+
+    private AccrualSnapshot apply(AccrualSnapshot from, int eventCount) {
+        int day = from.getEpochDay();
+        long principal = from.getPrincipal();
+        long unpaidInterest = from.getUnpaidInterest();
+        long unpaidPenalty = from.getUnpaidPenalty();
+        for (int index = from.getEventCount(); index < eventCount; index++) {
+            int eventDay = eventDays[index];
+            unpaidInterest += interest(principal, day, eventDay);
+            unpaidPenalty += penalty(principal, day, eventDay);
+            AccrualEvent event = events.get(index);
+            long paidPrincipal = safeLong(event.getPaidPrincipal());
+            long paidInterest = safeLong(event.getPaidInterest());
+            long paidPenalty = safeLong(event.getPaidPenalty());
+            if (paidPrincipal > principal || paidInterest > unpaidInterest || paidPenalty > unpaidPenalty) {
+                throw new IllegalStateException("冲抵金额超过应还: " + event);
+            }
+            principal -= paidPrincipal;
+            unpaidInterest -= paidInterest;
+            unpaidPenalty -= paidPenalty;
+            day = eventDay;
+        }
+        return new AccrualSnapshot(day, eventCount, principal, unpaidInterest, unpaidPenalty);
+    }
+
+    private AccrualSnapshot accrueTo(AccrualSnapshot state, int queryDay) {
+        long principal = state.getPrincipal();
+        return new AccrualSnapshot(queryDay, state.getEventCount(), principal,
+                state.getUnpaidInterest() + interest(principal, state.getEpochDay(), queryDay),
+                state.getUnpaidPenalty() + penalty(principal, state.getEpochDay(), queryDay));
+    }
+
+    private long interest(long principal, int fromDay, int toDay) {
+        if (toDay <= fromDay || principal <= 0) {
+            return 0L;
+        }
+        return ScfInterestUtils.calculateInterest(principal, dailyRate, (long) (toDay - fromDay));
+    }
+
+    private long penalty(long principal, int fromDay, int toDay) {
+        int startDay = Math.max(fromDay, penaltyStartDay);
+        if (toDay <= startDay) {
+            return 0L;
+        }
+        return ScfInterestUtils.calculateUnpaidInterest(principal, penaltyDailyRate, toDay - startDay);
+    }
+
+    private int checkQueryDay(LocalDate queryDate) {
+        if (queryDate == null) {
+            throw new IllegalArgumentException("参数不合法");
+        }
+        int queryDay = toEpochDay(queryDate);
+        if (queryDay < snapshots.get(0).getEpochDay()) {
+            throw new IllegalArgumentException("查询日期早于放款日: " + queryDate);
+        }
+        return queryDay;
+    }
+
+    /**
+     * 日期不晚于 day 的事件数
+     */
+    private int upperBound(int day) {
+        int low = 0;
+        int high = events.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (eventDays[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insert(int index, AccrualEvent event, int day) {
+        int size = events.size();
+        if (size == eventDays.length) {
+            eventDays = Arrays.copyOf(eventDays, size * 2);
+        }
+        System.arraycopy(eventDays, index, eventDays, index + 1, size - index);
+        eventDays[index] = day;
+        events.add(index, event);
+    }
+
+    private void remove(int index) {
+        int size = events.size();
+        System.arraycopy(eventDays, index + 1, eventDays, index, size - index - 1);
+        events.remove(index);
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static long safeLong(Long value) {
+        return value == null ? 0L : value;
+    }
+}
@@ -0,0 +1,84 @@
+package com.scf.loan.bill.accrual;
+
+import java.time.LocalDate;
+
+/**
+ * 计息快照：截至某日（含当日事件）的剩余本金与已计未还的利息、罚息
+ */
+public final class AccrualSnapshot {
+    private final int epochDay;
+    private final int eventCount;
+    private final long principal;
+    private final long unpaidInterest;
+    private final long unpaidPenalty;
+
+    AccrualSnapshot(int epochDay, int eventCount, long principal, long unpaidInterest, long unpaidPenalty) {
+        this.epochDay = epochDay;
+        this.eventCount = eventCount;
+        this.principal = principal;
+        this.unpaidInterest = unpaidInterest;
+        this.unpaidPenalty = unpaidPenalty;
+    }
+
+    public LocalDate getDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    int getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * 已计入快照的事件数
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public long getPrincipal() {
+        return principal;
+    }
+
+    public long getUnpaidInterest() {
+        return unpaidInterest;
+    }
+
+    public long getUnpaidPenalty() {
+        return unpaidPenalty;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AccrualSnapshot)) {
+            return false;
+        }
+        AccrualSnapshot that = (AccrualSnapshot) o;
+        return epochDay == that.epochDay
+                && eventCount == that.eventCount
+                && principal == that.principal
+                && unpaidInterest == that.unpaidInterest
+                && unpaidPenalty == that.unpaidPenalty;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = epochDay;
+        result = 31 * result + eventCount;
+        result = 31 * result + Long.hashCode(principal);
+        result = 31 * result + Long.hashCode(unpaidInterest);
+        result = 31 * result + Long.hashCode(unpaidPenalty);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AccrualSnapshot{date=" + getDate()
+                + ", eventCount=" + eventCount
+                + ", principal=" + principal
+                + ", unpaidInterest=" + unpaidInterest
+                + ", unpaidPenalty=" + unpaidPenalty + "}";
+    }
+}
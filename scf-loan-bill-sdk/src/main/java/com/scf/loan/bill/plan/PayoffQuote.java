@@ -0,0 +1,22 @@
+package com.scf.loan.bill.plan;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 提前结清报价：按 quoteDate 一次结清需偿还的剩余本金、截至当日的应计利息、罚息与费用
+ */
+@Data
+public class PayoffQuote {
+    private LocalDate quoteDate;
+    private Long principal;
+    /**
+     * 已到期未还利息与当期截至报价日的应计利息
+     */
+    private Long interest;
+    private Long penalty;
+    private List<RepayTrialSubjectAmount> feeDetails;
+    private Long totalAmount;
+}
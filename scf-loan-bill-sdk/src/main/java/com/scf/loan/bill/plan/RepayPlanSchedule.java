@@ -0,0 +1,214 @@
+package com.scf.loan.bill.plan;
+
+import com.scf.loan.common.dto.RepayPlanItem;
+import com.scf.loan.common.dto.RepayPlanSubjectDetail;
+import com.scf.loan.common.enums.ChargeSubject;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 列式还款计划：按期次下标(0 起)存放本金、利息与起止日(epoch day)，
+ * 生成一份计划只分配固定数量的数组，{@link RepayPlanItem} 仅在访问时按需构建。
+ * 计划本身只保存列式数据，可作为缓存共享；明细列表每次调用单独构建，不在线程间共享。
+ */
+public class RepayPlanSchedule {
+    private final int periodCount;
+    private final long[] principal;
+    private final long[] interest;
+    private final int[] startEpochDay;
+    private final int[] dueEpochDay;
+    /**
+     * principalPrefix[k] 为前 k 期本金之和，首次使用时构建
+     */
+    private volatile long[] principalPrefix;
+
+    public RepayPlanSchedule(int periodCount) {
+        if (periodCount < 0) {
+            throw new IllegalArgumentException("期数不合法: " + periodCount);
+        }
+        this.periodCount = periodCount;
+        this.principal = new long[periodCount];
+        this.interest = new long[periodCount];
+        this.startEpochDay = new int[periodCount];
+        this.dueEpochDay = new int[periodCount];
+    }
+
+    /**
+     * 由已有的计划明细构建列式计划，供仅实现了 {@link RepayPlanStrategy#generate} 的策略复用
+     */
+    public static RepayPlanSchedule of(List<RepayPlanItem> items) {
+        int size = items == null ? 0 : items.size();
+        RepayPlanSchedule schedule = new RepayPlanSchedule(size);
+        for (int index = 0; index < size; index++) {
+            RepayPlanItem item = items.get(index);
+            if (item == null) {
+                continue;
+            }
+            schedule.set(index,
+                    item.getStartDate() == null ? 0 : Math.toIntExact(item.getStartDate().toEpochDay()),
+                    item.getDueDate() == null ? 0 : Math.toIntExact(item.getDueDate().toEpochDay()),
+                    subjectAmount(item.getAmountDetail(), ChargeSubject.PRINCIPAL),
+                    subjectAmount(item.getAmountDetail(), ChargeSubject.INTEREST));
+        }
+        return schedule;
+    }
+
+    public void set(int index, int startEpochDay, int dueEpochDay, long principal, long interest) {
+        if (principalPrefix != null) {
+            principalPrefix = null;
+        }
+        this.startEpochDay[index] = startEpochDay;
+        this.dueEpochDay[index] = dueEpochDay;
+        this.principal[index] = principal;
+        this.interest[index] = interest;
+    }
+
+    public int getPeriodCount() {
+        return periodCount;
+    }
+
+    public int getPeriod(int index) {
+        return index + 1;
+    }
+
+    public long getPrincipal(int index) {
+        return principal[index];
+    }
+
+    public long getInterest(int index) {
+        return interest[index];
+    }
+
+    public int getStartEpochDay(int index) {
+        return startEpochDay[index];
+    }
+
+    public int getDueEpochDay(int index) {
+        return dueEpochDay[index];
+    }
+
+    public LocalDate getStartDate(int index) {
+        return LocalDate.ofEpochDay(startEpochDay[index]);
+    }
+
+    public LocalDate getDueDate(int index) {
+        return LocalDate.ofEpochDay(dueEpochDay[index]);
+    }
+
+    /**
+     * 期次对应的下标，期次不在计划内时返回 -1
+     */
+    public int indexOfPeriod(int period) {
+        return period >= 1 && period <= periodCount ? period - 1 : -1;
+    }
+
+    /**
+     * 日期所在期次的下标：早于首期取首期，晚于末期到期日取末期，
+     * 否则取第一个 startDate <= epochDay <= dueDate 的期次；到期日需按期次非递减，二分查找 O(log n)
+     */
+    public int findIndex(int epochDay) {
+        if (periodCount == 0) {
+            return -1;
+        }
+        if (epochDay < startEpochDay[0]) {
+            return 0;
+        }
+        int last = periodCount - 1;
+        if (epochDay > dueEpochDay[last]) {
+            return last;
+        }
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dueEpochDay[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return startEpochDay[low] <= epochDay ? low : last;
+    }
+
+    /**
+     * 第 1 期至第 period 期的本金合计，period 超出计划时按边界截断，O(1)
+     */
+    public long getPrincipalThrough(int period) {
+        long[] prefix = principalPrefix;
+        if (prefix == null) {
+            prefix = new long[periodCount + 1];
+            for (int index = 0; index < periodCount; index++) {
+                prefix[index + 1] = prefix[index] + principal[index];
+            }
+            principalPrefix = prefix;
+        }
+        return prefix[Math.max(0, Math.min(period, periodCount))];
+    }
+
+    /**
+     * 以 {@link RepayPlanItem} 列表形式访问计划：每次调用返回新的列表，元素在首次访问时构建，
+     * 调用方修改明细不影响计划及其他调用方
+     */
+    public List<RepayPlanItem> asItems() {
+        return new ItemView(this);
+    }
+
+    private RepayPlanItem buildItem(int index) {
+        RepayPlanItem item = new RepayPlanItem();
+        item.setPeriod(getPeriod(index));
+        item.setStartDate(getStartDate(index));
+        item.setDueDate(getDueDate(index));
+        List<RepayPlanSubjectDetail> amountDetail = new ArrayList<>(2);
+        RepayPlanSubjectDetail principalDetail = new RepayPlanSubjectDetail();
+        principalDetail.setSubject(ChargeSubject.PRINCIPAL);
+        principalDetail.setAmount(principal[index]);
+        amountDetail.add(principalDetail);
+        RepayPlanSubjectDetail interestDetail = new RepayPlanSubjectDetail();
+        interestDetail.setSubject(ChargeSubject.INTEREST);
+        interestDetail.setAmount(interest[index]);
+        amountDetail.add(interestDetail);
+        item.setAmountDetail(amountDetail);
+        return item;
+    }
+
+    private static long subjectAmount(List<RepayPlanSubjectDetail> details, ChargeSubject subject) {
+        if (details == null) {
+            return 0L;
+        }
+        for (RepayPlanSubjectDetail detail : details) {
+            if (detail != null && subject == detail.getSubject()) {
+                return detail.getAmount() == null ? 0L : detail.getAmount();
+            }
+        }
+        return 0L;
+    }
+
+    private static class ItemView extends AbstractList<RepayPlanItem> implements RandomAccess {
+        private final RepayPlanSchedule schedule;
+        private final RepayPlanItem[] materialized;
+
+        private ItemView(RepayPlanSchedule schedule) {
+            this.schedule = schedule;
+            this.materialized = new RepayPlanItem[schedule.periodCount];
+        }
+
+        @Override
+        public RepayPlanItem get(int index) {
+            RepayPlanItem item = materialized[index];
+            if (item == null) {
+                item = schedule.buildItem(index);
+                materialized[index] = item;
+            }
+            return item;
+        }
+
+        @Override
+        public int size() {
+            return schedule.periodCount;
+        }
+    }
+}
@@ -8,4 +8,8 @@ public interface RepayPlanStrategy {
     RepayPlanStrategyKey key();
 
     List<RepayPlanItem> generate(RepayPlanRequest request);
+
+    default RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
+        return RepayPlanSchedule.of(generate(request));
+    }
 }
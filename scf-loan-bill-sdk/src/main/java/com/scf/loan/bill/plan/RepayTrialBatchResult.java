@@ -0,0 +1,32 @@
+package com.scf.loan.bill.plan;
+
+import lombok.Data;
+
+/**
+ * 批量试算单笔结果，index 对应请求列表下标；失败时 result 为空并给出错误信息
+ */
+@Data
+public class RepayTrialBatchResult {
+    private Integer index;
+    private Boolean success;
+    private RepayTrialResult result;
+    private String errorType;
+    private String errorMessage;
+
+    public static RepayTrialBatchResult success(int index, RepayTrialResult result) {
+        RepayTrialBatchResult batchResult = new RepayTrialBatchResult();
+        batchResult.setIndex(index);
+        batchResult.setSuccess(Boolean.TRUE);
+        batchResult.setResult(result);
+        return batchResult;
+    }
+
+    public static RepayTrialBatchResult failure(int index, RuntimeException e) {
+        RepayTrialBatchResult batchResult = new RepayTrialBatchResult();
+        batchResult.setIndex(index);
+        batchResult.setSuccess(Boolean.FALSE);
+        batchResult.setErrorType(e.getClass().getSimpleName());
+        batchResult.setErrorMessage(e.getMessage());
+        return batchResult;
+    }
+}
@@ -1,6 +1,13 @@
 package com.scf.loan.bill.plan;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.scf.loan.common.utils.scf.RepayDateTimeline;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
@@ -12,4 +19,27 @@ public class RepayTrialRequest extends RepayPlanRequest {
     private LocalDate trialDate;
     private List<LocalDate> repayDates;
     private List<RepayTrialScheduleItem> periodDetails;
+    /**
+     * repayDates 构建出的时间线，首次使用时转换一次，repayDates 被重新赋值时失效
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile RepayDateTimeline repayDateTimeline;
+
+    public void setRepayDates(List<LocalDate> repayDates) {
+        this.repayDates = repayDates;
+        this.repayDateTimeline = null;
+    }
+
+    @JsonIgnore
+    public RepayDateTimeline getRepayDateTimeline() {
+        RepayDateTimeline timeline = repayDateTimeline;
+        if (timeline == null) {
+            timeline = RepayDateTimeline.of(repayDates);
+            repayDateTimeline = timeline;
+        }
+        return timeline;
+    }
 }
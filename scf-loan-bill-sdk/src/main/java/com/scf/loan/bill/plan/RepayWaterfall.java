@@ -0,0 +1,109 @@
+package com.scf.loan.bill.plan;
+
+import com.scf.loan.common.enums.ChargeSubject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 还款冲抵顺序：构建时把科目优先级编译为 ChargeSubject 序号数组，未列出的科目按枚举声明顺序排在最后；
+ * 金额以按序号索引的 long 向量传入，一次顺序遍历完成冲抵，不可变，可在多个线程间共享
+ */
+public final class RepayWaterfall {
+    private static final ChargeSubject[] SUBJECTS = ChargeSubject.values();
+
+    public static final int SUBJECT_COUNT = SUBJECTS.length;
+
+    /**
+     * 默认顺序：利息、罚息、本金，其余费用在后
+     */
+    public static final RepayWaterfall DEFAULT = of(ChargeSubject.INTEREST, ChargeSubject.PENALTY, ChargeSubject.PRINCIPAL);
+
+    private final int[] order;
+    private final List<ChargeSubject> subjects;
+
+    private RepayWaterfall(int[] order) {
+        this.order = order;
+        List<ChargeSubject> list = new ArrayList<>(order.length);
+        for (int index : order) {
+            list.add(SUBJECTS[index]);
+        }
+        this.subjects = Collections.unmodifiableList(list);
+    }
+
+    public static RepayWaterfall of(ChargeSubject... priorities) {
+        return of(priorities == null ? Collections.<ChargeSubject>emptyList() : Arrays.asList(priorities));
+    }
+
+    public static RepayWaterfall of(List<ChargeSubject> priorities) {
+        boolean[] listed = new boolean[SUBJECT_COUNT];
+        int[] order = new int[SUBJECT_COUNT];
+        int size = 0;
+        if (priorities != null) {
+            for (ChargeSubject subject : priorities) {
+                if (subject == null) {
+                    throw new IllegalArgumentException("还款冲抵顺序不能包含空科目");
+                }
+                if (listed[subject.ordinal()]) {
+                    throw new IllegalArgumentException("还款冲抵顺序科目重复: " + subject);
+                }
+                listed[subject.ordinal()] = true;
+                order[size++] = subject.ordinal();
+            }
+        }
+        for (int i = 0; i < SUBJECT_COUNT; i++) {
+            if (!listed[i]) {
+                order[size++] = i;
+            }
+        }
+        return new RepayWaterfall(order);
+    }
+
+    /**
+     * 按冲抵顺序排列的全部科目
+     */
+    public List<ChargeSubject> getSubjects() {
+        return subjects;
+    }
+
+    /**
+     * 用 amount 冲抵 unpaid 中从 offset 开始的一行科目金额，冲抵额累加到 paid 的同一位置并从 unpaid 中扣减，返回剩余金额
+     */
+    public long allocate(long[] unpaid, int offset, long amount, long[] paid) {
+        long remaining = amount;
+        for (int i = 0; i < order.length && remaining > 0; i++) {
+            int index = offset + order[i];
+            long payment = Math.min(remaining, unpaid[index]);
+            if (payment > 0) {
+                unpaid[index] -= payment;
+                paid[index] += payment;
+                remaining -= payment;
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * 按冲抵顺序把 paid 中从 offset 开始一行的非零金额转换为 DTO
+     */
+    public List<RepayTrialSubjectAmount> toAmounts(long[] paid, int offset) {
+        List<RepayTrialSubjectAmount> items = new ArrayList<>(order.length);
+        for (int index : order) {
+            long amount = paid[offset + index];
+            if (amount > 0) {
+                RepayTrialSubjectAmount item = new RepayTrialSubjectAmount();
+                item.setSubject(SUBJECTS[index]);
+                item.setAmount(amount);
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public String toString() {
+        return "RepayWaterfall" + subjects;
+    }
+}
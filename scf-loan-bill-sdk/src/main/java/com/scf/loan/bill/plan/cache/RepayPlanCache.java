@@ -0,0 +1,106 @@
+package com.scf.loan.bill.plan.cache;
+
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 有界还款计划缓存：按访问顺序淘汰最久未用的计划，写入超过 ttl 的计划在下次访问或写入时淘汰。
+ * 未命中时在锁外生成计划，同一键并发未命中可能重复生成，结果一致，后写入者覆盖。
+ */
+public class RepayPlanCache {
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<RepayPlanCacheKey, Entry> entries;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public RepayPlanCache(int maximumSize, Duration ttl) {
+        this(maximumSize, ttl, System::nanoTime);
+    }
+
+    RepayPlanCache(int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("缓存容量不合法: " + maximumSize);
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("缓存有效期不合法: " + ttl);
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public RepayPlanSchedule get(RepayPlanCacheKey key, Function<RepayPlanCacheKey, RepayPlanSchedule> loader) {
+        long now = nanoClock.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (now - entry.writeNanos < ttlNanos) {
+                    hitCount.increment();
+                    return entry.schedule;
+                }
+                entries.remove(key);
+                evictionCount.increment();
+            }
+        }
+        missCount.increment();
+        RepayPlanSchedule schedule = loader.apply(key);
+        if (schedule == null) {
+            return null;
+        }
+        now = nanoClock.getAsLong();
+        synchronized (entries) {
+            entries.put(key, new Entry(schedule, now));
+            evict(now);
+        }
+        return schedule;
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public RepayPlanCacheStats stats() {
+        return new RepayPlanCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size());
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<RepayPlanCacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            if (entries.size() <= maximumSize && now - eldest.writeNanos < ttlNanos) {
+                break;
+            }
+            iterator.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private static final class Entry {
+        private final RepayPlanSchedule schedule;
+        private final long writeNanos;
+
+        private Entry(RepayPlanSchedule schedule, long writeNanos) {
+            this.schedule = schedule;
+            this.writeNanos = writeNanos;
+        }
+    }
+}
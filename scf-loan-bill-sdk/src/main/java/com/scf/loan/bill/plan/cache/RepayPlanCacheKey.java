@@ -0,0 +1,136 @@
+package com.scf.loan.bill.plan.cache;
+
+import com.scf.loan.bill.plan.ChargeRate;
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanStrategyKey;
+import com.scf.loan.bill.plan.enums.RateUnit;
+import com.scf.loan.common.enums.ChargeSubject;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 还款计划缓存键：策略路由维度 + 决定计划金额的经济要素，构建时拷贝请求字段，之后不随请求对象变化。
+ */
+public final class RepayPlanCacheKey {
+    private final RepayPlanStrategyKey strategyKey;
+    private final long principal;
+    private final long dailyRate;
+    private final long penaltyDailyRate;
+    private final long loanEpochDay;
+    private final int periodDays;
+    private final int periodCount;
+    private final ChargeSubject[] chargeSubjects;
+    private final RateUnit[] chargeRateUnits;
+    private final Long[] chargeRateValues;
+    private final int hash;
+
+    private RepayPlanCacheKey(RepayPlanRequest request) {
+        this.strategyKey = strategyKey(request);
+        this.principal = request.getPrincipal();
+        this.dailyRate = request.getDailyRate();
+        this.penaltyDailyRate = request.getPenaltyDailyRate();
+        this.loanEpochDay = request.getLoanDate().toEpochDay();
+        this.periodDays = request.getPeriodDays();
+        this.periodCount = request.getPeriodCount();
+        List<ChargeRate> chargeRates = request.getChargeRates();
+        int size = chargeRates == null ? 0 : chargeRates.size();
+        this.chargeSubjects = new ChargeSubject[size];
+        this.chargeRateUnits = new RateUnit[size];
+        this.chargeRateValues = new Long[size];
+        for (int index = 0; index < size; index++) {
+            ChargeRate chargeRate = chargeRates.get(index);
+            if (chargeRate == null) {
+                continue;
+            }
+            chargeSubjects[index] = chargeRate.getSubject();
+            chargeRateUnits[index] = chargeRate.getRateUnit();
+            chargeRateValues[index] = chargeRate.getRateValue();
+        }
+        int result = strategyKey.hashCode();
+        result = 31 * result + Long.hashCode(principal);
+        result = 31 * result + Long.hashCode(dailyRate);
+        result = 31 * result + Long.hashCode(penaltyDailyRate);
+        result = 31 * result + Long.hashCode(loanEpochDay);
+        result = 31 * result + periodDays;
+        result = 31 * result + periodCount;
+        result = 31 * result + Arrays.hashCode(chargeSubjects);
+        result = 31 * result + Arrays.hashCode(chargeRateUnits);
+        result = 31 * result + Arrays.hashCode(chargeRateValues);
+        this.hash = result;
+    }
+
+    /**
+     * 必填要素缺失时返回 null，此类请求不走缓存，由计划生成时的校验直接报错
+     */
+    public static RepayPlanCacheKey of(RepayPlanRequest request) {
+        if (request == null || request.getRepayMethod() == null || request.getPrincipal() == null
+                || request.getDailyRate() == null || request.getPenaltyDailyRate() == null
+                || request.getLoanDate() == null || request.getPeriodDays() == null
+                || request.getPeriodCount() == null) {
+            return null;
+        }
+        return new RepayPlanCacheKey(request);
+    }
+
+    private static RepayPlanStrategyKey strategyKey(RepayPlanRequest request) {
+        RepayPlanStrategyKey key = new RepayPlanStrategyKey();
+        key.setRepayMethod(request.getRepayMethod());
+        key.setInterestType(request.getInterestType());
+        key.setPeriodUnit(request.getPeriodUnit());
+        key.setDayCountConvention(request.getDayCountConvention());
+        key.setRateType(request.getRateType());
+        key.setGraceType(request.getGraceType());
+        key.setSettlementMode(request.getSettlementMode());
+        return key;
+    }
+
+    public RepayPlanStrategyKey getStrategyKey() {
+        return strategyKey;
+    }
+
+    public LocalDate getLoanDate() {
+        return LocalDate.ofEpochDay(loanEpochDay);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RepayPlanCacheKey)) {
+            return false;
+        }
+        RepayPlanCacheKey that = (RepayPlanCacheKey) o;
+        return hash == that.hash
+                && principal == that.principal
+                && dailyRate == that.dailyRate
+                && penaltyDailyRate == that.penaltyDailyRate
+                && loanEpochDay == that.loanEpochDay
+                && periodDays == that.periodDays
+                && periodCount == that.periodCount
+                && Objects.equals(strategyKey, that.strategyKey)
+                && Arrays.equals(chargeSubjects, that.chargeSubjects)
+                && Arrays.equals(chargeRateUnits, that.chargeRateUnits)
+                && Arrays.equals(chargeRateValues, that.chargeRateValues);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RepayPlanCacheKey{" + strategyKey
+                + ", principal=" + principal
+                + ", dailyRate=" + dailyRate
+                + ", penaltyDailyRate=" + penaltyDailyRate
+                + ", loanDate=" + getLoanDate()
+                + ", periodDays=" + periodDays
+                + ", periodCount=" + periodCount
+                + ", chargeRates=" + chargeSubjects.length + "}";
+    }
+}
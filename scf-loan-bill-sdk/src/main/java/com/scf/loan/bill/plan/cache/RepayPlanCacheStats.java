@@ -0,0 +1,47 @@
+package com.scf.loan.bill.plan.cache;
+
+/**
+ * 还款计划缓存统计快照，计数自缓存创建起累计
+ */
+public class RepayPlanCacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    public RepayPlanCacheStats(long hitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0D : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RepayPlanCacheStats{hitCount=" + hitCount
+                + ", missCount=" + missCount
+                + ", evictionCount=" + evictionCount
+                + ", size=" + size + "}";
+    }
+}
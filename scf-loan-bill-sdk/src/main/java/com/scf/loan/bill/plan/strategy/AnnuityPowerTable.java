@@ -0,0 +1,154 @@
+package com.scf.loan.bill.plan.strategy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 等额本息期供计算：按期利率缓存幂表 (1+r)^k 及年金系数 K_k = r * (1+r)^k / ((1+r)^k - 1)，
+ * 均按 {@link MathContext} 限定精度计算，期供 = floor(P * K_n)。
+ * <p>
+ * 每个系数同时记录相对误差上界；P * K_n 连同误差不跨越整数边界时直接取整，
+ * 否则回退到无限精度计算，因此结果与无限精度计算逐位一致。
+ */
+public class AnnuityPowerTable {
+    private static final int RATE_SCALE = 8;
+    private static final int DEFAULT_PRECISION = 34;
+    private static final int DEFAULT_MAX_RATES = 1024;
+    /**
+     * 年金系数以 2^-128 为单位存为定点整数，取整与取小数只需移位
+     */
+    private static final int FIXED_BITS = 128;
+    private static final BigDecimal FIXED_ONE = new BigDecimal(BigInteger.ONE.shiftLeft(FIXED_BITS));
+    private static final double FIXED_ERROR = Math.scalb(1D, 1 - FIXED_BITS);
+    private static final double FRACTION_ERROR = Math.scalb(1D, -50);
+
+    private final MathContext mathContext;
+    /**
+     * 单次舍入的相对误差上界 10^(1-precision)
+     */
+    private final double roundingError;
+    private final int maxRates;
+    private final ConcurrentHashMap<Long, Factors> tables = new ConcurrentHashMap<>();
+
+    public AnnuityPowerTable() {
+        this(DEFAULT_PRECISION, DEFAULT_MAX_RATES);
+    }
+
+    public AnnuityPowerTable(int precision, int maxRates) {
+        if (precision < 20 || maxRates <= 0) {
+            throw new IllegalArgumentException("幂表配置不合法");
+        }
+        this.mathContext = new MathContext(precision, RoundingMode.HALF_EVEN);
+        this.roundingError = Math.pow(10, 1 - precision);
+        this.maxRates = maxRates;
+    }
+
+    /**
+     * @param principal   本金
+     * @param periodRate  期利率，按 1e8 缩放（日利率 * 期天数）
+     * @param periodCount 期数
+     */
+    public long installment(long principal, long periodRate, int periodCount) {
+        if (principal <= 0 || periodRate <= 0 || periodCount <= 0) {
+            throw new IllegalArgumentException("参数不合法");
+        }
+        Factors factors = factors(periodRate);
+        BigInteger amount = factors.annuity(periodCount).multiply(BigInteger.valueOf(principal));
+        if (amount.bitLength() < FIXED_BITS + Long.SIZE - 1) {
+            long integer = amount.shiftRight(FIXED_BITS).longValue();
+            long fractionBits = amount.shiftRight(FIXED_BITS - Long.SIZE).longValue();
+            double fraction = Math.scalb((double) (fractionBits >>> 11), -53);
+            double error = ((double) integer + 1) * factors.annuityError[periodCount]
+                    + principal * FIXED_ERROR + FRACTION_ERROR;
+            if (fraction > error && 1 - fraction > error) {
+                return integer;
+            }
+        }
+        return exactInstallment(principal, periodRate, periodCount);
+    }
+
+    /**
+     * 无限精度计算期供，结果即为期供的精确值
+     */
+    public static long exactInstallment(long principal, long periodRate, int periodCount) {
+        BigDecimal rate = BigDecimal.valueOf(periodRate, RATE_SCALE);
+        BigDecimal factor = BigDecimal.ONE.add(rate).pow(periodCount);
+        BigDecimal numerator = BigDecimal.valueOf(principal).multiply(rate).multiply(factor);
+        BigDecimal denominator = factor.subtract(BigDecimal.ONE);
+        return numerator.divide(denominator, 12, RoundingMode.DOWN)
+                .setScale(0, RoundingMode.DOWN)
+                .longValue();
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    private Factors factors(long periodRate) {
+        Factors factors = tables.get(periodRate);
+        if (factors != null) {
+            return factors;
+        }
+        if (tables.size() >= maxRates) {
+            tables.clear();
+        }
+        return tables.computeIfAbsent(periodRate, k -> new Factors(BigDecimal.valueOf(periodRate, RATE_SCALE)));
+    }
+
+    private final class Factors {
+        private final BigDecimal rate;
+        private final BigDecimal base;
+        /**
+         * powers[k] = (1+r)^k，逐期累乘，每次乘法相对误差不超过 roundingError / 2，累计不超过 k * roundingError
+         */
+        private BigDecimal[] powers;
+        private double[] annuityError;
+        private volatile BigInteger[] annuity;
+
+        private Factors(BigDecimal rate) {
+            this.rate = rate;
+            this.base = BigDecimal.ONE.add(rate);
+            this.powers = new BigDecimal[]{BigDecimal.ONE};
+            this.annuityError = new double[1];
+            this.annuity = new BigInteger[1];
+        }
+
+        private BigInteger annuity(int periodCount) {
+            BigInteger[] current = annuity;
+            if (periodCount < current.length) {
+                return current[periodCount];
+            }
+            synchronized (this) {
+                int from = powers.length;
+                if (periodCount >= from) {
+                    grow(from, periodCount + 1);
+                }
+                return annuity[periodCount];
+            }
+        }
+
+        private void grow(int from, int length) {
+            BigDecimal[] grownPowers = Arrays.copyOf(powers, length);
+            BigInteger[] grownAnnuity = Arrays.copyOf(annuity, length);
+            double[] grownError = Arrays.copyOf(annuityError, length);
+            for (int k = from; k < length; k++) {
+                BigDecimal power = grownPowers[k - 1].multiply(base, mathContext);
+                BigDecimal powerMinusOne = power.subtract(BigDecimal.ONE);
+                BigDecimal factor = rate.multiply(power).divide(powerMinusOne, mathContext);
+                grownPowers[k] = power;
+                grownAnnuity[k] = factor.multiply(FIXED_ONE).setScale(0, RoundingMode.FLOOR).toBigInteger();
+                // K 的相对误差 <= e(F) + e(F) * F / (F - 1) + 一次除法舍入，取 2 倍余量
+                double conditioning = powerMinusOne.compareTo(BigDecimal.ONE) >= 0
+                        ? 2D : 1D + 1D / powerMinusOne.doubleValue();
+                grownError[k] = 2 * (k * roundingError * (1 + conditioning) + roundingError);
+            }
+            powers = grownPowers;
+            annuityError = grownError;
+            annuity = grownAnnuity;
+        }
+    }
+}
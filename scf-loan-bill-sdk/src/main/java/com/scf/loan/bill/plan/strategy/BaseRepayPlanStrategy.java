@@ -1,17 +1,26 @@
 package com.scf.loan.bill.plan.strategy;
 
 import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+import com.scf.loan.common.dto.RepayPlanItem;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 public abstract class BaseRepayPlanStrategy {
     private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
 
+    public abstract RepayPlanSchedule generateSchedule(RepayPlanRequest request);
+
+    public List<RepayPlanItem> generate(RepayPlanRequest request) {
+        return generateSchedule(request).asItems();
+    }
+
     protected void validate(RepayPlanRequest request) {
         if (request == null) {
             throw new ConstraintViolationException("参数不合法", Collections.emptySet());
@@ -2,20 +2,22 @@ package com.scf.loan.bill.plan.strategy;
 
 import com.scf.loan.bill.plan.enums.RepayMethod;
 import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
 import com.scf.loan.bill.plan.RepayPlanStrategy;
 import com.scf.loan.bill.plan.RepayPlanStrategyKey;
-import com.scf.loan.common.dto.RepayPlanItem;
-import com.scf.loan.common.dto.RepayPlanSubjectDetail;
-import com.scf.loan.common.enums.ChargeSubject;
 import com.scf.loan.common.utils.scf.ScfInterestUtils;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-
 public class EqualPrincipalInterestStrategy extends BaseRepayPlanStrategy implements RepayPlanStrategy {
+    private final AnnuityPowerTable powerTable;
+
+    public EqualPrincipalInterestStrategy() {
+        this(new AnnuityPowerTable());
+    }
+
+    public EqualPrincipalInterestStrategy(AnnuityPowerTable powerTable) {
+        this.powerTable = powerTable;
+    }
+
     @Override
     public RepayPlanStrategyKey key() {
         RepayPlanStrategyKey key = new RepayPlanStrategyKey();
@@ -24,57 +26,36 @@ public class EqualPrincipalInterestStrategy extends BaseRepayPlanStrategy implem
     }
 
     @Override
-    public List<RepayPlanItem> generate(RepayPlanRequest request) {
+    public RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
         validate(request);
         int periodCount = request.getPeriodCount();
         int periodDays = request.getPeriodDays();
         long principal = request.getPrincipal();
+        long dailyRateValue = request.getDailyRate();
 
-        BigDecimal dailyRate = ScfInterestUtils.convertRateToBigDecimal(request.getDailyRate());
-        BigDecimal periodRate = dailyRate.multiply(BigDecimal.valueOf(periodDays));
-        BigDecimal factor = BigDecimal.ONE.add(periodRate).pow(periodCount);
-        BigDecimal numerator = BigDecimal.valueOf(principal).multiply(periodRate).multiply(factor);
-        BigDecimal denominator = factor.subtract(BigDecimal.ONE);
-        long installmentTotal = numerator.divide(denominator, 12, RoundingMode.DOWN)
-                .setScale(0, RoundingMode.DOWN)
-                .longValue();
+        long installmentTotal = powerTable.installment(principal,
+                Math.multiplyExact(dailyRateValue, (long) periodDays), periodCount);
 
-        List<RepayPlanItem> items = new ArrayList<>(periodCount);
+        RepayPlanSchedule schedule = new RepayPlanSchedule(periodCount);
         long remainingPrincipal = principal;
-        LocalDate startDate = request.getLoanDate();
+        int startEpochDay = Math.toIntExact(request.getLoanDate().toEpochDay());
 
-        for (int period = 1; period <= periodCount; period++) {
-            BigDecimal interestDecimal = BigDecimal.valueOf(remainingPrincipal).multiply(periodRate)
-                    .setScale(0, RoundingMode.DOWN);
-            long interest = interestDecimal.longValue();
+        for (int index = 0; index < periodCount; index++) {
+            long interest = remainingPrincipal >= 0
+                    ? ScfInterestUtils.calculateInterest(remainingPrincipal, dailyRateValue, (long) periodDays)
+                    : -ScfInterestUtils.calculateInterest(-remainingPrincipal, dailyRateValue, (long) periodDays);
             long currentPrincipal;
-            if (period == periodCount) {
+            if (index == periodCount - 1) {
                 currentPrincipal = remainingPrincipal;
             } else {
                 currentPrincipal = installmentTotal - interest;
             }
             remainingPrincipal -= currentPrincipal;
-            LocalDate dueDate = startDate.plusDays(periodDays);
-
-            RepayPlanItem item = new RepayPlanItem();
-            item.setPeriod(period);
-            item.setStartDate(startDate);
-            item.setDueDate(dueDate);
-            List<RepayPlanSubjectDetail> amountDetail = new ArrayList<>(2);
-            RepayPlanSubjectDetail principalDetail = new RepayPlanSubjectDetail();
-            principalDetail.setSubject(ChargeSubject.PRINCIPAL);
-            principalDetail.setAmount(currentPrincipal);
-            amountDetail.add(principalDetail);
-            RepayPlanSubjectDetail interestDetail = new RepayPlanSubjectDetail();
-            interestDetail.setSubject(ChargeSubject.INTEREST);
-            interestDetail.setAmount(interest);
-            amountDetail.add(interestDetail);
-            item.setAmountDetail(amountDetail);
-            items.add(item);
-
-            startDate = dueDate;
+            int dueEpochDay = startEpochDay + periodDays;
+            schedule.set(index, startEpochDay, dueEpochDay, currentPrincipal, interest);
+            startEpochDay = dueEpochDay;
         }
 
-        return items;
+        return schedule;
     }
 }
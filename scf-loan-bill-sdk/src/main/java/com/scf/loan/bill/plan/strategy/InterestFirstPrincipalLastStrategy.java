@@ -2,17 +2,11 @@ package com.scf.loan.bill.plan.strategy;
 
 import com.scf.loan.bill.plan.enums.RepayMethod;
 import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
 import com.scf.loan.bill.plan.RepayPlanStrategy;
 import com.scf.loan.bill.plan.RepayPlanStrategyKey;
-import com.scf.loan.common.dto.RepayPlanItem;
-import com.scf.loan.common.dto.RepayPlanSubjectDetail;
-import com.scf.loan.common.enums.ChargeSubject;
 import com.scf.loan.common.utils.scf.ScfInterestUtils;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-
 public class InterestFirstPrincipalLastStrategy extends BaseRepayPlanStrategy implements RepayPlanStrategy {
     @Override
     public RepayPlanStrategyKey key() {
@@ -22,42 +16,26 @@ public class InterestFirstPrincipalLastStrategy extends BaseRepayPlanStrategy im
     }
 
     @Override
-    public List<RepayPlanItem> generate(RepayPlanRequest request) {
+    public RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
         validate(request);
         int periodCount = request.getPeriodCount();
         int periodDays = request.getPeriodDays();
         long principal = request.getPrincipal();
         long dailyRate = request.getDailyRate();
 
-        List<RepayPlanItem> items = new ArrayList<>(periodCount);
+        RepayPlanSchedule schedule = new RepayPlanSchedule(periodCount);
         long remainingPrincipal = principal;
-        LocalDate startDate = request.getLoanDate();
+        int startEpochDay = Math.toIntExact(request.getLoanDate().toEpochDay());
 
-        for (int period = 1; period <= periodCount; period++) {
+        for (int index = 0; index < periodCount; index++) {
             long interest = ScfInterestUtils.calculateInterest(remainingPrincipal, dailyRate, (long) periodDays);
-            long currentPrincipal = period == periodCount ? remainingPrincipal : 0L;
+            long currentPrincipal = index == periodCount - 1 ? remainingPrincipal : 0L;
             remainingPrincipal -= currentPrincipal;
-            LocalDate dueDate = startDate.plusDays(periodDays);
-
-            RepayPlanItem item = new RepayPlanItem();
-            item.setPeriod(period);
-            item.setStartDate(startDate);
-            item.setDueDate(dueDate);
-            List<RepayPlanSubjectDetail> amountDetail = new ArrayList<>(2);
-            RepayPlanSubjectDetail principalDetail = new RepayPlanSubjectDetail();
-            principalDetail.setSubject(ChargeSubject.PRINCIPAL);
-            principalDetail.setAmount(currentPrincipal);
-            amountDetail.add(principalDetail);
-            RepayPlanSubjectDetail interestDetail = new RepayPlanSubjectDetail();
-            interestDetail.setSubject(ChargeSubject.INTEREST);
-            interestDetail.setAmount(interest);
-            amountDetail.add(interestDetail);
-            item.setAmountDetail(amountDetail);
-            items.add(item);
-
-            startDate = dueDate;
+            int dueEpochDay = startEpochDay + periodDays;
+            schedule.set(index, startEpochDay, dueEpochDay, currentPrincipal, interest);
+            startEpochDay = dueEpochDay;
         }
 
-        return items;
+        return schedule;
     }
 }
@@ -0,0 +1,19 @@
+package com.scf.loan.bill.service;
+
+import com.scf.loan.bill.plan.PayoffQuote;
+import com.scf.loan.bill.plan.RepayTrialRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PayoffQuoteService {
+    /**
+     * 以 trialDate 为结清日报价，期次明细中的已还金额与还款日期按试算口径扣除
+     */
+    PayoffQuote quote(RepayTrialRequest request);
+
+    /**
+     * 对 trialDate 至 endDate（含）的每一天报价，计划只生成一次，结果按日期顺序返回
+     */
+    List<PayoffQuote> quoteRange(RepayTrialRequest request, LocalDate endDate);
+}
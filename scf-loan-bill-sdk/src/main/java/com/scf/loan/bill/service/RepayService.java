@@ -3,6 +3,14 @@ package com.scf.loan.bill.service;
 import com.scf.loan.bill.plan.RepayRequest;
 import com.scf.loan.bill.plan.RepayResult;
 
+import java.util.List;
+
 public interface RepayService {
     RepayResult repay(RepayRequest request);
+
+    /**
+     * 多期还款：按到期日从早到晚依次冲抵试算日已开始的各期未还金额，每期内按冲抵顺序分配；
+     * 罚息与费用与单期还款口径一致，只在最早一期未结清本息的期次上计收；只返回实际分配到金额的期次，每期 repayAmount 为该期冲抵金额，remainingAmount 为冲抵该期后的剩余金额
+     */
+    List<RepayResult> repayOutstanding(RepayRequest request);
 }
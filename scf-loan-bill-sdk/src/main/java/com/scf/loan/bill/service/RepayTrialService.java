@@ -1,8 +1,22 @@
 package com.scf.loan.bill.service;
 
+import com.scf.loan.bill.plan.RepayTrialBatchResult;
 import com.scf.loan.bill.plan.RepayTrialRequest;
 import com.scf.loan.bill.plan.RepayTrialResult;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface RepayTrialService {
     RepayTrialResult trial(RepayTrialRequest request);
+
+    /**
+     * 批量试算，单笔失败不影响其他请求，结果按请求顺序返回
+     */
+    List<RepayTrialBatchResult> trialBatch(List<RepayTrialRequest> requests);
+
+    /**
+     * 批量试算，每完成一笔即回调 consumer（按完成顺序，回调串行执行），全部完成后返回
+     */
+    void trialBatch(List<RepayTrialRequest> requests, Consumer<RepayTrialBatchResult> consumer);
 }
@@ -0,0 +1,38 @@
+package com.scf.loan.bill.service.impl;
+
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+import com.scf.loan.bill.plan.cache.RepayPlanCache;
+import com.scf.loan.bill.plan.cache.RepayPlanCacheKey;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.common.dto.RepayPlanItem;
+
+import java.util.List;
+
+/**
+ * 带缓存的还款计划服务：经济要素相同的请求复用同一份计划。
+ * 缓存中只保存列式计划，generatePlan 每次返回新构建的明细列表，调用方修改明细不影响缓存。
+ */
+public class CachingRepayPlanServiceImpl implements RepayPlanService {
+    private final RepayPlanService delegate;
+    private final RepayPlanCache cache;
+
+    public CachingRepayPlanServiceImpl(RepayPlanService delegate, RepayPlanCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<RepayPlanItem> generatePlan(RepayPlanRequest request) {
+        return generateSchedule(request).asItems();
+    }
+
+    @Override
+    public RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
+        RepayPlanCacheKey key = RepayPlanCacheKey.of(request);
+        if (key == null) {
+            return delegate.generateSchedule(request);
+        }
+        return cache.get(key, k -> delegate.generateSchedule(request));
+    }
+}
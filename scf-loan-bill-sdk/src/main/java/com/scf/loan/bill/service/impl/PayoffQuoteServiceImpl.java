@@ -0,0 +1,203 @@
+package com.scf.loan.bill.service.impl;
+
+import com.scf.loan.bill.plan.ChargeRate;
+import com.scf.loan.bill.plan.PayoffQuote;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+import com.scf.loan.bill.plan.RepayTrialRequest;
+import com.scf.loan.bill.plan.RepayTrialScheduleItem;
+import com.scf.loan.bill.plan.RepayTrialSubjectAmount;
+import com.scf.loan.bill.service.PayoffQuoteService;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.common.enums.ChargeSubject;
+import com.scf.loan.common.utils.scf.RepayDateTimeline;
+import com.scf.loan.common.utils.scf.ScfInterestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 提前结清报价：计划只生成一次并预先展开为按期次的数组，之后每个报价日只推进游标，
+ * 已到期利息取前缀和，当期利息按扣除已提前归还本金后的余额应计；
+ * 罚息与费用与还款试算口径一致，按最早一期未结清本息期次的未还本金与后续期次本金之和计算一次
+ */
+public class PayoffQuoteServiceImpl implements PayoffQuoteService {
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final RepayPlanService repayPlanService;
+
+    public PayoffQuoteServiceImpl(RepayPlanService repayPlanService) {
+        this.repayPlanService = repayPlanService;
+    }
+
+    @Override
+    public PayoffQuote quote(RepayTrialRequest request) {
+        return quoteRange(request, request == null ? null : request.getTrialDate()).get(0);
+    }
+
+    @Override
+    public List<PayoffQuote> quoteRange(RepayTrialRequest request, LocalDate endDate) {
+        if (request == null || request.getTrialDate() == null || request.getPrincipal() == null) {
+            throw new IllegalArgumentException("参数不合法");
+        }
+        int from = Math.toIntExact(request.getTrialDate().toEpochDay());
+        if (endDate == null || endDate.toEpochDay() < from) {
+            throw new IllegalArgumentException("报价结束日期不合法");
+        }
+        int to = Math.toIntExact(endDate.toEpochDay());
+        if (to - from + 1 > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("报价日期区间不能超过" + MAX_RANGE_DAYS + "天");
+        }
+        RepayPlanSchedule schedule = repayPlanService.generateSchedule(request);
+        if (schedule == null || schedule.getPeriodCount() == 0) {
+            throw new IllegalStateException("还款计划为空");
+        }
+        PayoffState state = new PayoffState(request, schedule);
+        List<PayoffQuote> quotes = new ArrayList<>(to - from + 1);
+        for (int epochDay = from; epochDay <= to; epochDay++) {
+            quotes.add(state.quote(epochDay));
+        }
+        return quotes;
+    }
+
+    /**
+     * 一笔借据的预计算状态，quote 需按报价日递增调用，不可跨线程共享
+     */
+    private static final class PayoffState {
+        private final int periodCount;
+        private final int[] startEpochDay;
+        private final int[] dueEpochDay;
+        /**
+         * accrualPrincipal[k]：第 k 期的计息本金，计划期初本金扣除已提前归还的本金
+         */
+        private final long[] accrualPrincipal;
+        private final long[] scheduledInterest;
+        private final long[] repaidInterest;
+        /**
+         * dueInterest[k]：前 k 期到期未还利息合计
+         */
+        private final long[] dueInterest;
+        private final long dailyRate;
+        private final long penaltyDailyRate;
+        private final long outstandingPrincipal;
+        /**
+         * 计收罚息与费用的期次（最早一期未结清本息），没有时为 -1
+         */
+        private final int chargeIndex;
+        private final long chargeBase;
+        private final long chargeRepaidPenalty;
+        private final List<RepayTrialSubjectAmount> feeDetails;
+        private final long feeTotal;
+        private final RepayDateTimeline timeline;
+        private int dueCount;
+        private int repayIndex = -1;
+
+        private PayoffState(RepayTrialRequest request, RepayPlanSchedule schedule) {
+            periodCount = schedule.getPeriodCount();
+            startEpochDay = new int[periodCount];
+            dueEpochDay = new int[periodCount];
+            accrualPrincipal = new long[periodCount];
+            scheduledInterest = new long[periodCount];
+            repaidInterest = new long[periodCount];
+            long[] repaidPenalty = new long[periodCount];
+            dueInterest = new long[periodCount + 1];
+            long principal = request.getPrincipal();
+            long[] repaidPrincipal = new long[periodCount];
+            long totalRepaidPrincipal = 0L;
+            List<RepayTrialScheduleItem> periodDetails = request.getPeriodDetails();
+            if (periodDetails != null) {
+                for (RepayTrialScheduleItem item : periodDetails) {
+                    int index = item == null || item.getPeriod() == null ? -1 : schedule.indexOfPeriod(item.getPeriod());
+                    if (index < 0) {
+                        continue;
+                    }
+                    SubjectAmounts repaid = SubjectAmounts.of(item.getRepaidDetails());
+                    repaidPrincipal[index] += repaid.get(ChargeSubject.PRINCIPAL);
+                    repaidInterest[index] += repaid.get(ChargeSubject.INTEREST);
+                    repaidPenalty[index] += repaid.get(ChargeSubject.PENALTY);
+                    totalRepaidPrincipal += repaid.get(ChargeSubject.PRINCIPAL);
+                }
+            }
+            int charge = -1;
+            long base = 0L;
+            // 前序期次超出计划部分的已还本金，计划期初本金中尚未扣除
+            long prepaidBefore = 0L;
+            for (int index = 0; index < periodCount; index++) {
+                startEpochDay[index] = schedule.getStartEpochDay(index);
+                dueEpochDay[index] = schedule.getDueEpochDay(index);
+                long openingPrincipal = Math.max(0L, principal - schedule.getPrincipalThrough(index));
+                accrualPrincipal[index] = Math.max(0L, openingPrincipal - prepaidBefore - repaidPrincipal[index]);
+                prepaidBefore += Math.max(0L, repaidPrincipal[index] - schedule.getPrincipal(index));
+                scheduledInterest[index] = schedule.getInterest(index);
+                long unpaidPrincipal = Math.max(0L, schedule.getPrincipal(index) - repaidPrincipal[index]);
+                long unpaidInterest = Math.max(0L, scheduledInterest[index] - repaidInterest[index]);
+                dueInterest[index + 1] = dueInterest[index] + unpaidInterest;
+                if (charge < 0 && (unpaidPrincipal > 0 || unpaidInterest > 0)) {
+                    charge = index;
+                    base = unpaidPrincipal + Math.max(0L, principal - schedule.getPrincipalThrough(schedule.getPeriod(index)));
+                }
+            }
+            chargeIndex = charge;
+            chargeBase = base;
+            chargeRepaidPenalty = charge < 0 ? 0L : repaidPenalty[charge];
+            dailyRate = request.getDailyRate() == null ? 0L : request.getDailyRate();
+            penaltyDailyRate = request.getPenaltyDailyRate() == null ? 0L : request.getPenaltyDailyRate();
+            outstandingPrincipal = Math.max(0L, principal - totalRepaidPrincipal);
+            timeline = request.getRepayDateTimeline();
+
+            SubjectAmounts fees = new SubjectAmounts();
+            long total = 0L;
+            if (request.getChargeRates() != null) {
+                for (ChargeRate chargeRate : request.getChargeRates()) {
+                    if (chargeRate == null || chargeRate.getSubject() == null || chargeRate.getRateUnit() == null
+                            || RepayTrialServiceImpl.isCoreSubject(chargeRate.getSubject())) {
+                        continue;
+                    }
+                    long amount = RepayTrialServiceImpl.calculateChargeAmount(chargeBase,
+                            request.getPeriodDays(), chargeRate);
+                    fees.add(chargeRate.getSubject(), amount);
+                    total += amount;
+                }
+            }
+            feeDetails = Collections.unmodifiableList(fees.toAmounts());
+            feeTotal = total;
+        }
+
+        private PayoffQuote quote(int epochDay) {
+            while (dueCount < periodCount && dueEpochDay[dueCount] <= epochDay) {
+                dueCount++;
+            }
+            while (timeline != null && repayIndex + 1 < timeline.size() && timeline.getEpochDay(repayIndex + 1) <= epochDay) {
+                repayIndex++;
+            }
+
+            long interest = dueInterest[dueCount];
+            if (dueCount < periodCount && startEpochDay[dueCount] <= epochDay) {
+                int days = Math.max(1, epochDay - startEpochDay[dueCount]);
+                long accrued = Math.min(scheduledInterest[dueCount],
+                        ScfInterestUtils.calculateUnpaidInterest(accrualPrincipal[dueCount], dailyRate, days));
+                interest += Math.max(0L, accrued - repaidInterest[dueCount]);
+            }
+
+            long penalty = 0L;
+            if (chargeIndex >= 0 && chargeIndex < dueCount && penaltyDailyRate > 0) {
+                int latestRepay = repayIndex < 0 ? Integer.MIN_VALUE : timeline.getEpochDay(repayIndex);
+                int penaltyDays = epochDay - Math.max(dueEpochDay[chargeIndex], latestRepay);
+                if (penaltyDays > 0) {
+                    long amount = ScfInterestUtils.calculateUnpaidInterest(chargeBase, penaltyDailyRate, penaltyDays);
+                    penalty = Math.max(0L, amount - chargeRepaidPenalty);
+                }
+            }
+
+            PayoffQuote quote = new PayoffQuote();
+            quote.setQuoteDate(LocalDate.ofEpochDay(epochDay));
+            quote.setPrincipal(outstandingPrincipal);
+            quote.setInterest(interest);
+            quote.setPenalty(penalty);
+            quote.setFeeDetails(feeDetails);
+            quote.setTotalAmount(outstandingPrincipal + interest + penalty + feeTotal);
+            return quote;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.scf.loan.bill.service.impl;
 
 import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
 import com.scf.loan.bill.plan.RepayPlanStrategyKey;
 import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
 import com.scf.loan.bill.service.RepayPlanService;
@@ -17,6 +18,11 @@ public class RepayPlanServiceImpl implements RepayPlanService {
 
     @Override
     public List<RepayPlanItem> generatePlan(RepayPlanRequest request) {
+        return generateSchedule(request).asItems();
+    }
+
+    @Override
+    public RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
         RepayPlanStrategyKey key = new RepayPlanStrategyKey();
         key.setRepayMethod(request.getRepayMethod());
         key.setInterestType(request.getInterestType());
@@ -25,6 +31,6 @@ public class RepayPlanServiceImpl implements RepayPlanService {
         key.setRateType(request.getRateType());
         key.setGraceType(request.getGraceType());
         key.setSettlementMode(request.getSettlementMode());
-        return router.route(key).generate(request);
+        return router.route(key).generateSchedule(request);
     }
 }
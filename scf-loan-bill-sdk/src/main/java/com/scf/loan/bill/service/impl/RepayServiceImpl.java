@@ -3,23 +3,41 @@ package com.scf.loan.bill.service.impl;
 import com.scf.loan.bill.plan.RepayRequest;
 import com.scf.loan.bill.plan.RepayResult;
 import com.scf.loan.bill.plan.RepayTrialResult;
-import com.scf.loan.bill.plan.RepayTrialSubjectAmount;
-import com.scf.loan.bill.plan.RepayTrialSubjectDetail;
+import com.scf.loan.bill.plan.RepayWaterfall;
+import com.scf.loan.bill.plan.enums.RepayMethod;
 import com.scf.loan.bill.service.RepayService;
 import com.scf.loan.bill.service.RepayTrialService;
 import com.scf.loan.common.enums.ChargeSubject;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.LinkedHashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * 还款：试算当期未还金额后按冲抵顺序分配还款金额；冲抵顺序可按还款方式配置，未配置时使用默认顺序
+ */
 public class RepayServiceImpl implements RepayService {
     private final RepayTrialService repayTrialService;
+    private final RepayWaterfall defaultWaterfall;
+    private final Map<RepayMethod, RepayWaterfall> waterfalls;
 
     public RepayServiceImpl(RepayTrialService repayTrialService) {
+        this(repayTrialService, RepayWaterfall.DEFAULT, Collections.<RepayMethod, RepayWaterfall>emptyMap());
+    }
+
+    public RepayServiceImpl(RepayTrialService repayTrialService, RepayWaterfall defaultWaterfall,
+                            Map<RepayMethod, RepayWaterfall> waterfalls) {
+        if (defaultWaterfall == null) {
+            throw new IllegalArgumentException("默认还款冲抵顺序不能为空");
+        }
         this.repayTrialService = repayTrialService;
+        this.defaultWaterfall = defaultWaterfall;
+        this.waterfalls = new EnumMap<>(RepayMethod.class);
+        if (waterfalls != null) {
+            this.waterfalls.putAll(waterfalls);
+        }
     }
 
     @Override
@@ -27,123 +45,103 @@ public class RepayServiceImpl implements RepayService {
         if (request == null || request.getTrialDate() == null || request.getRepayAmount() == null || request.getRepayAmount() <= 0) {
             throw new IllegalArgumentException("参数不合法");
         }
-        RepayTrialResult trialResult = repayTrialService.trial(request);
-        List<RepayTrialSubjectDetail> details = trialResult.getAmountDetail();
-        if (details == null || details.isEmpty()) {
+        TrialComputation trial = trial(request);
+        SubjectBalances balances = trial.getBalances();
+        if (balances.size() == 0) {
             throw new IllegalStateException("还款试算结果为空");
         }
 
-        List<RepayTrialSubjectDetail> updatedDetails = copyDetails(details);
-        Map<ChargeSubject, RepayTrialSubjectDetail> detailMap = mapDetails(updatedDetails);
         long repayAmount = request.getRepayAmount();
-        long totalUnpaid = sumUnpaid(updatedDetails);
+        long totalUnpaid = balances.totalUnpaid();
         if (repayAmount > totalUnpaid) {
             throw new IllegalArgumentException("还款金额不能超过试算金额");
         }
-        long unpaidInterest = getUnpaidAmount(detailMap.get(ChargeSubject.INTEREST));
+        long unpaidInterest = balances.unpaid(ChargeSubject.INTEREST);
         if (unpaidInterest > repayAmount) {
             throw new IllegalArgumentException("当期剩余利息需结清");
         }
 
-        Map<ChargeSubject, Long> paidMap = new LinkedHashMap<>();
-        long remaining = repayAmount;
-        List<ChargeSubject> priorities = Arrays.asList(ChargeSubject.INTEREST, ChargeSubject.PENALTY, ChargeSubject.PRINCIPAL);
-        for (ChargeSubject subject : priorities) {
-            remaining = applyPayment(detailMap.get(subject), remaining, paidMap);
-        }
-        for (RepayTrialSubjectDetail detail : updatedDetails) {
-            if (detail == null || detail.getSubject() == null || priorities.contains(detail.getSubject())) {
-                continue;
-            }
-            remaining = applyPayment(detail, remaining, paidMap);
-        }
+        RepayWaterfall waterfall = waterfall(request.getRepayMethod());
+        long[] paid = new long[RepayWaterfall.SUBJECT_COUNT];
+        long remaining = balances.repay(waterfall, repayAmount, paid);
 
-        RepayResult result = new RepayResult();
-        result.setPeriod(trialResult.getPeriod());
-        result.setStartDate(trialResult.getStartDate());
-        result.setDueDate(trialResult.getDueDate());
-        result.setRepayAmount(repayAmount);
-        result.setRemainingAmount(remaining);
-        result.setAmountDetail(updatedDetails);
-        result.setRepayDetails(buildPaidDetails(paidMap));
-        return result;
+        return result(trial, repayAmount, remaining, waterfall, paid);
     }
 
-    private List<RepayTrialSubjectDetail> copyDetails(List<RepayTrialSubjectDetail> details) {
-        List<RepayTrialSubjectDetail> copied = new ArrayList<>(details.size());
-        for (RepayTrialSubjectDetail detail : details) {
-            if (detail == null) {
-                continue;
-            }
-            RepayTrialSubjectDetail clone = new RepayTrialSubjectDetail();
-            clone.setSubject(detail.getSubject());
-            clone.setDueAmount(detail.getDueAmount());
-            clone.setRepaidAmount(detail.getRepaidAmount());
-            clone.setUnpaidAmount(detail.getUnpaidAmount());
-            copied.add(clone);
+    @Override
+    public List<RepayResult> repayOutstanding(RepayRequest request) {
+        if (request == null || request.getTrialDate() == null || request.getRepayAmount() == null || request.getRepayAmount() <= 0) {
+            throw new IllegalArgumentException("参数不合法");
+        }
+        List<TrialComputation> periods = trialOutstanding(request);
+        long repayAmount = request.getRepayAmount();
+        long totalUnpaid = 0L;
+        for (TrialComputation period : periods) {
+            totalUnpaid += period.getBalances().totalUnpaid();
+        }
+        if (repayAmount > totalUnpaid) {
+            throw new IllegalArgumentException("还款金额不能超过试算金额");
+        }
+        if (periods.get(0).getBalances().unpaid(ChargeSubject.INTEREST) > repayAmount) {
+            throw new IllegalArgumentException("当期剩余利息需结清");
         }
-        return copied;
-    }
 
-    private Map<ChargeSubject, RepayTrialSubjectDetail> mapDetails(List<RepayTrialSubjectDetail> details) {
-        Map<ChargeSubject, RepayTrialSubjectDetail> map = new LinkedHashMap<>();
-        for (RepayTrialSubjectDetail detail : details) {
-            if (detail == null || detail.getSubject() == null) {
-                continue;
+        RepayWaterfall waterfall = waterfall(request.getRepayMethod());
+        List<RepayResult> results = new ArrayList<>(periods.size());
+        long remaining = repayAmount;
+        for (int i = 0; i < periods.size() && remaining > 0; i++) {
+            TrialComputation period = periods.get(i);
+            long[] paid = new long[RepayWaterfall.SUBJECT_COUNT];
+            long left = period.getBalances().repay(waterfall, remaining, paid);
+            if (left < remaining) {
+                results.add(result(period, remaining - left, left, waterfall, paid));
             }
-            map.put(detail.getSubject(), detail);
+            remaining = left;
         }
-        return map;
+        return results;
     }
 
-    private long sumUnpaid(List<RepayTrialSubjectDetail> details) {
-        if (details == null || details.isEmpty()) {
-            return 0L;
-        }
-        long total = 0L;
-        for (RepayTrialSubjectDetail detail : details) {
-            total += getUnpaidAmount(detail);
-        }
-        return total;
+    private RepayResult result(TrialComputation trial, long repayAmount, long remaining, RepayWaterfall waterfall,
+                               long[] paid) {
+        RepayResult result = new RepayResult();
+        result.setPeriod(trial.getPeriod());
+        result.setStartDate(trial.getStartDate());
+        result.setDueDate(trial.getDueDate());
+        result.setRepayAmount(repayAmount);
+        result.setRemainingAmount(remaining);
+        result.setAmountDetail(trial.getBalances().toDetails());
+        result.setRepayDetails(waterfall.toAmounts(paid, 0));
+        return result;
     }
 
-    private long applyPayment(RepayTrialSubjectDetail detail, long remaining, Map<ChargeSubject, Long> paidMap) {
-        if (detail == null || detail.getSubject() == null || remaining <= 0) {
-            return remaining;
+    /**
+     * 多期试算需要计划，只有同一 SDK 的试算实现支持；其他实现只能试算当期，退化为单期
+     */
+    private List<TrialComputation> trialOutstanding(RepayRequest request) {
+        if (repayTrialService instanceof RepayTrialServiceImpl) {
+            return ((RepayTrialServiceImpl) repayTrialService).computeOutstanding(request);
         }
-        long unpaid = getUnpaidAmount(detail);
-        if (unpaid <= 0) {
-            return remaining;
-        }
-        long payment = Math.min(remaining, unpaid);
-        detail.setRepaidAmount(safeLong(detail.getRepaidAmount()) + payment);
-        detail.setUnpaidAmount(unpaid - payment);
-        paidMap.put(detail.getSubject(), paidMap.getOrDefault(detail.getSubject(), 0L) + payment);
-        return remaining - payment;
+        List<TrialComputation> periods = new ArrayList<>(1);
+        periods.add(trial(request));
+        return periods;
     }
 
-    private List<RepayTrialSubjectAmount> buildPaidDetails(Map<ChargeSubject, Long> paidMap) {
-        if (paidMap.isEmpty()) {
-            return new ArrayList<>();
-        }
-        List<RepayTrialSubjectAmount> items = new ArrayList<>(paidMap.size());
-        for (Map.Entry<ChargeSubject, Long> entry : paidMap.entrySet()) {
-            RepayTrialSubjectAmount amount = new RepayTrialSubjectAmount();
-            amount.setSubject(entry.getKey());
-            amount.setAmount(entry.getValue());
-            items.add(amount);
+    /**
+     * 同一 SDK 的试算实现直接取内部金额向量，其他实现按其返回的 DTO 转换
+     */
+    private TrialComputation trial(RepayRequest request) {
+        if (repayTrialService instanceof RepayTrialServiceImpl) {
+            return ((RepayTrialServiceImpl) repayTrialService).compute(request);
         }
-        return items;
-    }
-
-    private long getUnpaidAmount(RepayTrialSubjectDetail detail) {
-        if (detail == null || detail.getUnpaidAmount() == null) {
-            return 0L;
+        RepayTrialResult trialResult = repayTrialService.trial(request);
+        if (trialResult == null) {
+            throw new IllegalStateException("还款试算结果为空");
         }
-        return detail.getUnpaidAmount();
+        return TrialComputation.of(trialResult);
     }
 
-    private long safeLong(Long value) {
-        return value == null ? 0L : value;
+    private RepayWaterfall waterfall(RepayMethod repayMethod) {
+        RepayWaterfall waterfall = repayMethod == null ? null : waterfalls.get(repayMethod);
+        return waterfall != null ? waterfall : defaultWaterfall;
     }
 }
@@ -2,16 +2,16 @@ package com.scf.loan.bill.service.impl;
 
 import com.scf.loan.bill.plan.ChargeRate;
 import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+import com.scf.loan.bill.plan.RepayTrialBatchResult;
 import com.scf.loan.bill.plan.RepayTrialRequest;
 import com.scf.loan.bill.plan.RepayTrialResult;
 import com.scf.loan.bill.plan.RepayTrialScheduleItem;
-import com.scf.loan.bill.plan.RepayTrialSubjectAmount;
-import com.scf.loan.bill.plan.RepayTrialSubjectDetail;
+import com.scf.loan.bill.plan.cache.RepayPlanCacheKey;
 import com.scf.loan.bill.plan.enums.RateUnit;
 import com.scf.loan.bill.service.RepayPlanService;
 import com.scf.loan.bill.service.RepayTrialService;
 import com.scf.loan.common.enums.ChargeSubject;
-import com.scf.loan.common.dto.RepayPlanSubjectDetail;
 import com.scf.loan.common.dto.RepayPlanItem;
 import com.scf.loan.common.utils.scf.ScfInterestUtils;
 
@@ -20,59 +20,191 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 public class RepayTrialServiceImpl implements RepayTrialService {
+    private static final int DEFAULT_BATCH_CHUNK_SIZE = 64;
+
     private final RepayPlanService repayPlanService;
+    private final Executor batchExecutor;
+    private final int batchChunkSize;
 
     public RepayTrialServiceImpl(RepayPlanService repayPlanService) {
+        this(repayPlanService, Runnable::run, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+
+    /**
+     * @param batchExecutor  批量试算的执行器，按 batchChunkSize 切分后的每段提交为一个任务
+     * @param batchChunkSize 每个任务处理的请求数
+     */
+    public RepayTrialServiceImpl(RepayPlanService repayPlanService, Executor batchExecutor, int batchChunkSize) {
+        if (batchExecutor == null || batchChunkSize <= 0) {
+            throw new IllegalArgumentException("批量试算配置不合法");
+        }
         this.repayPlanService = repayPlanService;
+        this.batchExecutor = batchExecutor;
+        this.batchChunkSize = batchChunkSize;
     }
 
     @Override
     public RepayTrialResult trial(RepayTrialRequest request) {
+        return trial(request, repayPlanService);
+    }
+
+    @Override
+    public List<RepayTrialBatchResult> trialBatch(List<RepayTrialRequest> requests) {
+        int size = requests == null ? 0 : requests.size();
+        RepayTrialBatchResult[] results = new RepayTrialBatchResult[size];
+        trialBatch(requests, result -> results[result.getIndex()] = result);
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public void trialBatch(List<RepayTrialRequest> requests, Consumer<RepayTrialBatchResult> consumer) {
+        if (requests == null || consumer == null) {
+            throw new IllegalArgumentException("参数不合法");
+        }
+        int size = requests.size();
+        if (size == 0) {
+            return;
+        }
+        // 同一批次内经济要素相同的请求只生成一次计划
+        RepayPlanService planService = new BatchPlanService(repayPlanService);
+        Object consumerLock = new Object();
+        List<CompletableFuture<Void>> futures = new ArrayList<>((size + batchChunkSize - 1) / batchChunkSize);
+        for (int from = 0; from < size; from += batchChunkSize) {
+            int start = from;
+            int end = Math.min(size, from + batchChunkSize);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int index = start; index < end; index++) {
+                    RepayTrialBatchResult result = trialItem(index, requests.get(index), planService);
+                    synchronized (consumerLock) {
+                        consumer.accept(result);
+                    }
+                }
+            }, batchExecutor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private RepayTrialBatchResult trialItem(int index, RepayTrialRequest request, RepayPlanService planService) {
+        try {
+            return RepayTrialBatchResult.success(index, trial(request, planService));
+        } catch (RuntimeException e) {
+            return RepayTrialBatchResult.failure(index, e);
+        }
+    }
+
+    private RepayTrialResult trial(RepayTrialRequest request, RepayPlanService planService) {
+        return compute(request, planService).toResult();
+    }
+
+    /**
+     * 试算的内部形式，还款计算直接使用，不经过 DTO 转换
+     */
+    TrialComputation compute(RepayTrialRequest request) {
+        return compute(request, repayPlanService);
+    }
+
+    private TrialComputation compute(RepayTrialRequest request, RepayPlanService planService) {
         if (request == null || request.getTrialDate() == null) {
             throw new IllegalArgumentException("参数不合法");
         }
-        RepayPlanRequest planRequest = request;
+        RepayPlanSchedule schedule = generateSchedule(request, planService);
+        RepayTrialScheduleItem current = findCurrentItem(request.getPeriodDetails(), schedule, request.getTrialDate());
+        return computePeriod(request, schedule, current, true);
+    }
+
+    /**
+     * 多期试算：计划只生成一次，按到期日从早到晚返回试算日已开始且仍有未还金额的各期；
+     * 罚息与费用与单期试算口径一致，按未还本金与后续期次本金之和计算，只在最早一期未结清本息的期次上计收一次；
+     * 没有未结清本息的期次时按单期试算返回当期，保证结果非空
+     */
+    List<TrialComputation> computeOutstanding(RepayTrialRequest request) {
+        if (request == null || request.getTrialDate() == null) {
+            throw new IllegalArgumentException("参数不合法");
+        }
+        RepayPlanSchedule schedule = generateSchedule(request, repayPlanService);
         LocalDate trialDate = request.getTrialDate();
-        List<RepayTrialScheduleItem> periodDetails = buildScheduleItems(request);
-        if (periodDetails == null || periodDetails.isEmpty()) {
-            throw new IllegalStateException("还款计划为空");
+        List<RepayTrialScheduleItem> items = startedItems(request.getPeriodDetails(), schedule, trialDate);
+        List<TrialComputation> outstanding = new ArrayList<>(items.size());
+        boolean charged = false;
+        for (RepayTrialScheduleItem item : items) {
+            TrialComputation computation = computePeriod(request, schedule, item, !charged);
+            SubjectBalances balances = computation.getBalances();
+            if (balances.unpaid(ChargeSubject.PRINCIPAL) > 0 || balances.unpaid(ChargeSubject.INTEREST) > 0) {
+                outstanding.add(computation);
+                charged = true;
+            }
         }
+        if (outstanding.isEmpty()) {
+            outstanding.add(computePeriod(request, schedule,
+                    findCurrentItem(request.getPeriodDetails(), schedule, trialDate), true));
+        }
+        return outstanding;
+    }
 
-        RepayTrialScheduleItem current = findCurrentItem(periodDetails, trialDate);
-        List<RepayPlanItem> planItems = repayPlanService.generatePlan(planRequest);
-        if (planItems == null || planItems.isEmpty()) {
+    private RepayPlanSchedule generateSchedule(RepayPlanRequest request, RepayPlanService planService) {
+        RepayPlanSchedule schedule = planService.generateSchedule(request);
+        if (schedule == null || schedule.getPeriodCount() == 0) {
             throw new IllegalStateException("还款计划为空");
         }
-        RepayPlanItem planItem = getPlanItem(planItems, current.getPeriod());
-        long currentPrincipal = getSubjectAmount(planItem == null ? null : planItem.getAmountDetail(), ChargeSubject.PRINCIPAL);
-        long currentInterest = getSubjectAmount(planItem == null ? null : planItem.getAmountDetail(), ChargeSubject.INTEREST);
-        long remainingPrincipal = calculateRemainingPrincipal(planItems, planRequest.getPrincipal(), current.getPeriod());
-        long repaidPrincipal = getTrialSubjectAmount(current.getRepaidDetails(), ChargeSubject.PRINCIPAL);
-        long repaidInterest = getTrialSubjectAmount(current.getRepaidDetails(), ChargeSubject.INTEREST);
-        long repaidPenalty = getTrialSubjectAmount(current.getRepaidDetails(), ChargeSubject.PENALTY);
+        return schedule;
+    }
+
+    /**
+     * @param charged 为 true 时按本期未还本金与后续期次本金之和计算罚息与费用，否则本期不计罚息与费用
+     */
+    private TrialComputation computePeriod(RepayTrialRequest request, RepayPlanSchedule schedule,
+                                           RepayTrialScheduleItem current, boolean charged) {
+        RepayPlanRequest planRequest = request;
+        LocalDate trialDate = request.getTrialDate();
+        int planIndex = current.getPeriod() == null ? -1 : schedule.indexOfPeriod(current.getPeriod());
+        long currentPrincipal = planIndex < 0 ? 0L : schedule.getPrincipal(planIndex);
+        long currentInterest = planIndex < 0 ? 0L : schedule.getInterest(planIndex);
+        long remainingPrincipal = calculateRemainingPrincipal(schedule, planRequest.getPrincipal(), current.getPeriod());
+        SubjectAmounts repaid = SubjectAmounts.of(current.getRepaidDetails());
+        long repaidPrincipal = repaid.get(ChargeSubject.PRINCIPAL);
+        long repaidInterest = repaid.get(ChargeSubject.INTEREST);
+        long repaidPenalty = repaid.get(ChargeSubject.PENALTY);
         long unpaidPrincipal = Math.max(0L, currentPrincipal - repaidPrincipal);
         long unpaidInterest = Math.max(0L, currentInterest - repaidInterest);
         long outstandingPrincipal = unpaidPrincipal + remainingPrincipal;
+        long chargeBase = charged ? outstandingPrincipal : 0L;
 
-        Map<ChargeSubject, Long> subjectAmounts = new LinkedHashMap<>();
-        subjectAmounts.put(ChargeSubject.PRINCIPAL, unpaidPrincipal);
-        subjectAmounts.put(ChargeSubject.INTEREST, unpaidInterest);
+        SubjectBalances balances = new SubjectBalances();
+        balances.put(ChargeSubject.PRINCIPAL, currentPrincipal, repaidPrincipal, unpaidPrincipal);
+        balances.put(ChargeSubject.INTEREST, currentInterest, repaidInterest, unpaidInterest);
 
-        int penaltyDays = calculatePenaltyDays(current.getDueDate(), request.getRepayDates(), trialDate);
+        int penaltyDays = ScfInterestUtils.calculatePenaltyDays(
+                current.getDueDate(), request.getRepayDateTimeline(), trialDate);
         // 计算物理逾期天数
         int overdueDays = Math.max(0, (int) ChronoUnit.DAYS.between(current.getDueDate(), trialDate));
         // 计算本期计息天数：max(1, min(trialDate, dueDate) - startDate)
         LocalDate interestEndDate = trialDate.isAfter(current.getDueDate()) ? current.getDueDate() : trialDate;
         int interestDays = Math.max(1, (int) ChronoUnit.DAYS.between(current.getStartDate(), interestEndDate));
         
-        long penalty = calculatePenaltyAmount(outstandingPrincipal, planRequest.getPenaltyDailyRate(), penaltyDays);
+        long penalty = calculatePenaltyAmount(chargeBase, planRequest.getPenaltyDailyRate(), penaltyDays);
         long unpaidPenalty = Math.max(0L, penalty - repaidPenalty);
-        subjectAmounts.put(ChargeSubject.PENALTY, unpaidPenalty);
+        balances.put(ChargeSubject.PENALTY, penalty, repaidPenalty, unpaidPenalty);
 
         List<ChargeRate> chargeRates = planRequest.getChargeRates();
         if (chargeRates != null) {
@@ -80,97 +212,91 @@ public class RepayTrialServiceImpl implements RepayTrialService {
                 if (chargeRate == null || chargeRate.getSubject() == null || chargeRate.getRateUnit() == null) {
                     continue;
                 }
-                long amount = calculateChargeAmount(outstandingPrincipal, planRequest.getPeriodDays(), chargeRate);
-                subjectAmounts.put(chargeRate.getSubject(), subjectAmounts.getOrDefault(chargeRate.getSubject(), 0L) + amount);
+                // 本金、利息、罚息由计划与逾期计算得出，费率配置只作用于其他费用科目
+                if (isCoreSubject(chargeRate.getSubject())) {
+                    continue;
+                }
+                long amount = calculateChargeAmount(chargeBase, planRequest.getPeriodDays(), chargeRate);
+                balances.addUnpaid(chargeRate.getSubject(), amount);
             }
         }
 
-        List<RepayTrialSubjectDetail> amountDetail = new ArrayList<>();
-        amountDetail.add(buildSubjectDetail(ChargeSubject.PRINCIPAL, currentPrincipal, repaidPrincipal, unpaidPrincipal));
-        amountDetail.add(buildSubjectDetail(ChargeSubject.INTEREST, currentInterest, repaidInterest, unpaidInterest));
-        amountDetail.add(buildSubjectDetail(ChargeSubject.PENALTY, penalty, repaidPenalty, unpaidPenalty));
-        for (Map.Entry<ChargeSubject, Long> entry : subjectAmounts.entrySet()) {
-            ChargeSubject subject = entry.getKey();
-            if (subject == ChargeSubject.PRINCIPAL || subject == ChargeSubject.INTEREST || subject == ChargeSubject.PENALTY) {
-                continue;
-            }
-            RepayTrialSubjectDetail detail = new RepayTrialSubjectDetail();
-            detail.setSubject(subject);
-            detail.setDueAmount(0L);
-            detail.setRepaidAmount(0L);
-            detail.setUnpaidAmount(entry.getValue());
-            amountDetail.add(detail);
-        }
-
-        RepayTrialResult result = new RepayTrialResult();
-        result.setPeriod(current.getPeriod());
-        result.setStartDate(current.getStartDate());
-        result.setDueDate(current.getDueDate());
-        result.setOverdueDays(overdueDays);
-        result.setInterestDays(interestDays);
-        result.setAmountDetail(amountDetail);
-        return result;
-    }
-
-    private List<RepayTrialScheduleItem> buildScheduleItems(RepayTrialRequest request) {
-        List<RepayTrialScheduleItem> periodDetails = request.getPeriodDetails();
-        if (periodDetails != null && !periodDetails.isEmpty()) {
-            return periodDetails;
-        }
-        List<RepayPlanItem> items = repayPlanService.generatePlan(request);
-        if (items == null || items.isEmpty()) {
-            return items == null ? null : new ArrayList<>();
-        }
-        List<RepayTrialScheduleItem> mapped = new ArrayList<>(items.size());
-        for (RepayPlanItem item : items) {
-            RepayTrialScheduleItem scheduleItem = new RepayTrialScheduleItem();
-            scheduleItem.setPeriod(item.getPeriod());
-            scheduleItem.setStartDate(item.getStartDate());
-            scheduleItem.setDueDate(item.getDueDate());
-            scheduleItem.setRepaidDetails(new ArrayList<>());
-            mapped.add(scheduleItem);
-        }
-        return mapped;
-    }
-
-    private RepayPlanItem getPlanItem(List<RepayPlanItem> items, Integer period) {
-        if (items == null || items.isEmpty() || period == null) {
-            return null;
-        }
-        for (RepayPlanItem item : items) {
-            if (item != null && period.equals(item.getPeriod())) {
-                return item;
-            }
-        }
-        return null;
+        return new TrialComputation(current.getPeriod(), current.getStartDate(), current.getDueDate(), overdueDays,
+                interestDays, balances);
     }
 
-    private long calculateRemainingPrincipal(List<RepayPlanItem> items, Long totalPrincipal, Integer period) {
+    private long calculateRemainingPrincipal(RepayPlanSchedule schedule, Long totalPrincipal, Integer period) {
         long principal = safeLong(totalPrincipal);
-        if (items == null || items.isEmpty() || period == null) {
+        if (period == null) {
             return principal;
         }
-        long paidPrincipal = 0L;
-        for (RepayPlanItem item : items) {
-            if (item == null || item.getPeriod() == null || item.getPeriod() > period) {
-                continue;
+        long remaining = principal - schedule.getPrincipalThrough(period);
+        return Math.max(0L, remaining);
+    }
+
+    /**
+     * 试算日已开始的各期（至少包含第一期），按到期日从早到晚排列；未传入期次明细时取自计划
+     */
+    private List<RepayTrialScheduleItem> startedItems(List<RepayTrialScheduleItem> periodDetails, RepayPlanSchedule schedule,
+                                                      LocalDate trialDate) {
+        List<RepayTrialScheduleItem> items = new ArrayList<>();
+        if (periodDetails == null || periodDetails.isEmpty()) {
+            int trialEpochDay = Math.toIntExact(trialDate.toEpochDay());
+            for (int index = 0; index < schedule.getPeriodCount(); index++) {
+                if (index > 0 && schedule.getStartEpochDay(index) > trialEpochDay) {
+                    break;
+                }
+                items.add(scheduleItem(schedule, index));
             }
-            paidPrincipal += getSubjectAmount(item.getAmountDetail(), ChargeSubject.PRINCIPAL);
+            return items;
         }
-        long remaining = principal - paidPrincipal;
-        return Math.max(0L, remaining);
+        for (RepayTrialScheduleItem item : periodDetails) {
+            if (!trialDate.isBefore(item.getStartDate())) {
+                items.add(item);
+            }
+        }
+        if (items.isEmpty()) {
+            items.add(periodDetails.get(0));
+        }
+        items.sort(Comparator.comparing(RepayTrialScheduleItem::getDueDate));
+        return items;
     }
 
-    private RepayTrialScheduleItem findCurrentItem(List<RepayTrialScheduleItem> items, LocalDate trialDate) {
-        RepayTrialScheduleItem first = items.get(0);
+    /**
+     * 未传入期次明细时直接在计划上二分定位；传入时按到期日二分，明细乱序或有间隙导致定位不成立时退回顺序查找
+     */
+    private RepayTrialScheduleItem findCurrentItem(List<RepayTrialScheduleItem> periodDetails, RepayPlanSchedule schedule,
+                                                   LocalDate trialDate) {
+        if (periodDetails == null || periodDetails.isEmpty()) {
+            return scheduleItem(schedule, schedule.findIndex(Math.toIntExact(trialDate.toEpochDay())));
+        }
+        RepayTrialScheduleItem first = periodDetails.get(0);
         if (trialDate.isBefore(first.getStartDate())) {
             return first;
         }
-        RepayTrialScheduleItem last = items.get(items.size() - 1);
+        RepayTrialScheduleItem last = periodDetails.get(periodDetails.size() - 1);
         if (trialDate.isAfter(last.getDueDate())) {
             return last;
         }
-        for (RepayTrialScheduleItem item : items) {
+        if (periodDetails instanceof RandomAccess) {
+            int low = 0;
+            int high = periodDetails.size() - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (periodDetails.get(mid).getDueDate().isBefore(trialDate)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            RepayTrialScheduleItem found = periodDetails.get(low);
+            boolean contains = !trialDate.isBefore(found.getStartDate());
+            boolean firstMatch = low == 0 || periodDetails.get(low - 1).getDueDate().isBefore(trialDate);
+            if (contains && firstMatch) {
+                return found;
+            }
+        }
+        for (RepayTrialScheduleItem item : periodDetails) {
             if (!trialDate.isBefore(item.getStartDate()) && !trialDate.isAfter(item.getDueDate())) {
                 return item;
             }
@@ -178,76 +304,68 @@ public class RepayTrialServiceImpl implements RepayTrialService {
         return last;
     }
 
-    private int calculatePenaltyDays(LocalDate dueDate, List<LocalDate> repayDates, LocalDate trialDate) {
-        if (repayDates == null || repayDates.isEmpty()) {
-            return ScfInterestUtils.calculatePenaltyDays(dueDate, trialDate);
-        }
-        return ScfInterestUtils.calculatePenaltyDays(dueDate, repayDates, trialDate);
+    private RepayTrialScheduleItem scheduleItem(RepayPlanSchedule schedule, int index) {
+        RepayTrialScheduleItem item = new RepayTrialScheduleItem();
+        item.setPeriod(schedule.getPeriod(index));
+        item.setStartDate(schedule.getStartDate(index));
+        item.setDueDate(schedule.getDueDate(index));
+        item.setRepaidDetails(new ArrayList<>());
+        return item;
     }
 
     private long calculatePenaltyAmount(long outstandingPrincipal, Long penaltyDailyRate, int penaltyDays) {
         if (penaltyDays <= 0 || penaltyDailyRate == null || penaltyDailyRate <= 0) {
             return 0L;
         }
-        BigDecimal rate = ScfInterestUtils.convertRateToBigDecimal(penaltyDailyRate);
-        return ScfInterestUtils.calculateUnpaidInterest(outstandingPrincipal, rate, penaltyDays);
+        return ScfInterestUtils.calculateUnpaidInterest(outstandingPrincipal, penaltyDailyRate, penaltyDays);
     }
 
-    private long calculateChargeAmount(long outstandingPrincipal, Integer periodDays, ChargeRate chargeRate) {
+    static long calculateChargeAmount(long outstandingPrincipal, Integer periodDays, ChargeRate chargeRate) {
         long rateValue = safeLong(chargeRate.getRateValue());
         if (outstandingPrincipal <= 0 || rateValue <= 0) {
             return 0L;
         }
-        BigDecimal base = BigDecimal.valueOf(outstandingPrincipal);
         long periodDaysValue = periodDays == null ? 0L : periodDays.longValue();
-        BigDecimal rate = ScfInterestUtils.convertRateToBigDecimal(rateValue);
-        BigDecimal amount;
         if (chargeRate.getRateUnit() == RateUnit.DAILY) {
-            amount = base.multiply(rate).multiply(BigDecimal.valueOf(periodDaysValue));
+            return ScfInterestUtils.calculateInterest(outstandingPrincipal, rateValue, periodDaysValue);
         } else if (chargeRate.getRateUnit() == RateUnit.YEARLY) {
+            BigDecimal base = BigDecimal.valueOf(outstandingPrincipal);
+            BigDecimal rate = ScfInterestUtils.convertRateToBigDecimal(rateValue);
             BigDecimal yearRatio = BigDecimal.valueOf(periodDaysValue)
                     .divide(BigDecimal.valueOf(365), 12, RoundingMode.DOWN);
-            amount = base.multiply(rate).multiply(yearRatio);
-        } else {
-            amount = base.multiply(rate);
+            return base.multiply(rate).multiply(yearRatio).setScale(0, RoundingMode.DOWN).longValue();
         }
-        return amount.setScale(0, RoundingMode.DOWN).longValue();
+        return ScfInterestUtils.calculateInterest(outstandingPrincipal, rateValue, 1L);
     }
 
-    private long safeLong(Long value) {
+    private static long safeLong(Long value) {
         return value == null ? 0L : value;
     }
 
-    private long getSubjectAmount(List<RepayPlanSubjectDetail> details, ChargeSubject subject) {
-        if (details == null || details.isEmpty() || subject == null) {
-            return 0L;
-        }
-        for (RepayPlanSubjectDetail detail : details) {
-            if (detail != null && subject == detail.getSubject()) {
-                return safeLong(detail.getAmount());
-            }
-        }
-        return 0L;
+    static boolean isCoreSubject(ChargeSubject subject) {
+        return subject == ChargeSubject.PRINCIPAL || subject == ChargeSubject.INTEREST || subject == ChargeSubject.PENALTY;
     }
 
-    private long getTrialSubjectAmount(List<RepayTrialSubjectAmount> details, ChargeSubject subject) {
-        if (details == null || details.isEmpty() || subject == null) {
-            return 0L;
+    private static class BatchPlanService implements RepayPlanService {
+        private final RepayPlanService delegate;
+        private final ConcurrentHashMap<RepayPlanCacheKey, RepayPlanSchedule> schedules = new ConcurrentHashMap<>();
+
+        private BatchPlanService(RepayPlanService delegate) {
+            this.delegate = delegate;
         }
-        for (RepayTrialSubjectAmount detail : details) {
-            if (detail != null && subject == detail.getSubject()) {
-                return safeLong(detail.getAmount());
-            }
+
+        @Override
+        public List<RepayPlanItem> generatePlan(RepayPlanRequest request) {
+            return generateSchedule(request).asItems();
         }
-        return 0L;
-    }
 
-    private RepayTrialSubjectDetail buildSubjectDetail(ChargeSubject subject, long dueAmount, long repaidAmount, long unpaidAmount) {
-        RepayTrialSubjectDetail detail = new RepayTrialSubjectDetail();
-        detail.setSubject(subject);
-        detail.setDueAmount(dueAmount);
-        detail.setRepaidAmount(repaidAmount);
-        detail.setUnpaidAmount(unpaidAmount);
-        return detail;
+        @Override
+        public RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
+            RepayPlanCacheKey key = RepayPlanCacheKey.of(request);
+            if (key == null) {
+                return delegate.generateSchedule(request);
+            }
+            return schedules.computeIfAbsent(key, k -> delegate.generateSchedule(request));
+        }
     }
 }
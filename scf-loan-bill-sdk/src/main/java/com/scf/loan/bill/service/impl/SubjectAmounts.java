@@ -0,0 +1,72 @@
+package com.scf.loan.bill.service.impl;
+
+import com.scf.loan.bill.plan.RepayTrialSubjectAmount;
+import com.scf.loan.common.enums.ChargeSubject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按 ChargeSubject 序号索引的科目金额向量，试算与还款计算内部使用，只在接口边界与 DTO 互转；
+ * 记录科目首次出现的顺序，转换为 DTO 时按该顺序输出
+ */
+final class SubjectAmounts {
+    static final ChargeSubject[] SUBJECTS = ChargeSubject.values();
+
+    private final long[] amounts = new long[SUBJECTS.length];
+    private final boolean[] present = new boolean[SUBJECTS.length];
+    private final int[] order = new int[SUBJECTS.length];
+    private int size;
+
+    /**
+     * 同一科目出现多次时取第一条，与按科目查找已还金额的口径一致
+     */
+    static SubjectAmounts of(List<RepayTrialSubjectAmount> details) {
+        SubjectAmounts amounts = new SubjectAmounts();
+        if (details == null) {
+            return amounts;
+        }
+        for (RepayTrialSubjectAmount detail : details) {
+            if (detail != null && detail.getSubject() != null && !amounts.contains(detail.getSubject())) {
+                amounts.add(detail.getSubject(), detail.getAmount() == null ? 0L : detail.getAmount());
+            }
+        }
+        return amounts;
+    }
+
+    long get(ChargeSubject subject) {
+        return amounts[subject.ordinal()];
+    }
+
+    boolean contains(ChargeSubject subject) {
+        return present[subject.ordinal()];
+    }
+
+    void add(ChargeSubject subject, long amount) {
+        int index = subject.ordinal();
+        mark(index);
+        amounts[index] += amount;
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<RepayTrialSubjectAmount> toAmounts() {
+        List<RepayTrialSubjectAmount> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            RepayTrialSubjectAmount item = new RepayTrialSubjectAmount();
+            item.setSubject(SUBJECTS[order[i]]);
+            item.setAmount(amounts[order[i]]);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private void mark(int index) {
+        if (!present[index]) {
+            present[index] = true;
+            order[size++] = index;
+        }
+    }
+}
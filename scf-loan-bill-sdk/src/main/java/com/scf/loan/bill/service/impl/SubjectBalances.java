@@ -0,0 +1,111 @@
+package com.scf.loan.bill.service.impl;
+
+import com.scf.loan.bill.plan.RepayTrialSubjectDetail;
+import com.scf.loan.bill.plan.RepayWaterfall;
+import com.scf.loan.common.enums.ChargeSubject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按 ChargeSubject 序号索引的应还/已还/未还金额向量，替代逐科目的 RepayTrialSubjectDetail 计算，
+ * 只在接口边界与 DTO 互转；记录科目首次出现的顺序，转换为 DTO 时按该顺序输出
+ */
+final class SubjectBalances {
+    private static final ChargeSubject[] SUBJECTS = SubjectAmounts.SUBJECTS;
+
+    private final long[] due = new long[SUBJECTS.length];
+    private final long[] repaid = new long[SUBJECTS.length];
+    private final long[] unpaid = new long[SUBJECTS.length];
+    private final boolean[] present = new boolean[SUBJECTS.length];
+    private final int[] order = new int[SUBJECTS.length];
+    private int size;
+
+    /**
+     * 同一科目出现多次时金额累加，空金额按 0 处理
+     */
+    static SubjectBalances of(List<RepayTrialSubjectDetail> details) {
+        SubjectBalances balances = new SubjectBalances();
+        if (details == null) {
+            return balances;
+        }
+        for (RepayTrialSubjectDetail detail : details) {
+            if (detail == null || detail.getSubject() == null) {
+                continue;
+            }
+            int index = detail.getSubject().ordinal();
+            balances.mark(index);
+            balances.due[index] += value(detail.getDueAmount());
+            balances.repaid[index] += value(detail.getRepaidAmount());
+            balances.unpaid[index] += value(detail.getUnpaidAmount());
+        }
+        return balances;
+    }
+
+    void put(ChargeSubject subject, long dueAmount, long repaidAmount, long unpaidAmount) {
+        int index = subject.ordinal();
+        mark(index);
+        due[index] = dueAmount;
+        repaid[index] = repaidAmount;
+        unpaid[index] = unpaidAmount;
+    }
+
+    void addUnpaid(ChargeSubject subject, long amount) {
+        int index = subject.ordinal();
+        mark(index);
+        unpaid[index] += amount;
+    }
+
+    long unpaid(ChargeSubject subject) {
+        return unpaid[subject.ordinal()];
+    }
+
+    long totalUnpaid() {
+        long total = 0L;
+        for (int i = 0; i < size; i++) {
+            total += unpaid[order[i]];
+        }
+        return total;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 按 waterfall 顺序用 amount 冲抵未还金额，冲抵额累加到按序号索引的 paid 向量，返回剩余金额
+     */
+    long repay(RepayWaterfall waterfall, long amount, long[] paid) {
+        long remaining = waterfall.allocate(unpaid, 0, amount, paid);
+        for (int i = 0; i < size; i++) {
+            int index = order[i];
+            repaid[index] += paid[index];
+        }
+        return remaining;
+    }
+
+    List<RepayTrialSubjectDetail> toDetails() {
+        List<RepayTrialSubjectDetail> details = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = order[i];
+            RepayTrialSubjectDetail detail = new RepayTrialSubjectDetail();
+            detail.setSubject(SUBJECTS[index]);
+            detail.setDueAmount(due[index]);
+            detail.setRepaidAmount(repaid[index]);
+            detail.setUnpaidAmount(unpaid[index]);
+            details.add(detail);
+        }
+        return details;
+    }
+
+    private void mark(int index) {
+        if (!present[index]) {
+            present[index] = true;
+            order[size++] = index;
+        }
+    }
+
+    private static long value(Long amount) {
+        return amount == null ? 0L : amount;
+    }
+}
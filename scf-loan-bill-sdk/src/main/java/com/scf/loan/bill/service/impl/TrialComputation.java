@@ -0,0 +1,59 @@
+package com.scf.loan.bill.service.impl;
+
+import com.scf.loan.bill.plan.RepayTrialResult;
+
+import java.time.LocalDate;
+
+/**
+ * 试算的内部结果，金额以 SubjectBalances 向量保存，还款计算直接在其上冲抵，对外时再转换为 RepayTrialResult
+ */
+final class TrialComputation {
+    private final Integer period;
+    private final LocalDate startDate;
+    private final LocalDate dueDate;
+    private final Integer overdueDays;
+    private final Integer interestDays;
+    private final SubjectBalances balances;
+
+    TrialComputation(Integer period, LocalDate startDate, LocalDate dueDate, Integer overdueDays, Integer interestDays,
+                     SubjectBalances balances) {
+        this.period = period;
+        this.startDate = startDate;
+        this.dueDate = dueDate;
+        this.overdueDays = overdueDays;
+        this.interestDays = interestDays;
+        this.balances = balances;
+    }
+
+    static TrialComputation of(RepayTrialResult result) {
+        return new TrialComputation(result.getPeriod(), result.getStartDate(), result.getDueDate(),
+                result.getOverdueDays(), result.getInterestDays(), SubjectBalances.of(result.getAmountDetail()));
+    }
+
+    Integer getPeriod() {
+        return period;
+    }
+
+    LocalDate getStartDate() {
+        return startDate;
+    }
+
+    LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    SubjectBalances getBalances() {
+        return balances;
+    }
+
+    RepayTrialResult toResult() {
+        RepayTrialResult result = new RepayTrialResult();
+        result.setPeriod(period);
+        result.setStartDate(startDate);
+        result.setDueDate(dueDate);
+        result.setOverdueDays(overdueDays);
+        result.setInterestDays(interestDays);
+        result.setAmountDetail(balances.toDetails());
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package com.scf.loan.bill.accrual;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AccrualLedgerTest {
+
+    private static final LocalDate LOAN_DATE = LocalDate.of(2026, 1, 1);
+
+    @Test
+    public void testPartialInterestCarriedForward() {
+        // 100 万元，日利率万分之五：10 天利息 5000 元，仅还 1000 元，再过 10 天未还利息 9000 元
+        AccrualLedger ledger = new AccrualLedger(1_000_000_00L, 50000L, 75000L, LOAN_DATE, LocalDate.of(2026, 3, 1));
+        ledger.record(AccrualEvent.repayment(LocalDate.of(2026, 1, 11), 0L, 1000_00L, 0L));
+
+        AccrualSnapshot snapshot = ledger.accrue(LocalDate.of(2026, 1, 21));
+
+        assertEquals(1_000_000_00L, snapshot.getPrincipal());
+        assertEquals(9000_00L, snapshot.getUnpaidInterest());
+        assertEquals(0L, snapshot.getUnpaidPenalty());
+        assertEquals(1, snapshot.getEventCount());
+    }
+
+    @Test
+    public void testPenaltyAfterStartDate() {
+        AccrualLedger ledger = new AccrualLedger(1_000_000L, 0L, 100000L, LOAN_DATE, LocalDate.of(2026, 1, 31));
+        ledger.record(AccrualEvent.repayment(LocalDate.of(2026, 2, 5), 500_000L, 0L, 2_000L));
+
+        AccrualSnapshot snapshot = ledger.accrue(LocalDate.of(2026, 2, 10));
+
+        // 1/31-2/5 按 100 万计 5 天罚息 5000，还 2000；2/5-2/10 按 50 万计 5 天罚息 2500
+        assertEquals(500_000L, snapshot.getPrincipal());
+        assertEquals(5_500L, snapshot.getUnpaidPenalty());
+    }
+
+    @Test
+    public void testIncrementalMatchesReplay() {
+        SplittableRandom random = new SplittableRandom(20260208L);
+        for (int interval : new int[]{1, 3, 16}) {
+            AccrualLedger ledger = new AccrualLedger(10_000_000L, 50000L, 75000L, LOAN_DATE,
+                    LOAN_DATE.plusDays(180), interval);
+            LocalDate date = LOAN_DATE;
+            for (int i = 0; i < 200; i++) {
+                date = date.plusDays(random.nextInt(0, 4));
+                AccrualSnapshot due = ledger.accrue(date);
+                ledger.record(AccrualEvent.repayment(date,
+                        random.nextLong(0L, due.getPrincipal() / 50 + 1),
+                        random.nextLong(0L, due.getUnpaidInterest() + 1),
+                        random.nextLong(0L, due.getUnpaidPenalty() + 1)));
+                LocalDate queryDate = LOAN_DATE.plusDays(random.nextInt(0, 500));
+                assertEquals(ledger.replay(queryDate), ledger.accrue(queryDate));
+            }
+            assertEquals(200, ledger.getEventCount());
+            assertEquals(200 / interval + 1, ledger.getSnapshotCount());
+        }
+    }
+
+    @Test
+    public void testBackdatedEvent() {
+        AccrualLedger ledger = new AccrualLedger(1_000_000L, 50000L, 75000L, LOAN_DATE, LOAN_DATE.plusDays(30));
+        ledger.record(AccrualEvent.repayment(LocalDate.of(2026, 1, 20), 100_000L, 500L, 0L));
+        ledger.record(AccrualEvent.repayment(LocalDate.of(2026, 2, 20), 100_000L, 1_000L, 100L));
+        LocalDate queryDate = LocalDate.of(2026, 3, 1);
+        AccrualSnapshot before = ledger.accrue(queryDate);
+
+        ledger.record(AccrualEvent.repayment(LocalDate.of(2026, 1, 10), 0L, 100L, 0L));
+
+        AccrualSnapshot after = ledger.accrue(queryDate);
+        assertEquals(ledger.replay(queryDate), after);
+        assertEquals(before.getUnpaidInterest() - 100L, after.getUnpaidInterest());
+        assertEquals(3, after.getEventCount());
+    }
+
+    @Test
+    public void testRejectOverpayment() {
+        AccrualLedger ledger = new AccrualLedger(1_000_000L, 50000L, 75000L, LOAN_DATE, LOAN_DATE.plusDays(30));
+        ledger.record(AccrualEvent.repayment(LocalDate.of(2026, 1, 20), 0L, 9_000L, 0L));
+        LocalDate queryDate = LocalDate.of(2026, 1, 25);
+        AccrualSnapshot before = ledger.accrue(queryDate);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.record(AccrualEvent.repayment(LocalDate.of(2026, 1, 21), 0L, 2_000L, 0L)));
+        // 插入后使后续事件超额冲抵，整体回滚
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.record(AccrualEvent.repayment(LocalDate.of(2026, 1, 15), 0L, 5_000L, 0L)));
+        assertThrows(IllegalArgumentException.class, () -> ledger.accrue(LOAN_DATE.minusDays(1)));
+
+        assertEquals(1, ledger.getEventCount());
+        assertEquals(before, ledger.accrue(queryDate));
+    }
+}
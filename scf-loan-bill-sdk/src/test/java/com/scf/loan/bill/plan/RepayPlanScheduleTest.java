@@ -0,0 +1,102 @@
+package com.scf.loan.bill.plan;
+
+import com.scf.loan.common.dto.RepayPlanItem;
+import com.scf.loan.common.dto.RepayPlanSubjectDetail;
+import com.scf.loan.common.enums.ChargeSubject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RepayPlanScheduleTest {
+
+    @Test
+    public void testAsItemsView() {
+        RepayPlanSchedule schedule = buildSchedule();
+
+        List<RepayPlanItem> items = schedule.asItems();
+
+        assertEquals(2, items.size());
+        RepayPlanItem second = items.get(1);
+        assertEquals(2, second.getPeriod());
+        assertEquals(LocalDate.of(2026, 2, 2), second.getStartDate());
+        assertEquals(LocalDate.of(2026, 2, 3), second.getDueDate());
+        assertEquals(60L, getAmount(second, ChargeSubject.PRINCIPAL));
+        assertEquals(5L, getAmount(second, ChargeSubject.INTEREST));
+        assertSame(second, items.get(1));
+        assertNotSame(items, schedule.asItems());
+    }
+
+    @Test
+    public void testAsItemsIsolatedPerCall() {
+        RepayPlanSchedule schedule = buildSchedule();
+
+        RepayPlanItem first = schedule.asItems().get(0);
+        first.setPeriod(99);
+        first.getAmountDetail().clear();
+
+        RepayPlanItem fresh = schedule.asItems().get(0);
+        assertNotSame(first, fresh);
+        assertEquals(1, fresh.getPeriod());
+        assertEquals(40L, getAmount(fresh, ChargeSubject.PRINCIPAL));
+    }
+
+    @Test
+    public void testOfItems() {
+        RepayPlanSchedule schedule = RepayPlanSchedule.of(buildSchedule().asItems());
+
+        assertEquals(2, schedule.getPeriodCount());
+        assertEquals(40L, schedule.getPrincipal(0));
+        assertEquals(10L, schedule.getInterest(0));
+        assertEquals(LocalDate.of(2026, 2, 1), schedule.getStartDate(0));
+        assertEquals(LocalDate.of(2026, 2, 3), schedule.getDueDate(1));
+    }
+
+    @Test
+    public void testFindIndex() {
+        RepayPlanSchedule schedule = buildSchedule();
+        int loanEpochDay = (int) LocalDate.of(2026, 2, 1).toEpochDay();
+
+        assertEquals(0, schedule.findIndex(loanEpochDay - 10));
+        assertEquals(0, schedule.findIndex(loanEpochDay));
+        assertEquals(0, schedule.findIndex(loanEpochDay + 1));
+        assertEquals(1, schedule.findIndex(loanEpochDay + 2));
+        assertEquals(1, schedule.findIndex(loanEpochDay + 10));
+        assertEquals(1, schedule.indexOfPeriod(2));
+        assertEquals(-1, schedule.indexOfPeriod(3));
+        assertEquals(-1, new RepayPlanSchedule(0).findIndex(loanEpochDay));
+    }
+
+    @Test
+    public void testPrincipalThrough() {
+        RepayPlanSchedule schedule = buildSchedule();
+
+        assertEquals(0L, schedule.getPrincipalThrough(0));
+        assertEquals(40L, schedule.getPrincipalThrough(1));
+        assertEquals(100L, schedule.getPrincipalThrough(2));
+        assertEquals(100L, schedule.getPrincipalThrough(5));
+        schedule.set(1, schedule.getStartEpochDay(1), schedule.getDueEpochDay(1), 70L, 5L);
+        assertEquals(110L, schedule.getPrincipalThrough(2));
+    }
+
+    private RepayPlanSchedule buildSchedule() {
+        int loanEpochDay = (int) LocalDate.of(2026, 2, 1).toEpochDay();
+        RepayPlanSchedule schedule = new RepayPlanSchedule(2);
+        schedule.set(0, loanEpochDay, loanEpochDay + 1, 40L, 10L);
+        schedule.set(1, loanEpochDay + 1, loanEpochDay + 2, 60L, 5L);
+        return schedule;
+    }
+
+    private long getAmount(RepayPlanItem item, ChargeSubject subject) {
+        for (RepayPlanSubjectDetail detail : item.getAmountDetail()) {
+            if (detail != null && subject == detail.getSubject()) {
+                return detail.getAmount();
+            }
+        }
+        return 0L;
+    }
+}
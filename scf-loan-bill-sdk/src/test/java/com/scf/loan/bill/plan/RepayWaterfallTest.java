@@ -0,0 +1,50 @@
+package com.scf.loan.bill.plan;
+
+import com.scf.loan.common.enums.ChargeSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RepayWaterfallTest {
+
+    @Test
+    public void testUnlistedSubjectsFollowInDeclarationOrder() {
+        RepayWaterfall waterfall = RepayWaterfall.of(ChargeSubject.GUARANTEE_FEE, ChargeSubject.PRINCIPAL);
+
+        assertEquals(Arrays.asList(ChargeSubject.GUARANTEE_FEE, ChargeSubject.PRINCIPAL, ChargeSubject.INTEREST,
+                ChargeSubject.PENALTY, ChargeSubject.OTHER), waterfall.getSubjects());
+        assertThrows(IllegalArgumentException.class,
+                () -> RepayWaterfall.of(ChargeSubject.INTEREST, ChargeSubject.INTEREST));
+    }
+
+    @Test
+    public void testAllocateFollowsOrderAndStopsWhenExhausted() {
+        long[] unpaid = row(100L, 30L, 20L, 10L, 0L);
+        long[] paid = new long[RepayWaterfall.SUBJECT_COUNT];
+
+        long remaining = RepayWaterfall.DEFAULT.allocate(unpaid, 0, 45L, paid);
+
+        assertEquals(0L, remaining);
+        assertArrayEquals(row(0L, 30L, 15L, 0L, 0L), paid);
+        assertArrayEquals(row(100L, 0L, 5L, 10L, 0L), unpaid);
+        List<RepayTrialSubjectAmount> amounts = RepayWaterfall.DEFAULT.toAmounts(paid, 0);
+        assertEquals(2, amounts.size());
+        assertEquals(ChargeSubject.INTEREST, amounts.get(0).getSubject());
+        assertEquals(15L, amounts.get(1).getAmount());
+    }
+
+    private static long[] row(long principal, long interest, long penalty, long guaranteeFee, long other) {
+        long[] row = new long[RepayWaterfall.SUBJECT_COUNT];
+        row[ChargeSubject.PRINCIPAL.ordinal()] = principal;
+        row[ChargeSubject.INTEREST.ordinal()] = interest;
+        row[ChargeSubject.PENALTY.ordinal()] = penalty;
+        row[ChargeSubject.GUARANTEE_FEE.ordinal()] = guaranteeFee;
+        row[ChargeSubject.OTHER.ordinal()] = other;
+        return row;
+    }
+}
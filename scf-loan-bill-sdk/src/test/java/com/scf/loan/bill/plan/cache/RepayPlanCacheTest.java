@@ -0,0 +1,125 @@
+package com.scf.loan.bill.plan.cache;
+
+import com.scf.loan.bill.plan.ChargeRate;
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+import com.scf.loan.bill.plan.enums.RateUnit;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.common.enums.ChargeSubject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RepayPlanCacheTest {
+
+    @Test
+    public void testHitAndMiss() {
+        RepayPlanCache cache = new RepayPlanCache(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        RepayPlanSchedule first = cache.get(RepayPlanCacheKey.of(buildRequest(100L)), k -> load(loads));
+        RepayPlanSchedule second = cache.get(RepayPlanCacheKey.of(buildRequest(100L)), k -> load(loads));
+        RepayPlanSchedule other = cache.get(RepayPlanCacheKey.of(buildRequest(200L)), k -> load(loads));
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, loads.get());
+        RepayPlanCacheStats stats = cache.stats();
+        assertEquals(1L, stats.getHitCount());
+        assertEquals(2L, stats.getMissCount());
+        assertEquals(0L, stats.getEvictionCount());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    public void testSizeEviction() {
+        RepayPlanCache cache = new RepayPlanCache(2, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        RepayPlanCacheKey first = RepayPlanCacheKey.of(buildRequest(100L));
+        RepayPlanCacheKey second = RepayPlanCacheKey.of(buildRequest(200L));
+
+        cache.get(first, k -> load(loads));
+        cache.get(second, k -> load(loads));
+        cache.get(first, k -> load(loads));
+        cache.get(RepayPlanCacheKey.of(buildRequest(300L)), k -> load(loads));
+        cache.get(first, k -> load(loads));
+        cache.get(second, k -> load(loads));
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(2L, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void testTtlEviction() {
+        AtomicLong clock = new AtomicLong();
+        RepayPlanCache cache = new RepayPlanCache(10, Duration.ofSeconds(10), clock::get);
+        AtomicInteger loads = new AtomicInteger();
+        RepayPlanCacheKey key = RepayPlanCacheKey.of(buildRequest(100L));
+
+        RepayPlanSchedule first = cache.get(key, k -> load(loads));
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertSame(first, cache.get(key, k -> load(loads)));
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertNotSame(first, cache.get(key, k -> load(loads)));
+
+        assertEquals(2, loads.get());
+        assertEquals(1L, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void testKeyEconomics() {
+        RepayPlanRequest request = buildRequest(100L);
+        RepayPlanCacheKey key = RepayPlanCacheKey.of(request);
+
+        RepayPlanRequest sameEconomics = buildRequest(100L);
+        assertEquals(key, RepayPlanCacheKey.of(sameEconomics));
+        assertEquals(key.hashCode(), RepayPlanCacheKey.of(sameEconomics).hashCode());
+
+        RepayPlanRequest otherRate = buildRequest(100L);
+        otherRate.getChargeRates().get(0).setRateValue(2L);
+        assertNotEquals(key, RepayPlanCacheKey.of(otherRate));
+
+        RepayPlanRequest otherRoute = buildRequest(100L);
+        otherRoute.setInterestType("FIXED");
+        assertNotEquals(key, RepayPlanCacheKey.of(otherRoute));
+
+        request.setPrincipal(999L);
+        assertEquals(RepayPlanCacheKey.of(sameEconomics), key);
+
+        request.setLoanDate(null);
+        assertNull(RepayPlanCacheKey.of(request));
+    }
+
+    private RepayPlanSchedule load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new RepayPlanSchedule(1);
+    }
+
+    private RepayPlanRequest buildRequest(long principal) {
+        RepayPlanRequest request = new RepayPlanRequest();
+        request.setRepayMethod(RepayMethod.EQUAL_PRINCIPAL);
+        request.setPrincipal(principal);
+        request.setDailyRate(50000L);
+        request.setPenaltyDailyRate(75000L);
+        request.setLoanDate(LocalDate.of(2026, 2, 1));
+        request.setPeriodDays(30);
+        request.setPeriodCount(12);
+        ChargeRate chargeRate = new ChargeRate();
+        chargeRate.setSubject(ChargeSubject.GUARANTEE_FEE);
+        chargeRate.setRateUnit(RateUnit.DAILY);
+        chargeRate.setRateValue(1L);
+        request.setChargeRates(Collections.singletonList(chargeRate));
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package com.scf.loan.bill.plan.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AnnuityPowerTableTest {
+
+    private static final int[] PERIOD_COUNTS = {1, 2, 12, 36, 60, 120, 360};
+
+    @Test
+    public void testInstallmentMatchesExact() {
+        AnnuityPowerTable table = new AnnuityPowerTable();
+        SplittableRandom random = new SplittableRandom(20260205L);
+        for (int i = 0; i < 10_000; i++) {
+            long principal = random.nextLong(1L, 1_0000_0000_0000L);
+            long periodRate = random.nextLong(1L, 100_0000L) * random.nextInt(1, 32);
+            int periodCount = i % 10 == 0 ? random.nextInt(1, 361) : PERIOD_COUNTS[random.nextInt(PERIOD_COUNTS.length)];
+            assertInstallment(table, principal, periodRate, periodCount);
+        }
+    }
+
+    @Test
+    public void testLowPrecisionFallsBackToExact() {
+        AnnuityPowerTable table = new AnnuityPowerTable(20, 4);
+        SplittableRandom random = new SplittableRandom(20260206L);
+        for (int i = 0; i < 2_000; i++) {
+            long principal = random.nextLong(1L, Long.MAX_VALUE / 1_0000_0000L);
+            long periodRate = random.nextLong(1L, 1_0000_0000L);
+            int periodCount = PERIOD_COUNTS[random.nextInt(PERIOD_COUNTS.length)];
+            assertInstallment(table, principal, periodRate, periodCount);
+        }
+        assertTrue(table.size() <= 4);
+    }
+
+    @Test
+    public void testEdgeRates() {
+        AnnuityPowerTable table = new AnnuityPowerTable();
+        for (int periodCount : PERIOD_COUNTS) {
+            assertInstallment(table, 1L, 1L, periodCount);
+            assertInstallment(table, 100L, 1_0000_0000L, periodCount);
+            assertInstallment(table, 1_000_000L, 50000L * 30, periodCount);
+            assertInstallment(table, 999_999_999_999L, 1L, periodCount);
+        }
+        assertInstallment(table, 100L, 10_0000_0000L, 2000);
+        assertThrows(IllegalArgumentException.class, () -> table.installment(0L, 1L, 1));
+    }
+
+    private void assertInstallment(AnnuityPowerTable table, long principal, long periodRate, int periodCount) {
+        assertEquals(AnnuityPowerTable.exactInstallment(principal, periodRate, periodCount),
+                table.installment(principal, periodRate, periodCount),
+                () -> "principal=" + principal + ", periodRate=" + periodRate + ", periodCount=" + periodCount);
+    }
+}
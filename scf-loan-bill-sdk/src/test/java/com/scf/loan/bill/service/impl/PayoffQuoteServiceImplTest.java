@@ -0,0 +1,213 @@
+package com.scf.loan.bill.service.impl;
+
+import com.scf.loan.bill.plan.ChargeRate;
+import com.scf.loan.bill.plan.PayoffQuote;
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
+import com.scf.loan.bill.plan.RepayRequest;
+import com.scf.loan.bill.plan.RepayResult;
+import com.scf.loan.bill.plan.RepayTrialRequest;
+import com.scf.loan.bill.plan.RepayTrialScheduleItem;
+import com.scf.loan.bill.plan.RepayTrialSubjectAmount;
+import com.scf.loan.bill.plan.enums.RateUnit;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.bill.plan.strategy.EqualPrincipalInterestStrategy;
+import com.scf.loan.bill.plan.strategy.EqualPrincipalStrategy;
+import com.scf.loan.bill.plan.strategy.InterestFirstPrincipalLastStrategy;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.common.dto.RepayPlanItem;
+import com.scf.loan.common.enums.ChargeSubject;
+import com.scf.loan.common.utils.scf.ScfInterestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PayoffQuoteServiceImplTest {
+
+    private final RepayPlanServiceImpl planService = new RepayPlanServiceImpl(new RepayPlanStrategyRouter(
+            Arrays.asList(new EqualPrincipalStrategy(), new EqualPrincipalInterestStrategy(),
+                    new InterestFirstPrincipalLastStrategy())));
+    private final PayoffQuoteServiceImpl quoteService = new PayoffQuoteServiceImpl(planService);
+
+    @Test
+    public void testQuoteAccruesInterestWithinFirstPeriod() {
+        PayoffQuote quote = quoteService.quote(buildRequest(LocalDate.of(2026, 2, 11)));
+
+        long interest = ScfInterestUtils.calculateUnpaidInterest(1_000_000L, 1_0000_0000L, 10);
+        assertEquals(1_000_000L, quote.getPrincipal());
+        assertEquals(interest, quote.getInterest());
+        assertEquals(0L, quote.getPenalty());
+        assertEquals(ChargeSubject.GUARANTEE_FEE, quote.getFeeDetails().get(0).getSubject());
+        long fee = quote.getFeeDetails().get(0).getAmount();
+        assertTrue(fee > 0);
+        assertEquals(1_000_000L + interest + fee, quote.getTotalAmount());
+    }
+
+    @Test
+    public void testQuoteAfterMaturityChargesScheduledInterestAndPenalty() {
+        RepayTrialRequest request = buildRequest(LocalDate.of(2026, 4, 10));
+        RepayPlanSchedule schedule = planService.generateSchedule(request);
+        RepayTrialScheduleItem first = new RepayTrialScheduleItem();
+        first.setPeriod(1);
+        first.setStartDate(schedule.getStartDate(0));
+        first.setDueDate(schedule.getDueDate(0));
+        first.setRepaidDetails(Arrays.asList(amount(ChargeSubject.PRINCIPAL, schedule.getPrincipal(0)),
+                amount(ChargeSubject.INTEREST, schedule.getInterest(0))));
+        request.setPeriodDetails(Collections.singletonList(first));
+
+        PayoffQuote quote = quoteService.quote(request);
+
+        int penaltyDays = (int) (request.getTrialDate().toEpochDay() - schedule.getDueEpochDay(1));
+        assertEquals(schedule.getPrincipal(1), quote.getPrincipal());
+        assertEquals(schedule.getInterest(1), quote.getInterest());
+        assertEquals(ScfInterestUtils.calculateUnpaidInterest(schedule.getPrincipal(1), 2_0000_0000L, penaltyDays),
+                quote.getPenalty());
+    }
+
+    @Test
+    public void testQuoteAccruesOnlyOnPrincipalNotYetRepaid() {
+        RepayTrialRequest request = buildRequest(LocalDate.of(2026, 2, 11));
+        RepayPlanSchedule schedule = planService.generateSchedule(request);
+        RepayTrialScheduleItem first = new RepayTrialScheduleItem();
+        first.setPeriod(1);
+        first.setStartDate(schedule.getStartDate(0));
+        first.setDueDate(schedule.getDueDate(0));
+        first.setRepaidDetails(Collections.singletonList(amount(ChargeSubject.PRINCIPAL, 200_000L)));
+        request.setPeriodDetails(Collections.singletonList(first));
+
+        PayoffQuote quote = quoteService.quote(request);
+
+        assertEquals(800_000L, quote.getPrincipal());
+        assertEquals(ScfInterestUtils.calculateUnpaidInterest(800_000L, 1_0000_0000L, 10), quote.getInterest());
+    }
+
+    @Test
+    public void testQuoteMatchesRepayOutstandingWhenEarlierPeriodOverdue() {
+        RepayTrialServiceImpl trialService = new RepayTrialServiceImpl(planService);
+        // 第一期逾期 40 天，第二期已到期，第三期未到期
+        RepayRequest request = buildOverdueRequest(LocalDate.of(2026, 3, 12));
+        long penalty = 0L;
+        long fee = 0L;
+        for (TrialComputation period : trialService.computeOutstanding(request)) {
+            penalty += period.getBalances().unpaid(ChargeSubject.PENALTY);
+            fee += period.getBalances().unpaid(ChargeSubject.GUARANTEE_FEE);
+        }
+
+        PayoffQuote quote = quoteService.quote(request);
+
+        assertEquals(12000L, penalty);
+        assertEquals(penalty, quote.getPenalty().longValue());
+        assertEquals(fee, quote.getFeeDetails().get(0).getAmount().longValue());
+
+        request = buildOverdueRequest(LocalDate.of(2026, 4, 20));
+        long payoff = quoteService.quote(request).getTotalAmount();
+        request.setRepayAmount(payoff);
+        List<RepayResult> results = new RepayServiceImpl(trialService).repayOutstanding(request);
+
+        assertEquals(3, results.size());
+        long repaid = 0L;
+        for (RepayResult result : results) {
+            repaid += result.getRepayAmount();
+        }
+        assertEquals(payoff, repaid);
+        assertEquals(0L, results.get(2).getRemainingAmount());
+        RepayRequest excess = buildOverdueRequest(LocalDate.of(2026, 4, 20));
+        excess.setRepayAmount(payoff + 1);
+        assertThrows(IllegalArgumentException.class, () -> new RepayServiceImpl(trialService).repayOutstanding(excess));
+    }
+
+    @Test
+    public void testQuoteRangeMatchesDailyQuotesWithOnePlan() {
+        AtomicInteger plans = new AtomicInteger();
+        PayoffQuoteServiceImpl countingService = new PayoffQuoteServiceImpl(new RepayPlanService() {
+            @Override
+            public List<RepayPlanItem> generatePlan(RepayPlanRequest request) {
+                return planService.generatePlan(request);
+            }
+
+            @Override
+            public RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
+                plans.incrementAndGet();
+                return planService.generateSchedule(request);
+            }
+        });
+        LocalDate from = LocalDate.of(2026, 2, 20);
+        RepayTrialRequest request = buildRequest(from);
+        request.setRepayDates(Collections.singletonList(LocalDate.of(2026, 3, 8)));
+
+        List<PayoffQuote> quotes = countingService.quoteRange(request, from.plusDays(29));
+
+        assertEquals(1, plans.get());
+        assertEquals(30, quotes.size());
+        for (int i = 0; i < quotes.size(); i++) {
+            RepayTrialRequest single = buildRequest(from.plusDays(i));
+            single.setRepayDates(request.getRepayDates());
+            assertEquals(quoteService.quote(single), quotes.get(i));
+        }
+    }
+
+    @Test
+    public void testQuoteRangeRejectsInvalidRange() {
+        RepayTrialRequest request = buildRequest(LocalDate.of(2026, 2, 20));
+
+        assertThrows(IllegalArgumentException.class, () -> quoteService.quoteRange(request, LocalDate.of(2026, 2, 19)));
+        assertThrows(IllegalArgumentException.class, () -> quoteService.quoteRange(request,
+                request.getTrialDate().plusDays(PayoffQuoteServiceImpl.MAX_RANGE_DAYS)));
+    }
+
+    private static RepayTrialRequest buildRequest(LocalDate trialDate) {
+        RepayTrialRequest request = new RepayTrialRequest();
+        request.setRepayMethod(RepayMethod.EQUAL_PRINCIPAL);
+        request.setPrincipal(1_000_000L);
+        request.setDailyRate(1_0000_0000L);
+        request.setPenaltyDailyRate(2_0000_0000L);
+        request.setLoanDate(LocalDate.of(2026, 2, 1));
+        request.setPeriodDays(30);
+        request.setPeriodCount(2);
+        request.setTrialDate(trialDate);
+        ChargeRate guaranteeFee = new ChargeRate();
+        guaranteeFee.setSubject(ChargeSubject.GUARANTEE_FEE);
+        guaranteeFee.setRateUnit(RateUnit.DAILY);
+        guaranteeFee.setRateValue(1_0000_0000L);
+        request.setChargeRates(Collections.singletonList(guaranteeFee));
+        return request;
+    }
+
+    /**
+     * 30 万三期等额本金，罚息日利率千分之一，担保费按期计算可整除，便于与还款逐分核对
+     */
+    private static RepayRequest buildOverdueRequest(LocalDate trialDate) {
+        RepayRequest request = new RepayRequest();
+        request.setRepayMethod(RepayMethod.EQUAL_PRINCIPAL);
+        request.setPrincipal(300_000L);
+        request.setDailyRate(50000L);
+        request.setPenaltyDailyRate(100000L);
+        request.setLoanDate(LocalDate.of(2026, 1, 1));
+        request.setPeriodDays(30);
+        request.setPeriodCount(3);
+        request.setTrialDate(trialDate);
+        ChargeRate guaranteeFee = new ChargeRate();
+        guaranteeFee.setSubject(ChargeSubject.GUARANTEE_FEE);
+        guaranteeFee.setRateUnit(RateUnit.DAILY);
+        guaranteeFee.setRateValue(10000L);
+        request.setChargeRates(Collections.singletonList(guaranteeFee));
+        request.setRepayAmount(1L);
+        return request;
+    }
+
+    private static RepayTrialSubjectAmount amount(ChargeSubject subject, long value) {
+        RepayTrialSubjectAmount amount = new RepayTrialSubjectAmount();
+        amount.setSubject(subject);
+        amount.setAmount(value);
+        return amount;
+    }
+}
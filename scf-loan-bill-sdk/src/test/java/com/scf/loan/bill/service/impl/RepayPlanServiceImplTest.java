@@ -1,6 +1,7 @@
 package com.scf.loan.bill.service.impl;
 
 import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
 import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
 import com.scf.loan.bill.plan.strategy.EqualPrincipalInterestStrategy;
 import com.scf.loan.bill.plan.strategy.EqualPrincipalStrategy;
@@ -74,6 +75,32 @@ public class RepayPlanServiceImplTest {
         assertEquals(100L, getAmount(second, ChargeSubject.INTEREST));
     }
 
+    @Test
+    public void testGenerateScheduleMatchesPlan() {
+        RepayPlanServiceImpl service = buildService();
+        RepayPlanRequest request = buildRequest(RepayMethod.EQUAL_PRINCIPAL_INTEREST);
+        request.setPrincipal(1_000_000L);
+        request.setDailyRate(50000L);
+        request.setPeriodDays(30);
+        request.setPeriodCount(12);
+
+        RepayPlanSchedule schedule = service.generateSchedule(request);
+        List<RepayPlanItem> items = service.generatePlan(request);
+
+        assertEquals(items.size(), schedule.getPeriodCount());
+        long totalPrincipal = 0L;
+        for (int index = 0; index < schedule.getPeriodCount(); index++) {
+            RepayPlanItem item = items.get(index);
+            assertEquals(item.getPeriod(), schedule.getPeriod(index));
+            assertEquals(item.getStartDate(), schedule.getStartDate(index));
+            assertEquals(item.getDueDate(), schedule.getDueDate(index));
+            assertEquals(getAmount(item, ChargeSubject.PRINCIPAL), schedule.getPrincipal(index));
+            assertEquals(getAmount(item, ChargeSubject.INTEREST), schedule.getInterest(index));
+            totalPrincipal += schedule.getPrincipal(index);
+        }
+        assertEquals(1_000_000L, totalPrincipal);
+    }
+
     @Test
     public void testGeneratePlanWithInvalidParams() {
         RepayPlanServiceImpl service = buildService();
@@ -0,0 +1,321 @@
+package com.scf.loan.bill.service.impl;
+
+import com.scf.loan.bill.plan.ChargeRate;
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
+import com.scf.loan.bill.plan.RepayRequest;
+import com.scf.loan.bill.plan.RepayResult;
+import com.scf.loan.bill.plan.RepayTrialBatchResult;
+import com.scf.loan.bill.plan.RepayTrialRequest;
+import com.scf.loan.bill.plan.RepayTrialResult;
+import com.scf.loan.bill.plan.RepayTrialScheduleItem;
+import com.scf.loan.bill.plan.RepayTrialSubjectAmount;
+import com.scf.loan.bill.plan.RepayTrialSubjectDetail;
+import com.scf.loan.bill.plan.RepayWaterfall;
+import com.scf.loan.bill.plan.enums.RateUnit;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.bill.plan.strategy.EqualPrincipalInterestStrategy;
+import com.scf.loan.bill.plan.strategy.EqualPrincipalStrategy;
+import com.scf.loan.bill.plan.strategy.InterestFirstPrincipalLastStrategy;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.bill.service.RepayTrialService;
+import com.scf.loan.common.dto.RepayPlanItem;
+import com.scf.loan.common.enums.ChargeSubject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RepayServiceImplTest {
+
+    private final RepayPlanServiceImpl planService = new RepayPlanServiceImpl(new RepayPlanStrategyRouter(
+            Arrays.asList(new EqualPrincipalStrategy(), new EqualPrincipalInterestStrategy(),
+                    new InterestFirstPrincipalLastStrategy())));
+    private final RepayTrialServiceImpl trialService = new RepayTrialServiceImpl(planService);
+
+    @Test
+    public void testRepayAllocatesByPriorityThenOtherSubjects() {
+        RepayTrialResult trial = trialService.trial(buildRequest(1L));
+        long interest = unpaid(trial, ChargeSubject.INTEREST);
+        long penalty = unpaid(trial, ChargeSubject.PENALTY);
+        long principal = unpaid(trial, ChargeSubject.PRINCIPAL);
+        long fee = unpaid(trial, ChargeSubject.GUARANTEE_FEE);
+        assertTrue(interest > 0 && penalty > 0 && principal > 0 && fee > 0);
+
+        RepayResult result = new RepayServiceImpl(trialService)
+                .repay(buildRequest(interest + penalty + principal + fee));
+
+        assertEquals(0L, result.getRemainingAmount());
+        List<RepayTrialSubjectAmount> paid = result.getRepayDetails();
+        assertEquals(Arrays.asList(ChargeSubject.INTEREST, ChargeSubject.PENALTY, ChargeSubject.PRINCIPAL,
+                ChargeSubject.GUARANTEE_FEE), Arrays.asList(paid.get(0).getSubject(), paid.get(1).getSubject(),
+                paid.get(2).getSubject(), paid.get(3).getSubject()));
+        assertEquals(fee, paid.get(3).getAmount());
+        for (RepayTrialSubjectDetail detail : result.getAmountDetail()) {
+            assertEquals(0L, detail.getUnpaidAmount());
+        }
+    }
+
+    @Test
+    public void testPartialRepayStopsAtPenalty() {
+        RepayTrialResult trial = trialService.trial(buildRequest(1L));
+        long interest = unpaid(trial, ChargeSubject.INTEREST);
+
+        RepayResult result = new RepayServiceImpl(trialService).repay(buildRequest(interest + 1));
+
+        assertEquals(2, result.getRepayDetails().size());
+        assertEquals(1L, result.getRepayDetails().get(1).getAmount());
+        assertEquals(unpaid(trial, ChargeSubject.PENALTY) - 1, unpaid(result.getAmountDetail(), ChargeSubject.PENALTY));
+    }
+
+    @Test
+    public void testRepayRequiresInterestSettled() {
+        RepayServiceImpl repayService = new RepayServiceImpl(trialService);
+
+        assertThrows(IllegalArgumentException.class, () -> repayService.repay(buildRequest(1L)));
+    }
+
+    @Test
+    public void testWaterfallConfiguredByRepayMethod() {
+        RepayTrialResult trial = trialService.trial(buildRequest(1L));
+        long interest = unpaid(trial, ChargeSubject.INTEREST);
+        long fee = unpaid(trial, ChargeSubject.GUARANTEE_FEE);
+        RepayServiceImpl repayService = new RepayServiceImpl(trialService, RepayWaterfall.DEFAULT,
+                Collections.singletonMap(RepayMethod.EQUAL_PRINCIPAL,
+                        RepayWaterfall.of(ChargeSubject.INTEREST, ChargeSubject.GUARANTEE_FEE)));
+
+        RepayResult result = repayService.repay(buildRequest(interest + fee));
+
+        assertEquals(Arrays.asList(ChargeSubject.INTEREST, ChargeSubject.GUARANTEE_FEE),
+                Arrays.asList(result.getRepayDetails().get(0).getSubject(), result.getRepayDetails().get(1).getSubject()));
+        assertEquals(0L, unpaid(result.getAmountDetail(), ChargeSubject.GUARANTEE_FEE));
+        assertEquals(unpaid(trial, ChargeSubject.PENALTY), unpaid(result.getAmountDetail(), ChargeSubject.PENALTY));
+    }
+
+    @Test
+    public void testRepayOutstandingSettlesOldestPeriodFirstWithOnePlan() {
+        AtomicInteger plans = new AtomicInteger();
+        RepayTrialServiceImpl countingTrialService = new RepayTrialServiceImpl(new RepayPlanService() {
+            @Override
+            public List<RepayPlanItem> generatePlan(RepayPlanRequest request) {
+                return planService.generatePlan(request);
+            }
+
+            @Override
+            public RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
+                plans.incrementAndGet();
+                return planService.generateSchedule(request);
+            }
+        });
+        List<TrialComputation> periods = countingTrialService.computeOutstanding(buildRequest(1L));
+        assertEquals(2, periods.size());
+        long firstPeriod = periods.get(0).getBalances().totalUnpaid();
+        plans.set(0);
+
+        List<RepayResult> results = new RepayServiceImpl(countingTrialService).repayOutstanding(buildRequest(firstPeriod + 10L));
+
+        assertEquals(1, plans.get());
+        assertEquals(2, results.size());
+        assertEquals(Integer.valueOf(1), results.get(0).getPeriod());
+        assertEquals(firstPeriod, results.get(0).getRepayAmount());
+        assertEquals(10L, results.get(0).getRemainingAmount());
+        for (RepayTrialSubjectDetail detail : results.get(0).getAmountDetail()) {
+            assertEquals(0L, detail.getUnpaidAmount());
+        }
+        assertEquals(Integer.valueOf(2), results.get(1).getPeriod());
+        assertEquals(10L, results.get(1).getRepayAmount());
+        assertEquals(0L, results.get(1).getRemainingAmount());
+        assertEquals(ChargeSubject.INTEREST, results.get(1).getRepayDetails().get(0).getSubject());
+    }
+
+    @Test
+    public void testRepayOutstandingSkipsSettledPeriodsAndRejectsExcess() {
+        RepayServiceImpl repayService = new RepayServiceImpl(trialService);
+        List<TrialComputation> periods = trialService.computeOutstanding(buildRequest(1L));
+        long total = periods.get(0).getBalances().totalUnpaid() + periods.get(1).getBalances().totalUnpaid();
+        assertThrows(IllegalArgumentException.class, () -> repayService.repayOutstanding(buildRequest(total + 1)));
+
+        RepayRequest request = buildRequest(1L);
+        request.setChargeRates(null);
+        List<TrialComputation> noFeePeriods = trialService.computeOutstanding(request);
+        request.setPeriodDetails(Arrays.asList(
+                scheduleItem(noFeePeriods.get(1), Collections.<RepayTrialSubjectAmount>emptyList()),
+                scheduleItem(noFeePeriods.get(0), repaidAll(noFeePeriods.get(0)))));
+        List<TrialComputation> outstanding = trialService.computeOutstanding(request);
+
+        assertEquals(1, outstanding.size());
+        assertEquals(Integer.valueOf(2), outstanding.get(0).getPeriod());
+    }
+
+    @Test
+    public void testRepayOutstandingChargesPenaltyAndFeesOnceOnOldestPeriod() {
+        List<TrialComputation> periods = trialService.computeOutstanding(buildOverdueRequest(LocalDate.of(2026, 3, 12)));
+
+        assertEquals(3, periods.size());
+        // 第一期逾期 40 天，按全部未还本金 30 万计罚息，担保费同一口径
+        assertEquals(12000L, periods.get(0).getBalances().unpaid(ChargeSubject.PENALTY));
+        assertEquals(900L, periods.get(0).getBalances().unpaid(ChargeSubject.GUARANTEE_FEE));
+        for (int i = 1; i < periods.size(); i++) {
+            assertEquals(0L, periods.get(i).getBalances().unpaid(ChargeSubject.PENALTY));
+            assertEquals(0L, periods.get(i).getBalances().unpaid(ChargeSubject.GUARANTEE_FEE));
+        }
+    }
+
+    @Test
+    public void testRepayOutstandingMatchesRepayWhenOnePeriodOutstanding() {
+        RepayServiceImpl repayService = new RepayServiceImpl(trialService);
+        for (RepayMethod method : Arrays.asList(RepayMethod.EQUAL_PRINCIPAL, RepayMethod.INTEREST_FIRST)) {
+            // 第一期已结清、试算日在第二期内；前两期已结清、最后一期逾期
+            for (RepayRequest request : Arrays.asList(settledThrough(LocalDate.of(2026, 2, 10), method, 1),
+                    settledThrough(LocalDate.of(2026, 4, 20), method, 2))) {
+                SubjectBalances balances = trialService.compute(request).getBalances();
+                assertTrue(balances.unpaid(ChargeSubject.GUARANTEE_FEE) > 0);
+                for (long amount : new long[]{balances.unpaid(ChargeSubject.INTEREST) + 1, balances.totalUnpaid()}) {
+                    request.setRepayAmount(amount);
+                    assertEquals(Collections.singletonList(repayService.repay(request)),
+                            repayService.repayOutstanding(request));
+                }
+            }
+        }
+        assertTrue(trialService.compute(settledThrough(LocalDate.of(2026, 4, 20), RepayMethod.INTEREST_FIRST, 2))
+                .getBalances().unpaid(ChargeSubject.PENALTY) > 0);
+    }
+
+    @Test
+    public void testForeignTrialServiceMatchesInternalPath() {
+        RepayTrialService foreign = new RepayTrialService() {
+            @Override
+            public RepayTrialResult trial(RepayTrialRequest request) {
+                return trialService.trial(request);
+            }
+
+            @Override
+            public List<RepayTrialBatchResult> trialBatch(List<RepayTrialRequest> requests) {
+                return trialService.trialBatch(requests);
+            }
+
+            @Override
+            public void trialBatch(List<RepayTrialRequest> requests, Consumer<RepayTrialBatchResult> consumer) {
+                trialService.trialBatch(requests, consumer);
+            }
+        };
+        long amount = unpaid(trialService.trial(buildRequest(1L)), ChargeSubject.INTEREST) + 500L;
+
+        assertEquals(new RepayServiceImpl(trialService).repay(buildRequest(amount)),
+                new RepayServiceImpl(foreign).repay(buildRequest(amount)));
+    }
+
+    private static RepayRequest buildRequest(long repayAmount) {
+        RepayRequest request = new RepayRequest();
+        request.setRepayMethod(RepayMethod.EQUAL_PRINCIPAL);
+        request.setPrincipal(1_000_000L);
+        request.setDailyRate(1_0000_0000L);
+        request.setPenaltyDailyRate(2_0000_0000L);
+        request.setLoanDate(LocalDate.of(2026, 2, 1));
+        request.setPeriodDays(30);
+        request.setPeriodCount(2);
+        request.setTrialDate(LocalDate.of(2026, 4, 10));
+        ChargeRate guaranteeFee = new ChargeRate();
+        guaranteeFee.setSubject(ChargeSubject.GUARANTEE_FEE);
+        guaranteeFee.setRateUnit(RateUnit.DAILY);
+        guaranteeFee.setRateValue(1_0000_0000L);
+        request.setChargeRates(Collections.singletonList(guaranteeFee));
+        request.setRepayAmount(repayAmount);
+        return request;
+    }
+
+    /**
+     * 30 万三期等额本金，罚息日利率千分之一，担保费按期计算可整除，便于与结清报价逐分核对
+     */
+    private static RepayRequest buildOverdueRequest(LocalDate trialDate) {
+        RepayRequest request = new RepayRequest();
+        request.setRepayMethod(RepayMethod.EQUAL_PRINCIPAL);
+        request.setPrincipal(300_000L);
+        request.setDailyRate(50000L);
+        request.setPenaltyDailyRate(100000L);
+        request.setLoanDate(LocalDate.of(2026, 1, 1));
+        request.setPeriodDays(30);
+        request.setPeriodCount(3);
+        request.setTrialDate(trialDate);
+        ChargeRate guaranteeFee = new ChargeRate();
+        guaranteeFee.setSubject(ChargeSubject.GUARANTEE_FEE);
+        guaranteeFee.setRateUnit(RateUnit.DAILY);
+        guaranteeFee.setRateValue(10000L);
+        request.setChargeRates(Collections.singletonList(guaranteeFee));
+        request.setRepayAmount(1L);
+        return request;
+    }
+
+    /**
+     * 前 settledPeriods 期本息已按计划结清，其余各期未还
+     */
+    private RepayRequest settledThrough(LocalDate trialDate, RepayMethod method, int settledPeriods) {
+        RepayRequest request = buildOverdueRequest(trialDate);
+        request.setRepayMethod(method);
+        RepayPlanSchedule schedule = planService.generateSchedule(request);
+        List<RepayTrialScheduleItem> periodDetails = new ArrayList<>();
+        for (int index = 0; index < schedule.getPeriodCount(); index++) {
+            RepayTrialScheduleItem item = new RepayTrialScheduleItem();
+            item.setPeriod(schedule.getPeriod(index));
+            item.setStartDate(schedule.getStartDate(index));
+            item.setDueDate(schedule.getDueDate(index));
+            item.setRepaidDetails(index < settledPeriods
+                    ? Arrays.asList(amount(ChargeSubject.PRINCIPAL, schedule.getPrincipal(index)),
+                    amount(ChargeSubject.INTEREST, schedule.getInterest(index)))
+                    : Collections.<RepayTrialSubjectAmount>emptyList());
+            periodDetails.add(item);
+        }
+        request.setPeriodDetails(periodDetails);
+        return request;
+    }
+
+    private static RepayTrialSubjectAmount amount(ChargeSubject subject, long value) {
+        RepayTrialSubjectAmount amount = new RepayTrialSubjectAmount();
+        amount.setSubject(subject);
+        amount.setAmount(value);
+        return amount;
+    }
+
+    private static RepayTrialScheduleItem scheduleItem(TrialComputation period, List<RepayTrialSubjectAmount> repaid) {
+        RepayTrialScheduleItem item = new RepayTrialScheduleItem();
+        item.setPeriod(period.getPeriod());
+        item.setStartDate(period.getStartDate());
+        item.setDueDate(period.getDueDate());
+        item.setRepaidDetails(repaid);
+        return item;
+    }
+
+    private static List<RepayTrialSubjectAmount> repaidAll(TrialComputation period) {
+        List<RepayTrialSubjectAmount> repaid = new ArrayList<>();
+        for (RepayTrialSubjectDetail detail : period.toResult().getAmountDetail()) {
+            RepayTrialSubjectAmount amount = new RepayTrialSubjectAmount();
+            amount.setSubject(detail.getSubject());
+            amount.setAmount(detail.getDueAmount());
+            repaid.add(amount);
+        }
+        return repaid;
+    }
+
+    private static long unpaid(RepayTrialResult result, ChargeSubject subject) {
+        return unpaid(result.getAmountDetail(), subject);
+    }
+
+    private static long unpaid(List<RepayTrialSubjectDetail> details, ChargeSubject subject) {
+        for (RepayTrialSubjectDetail detail : details) {
+            if (detail.getSubject() == subject) {
+                return detail.getUnpaidAmount();
+            }
+        }
+        return 0L;
+    }
+}
@@ -1,13 +1,18 @@
 package com.scf.loan.bill.service.impl;
 
 import com.scf.loan.bill.plan.ChargeRate;
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
 import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
+import com.scf.loan.bill.plan.RepayTrialBatchResult;
 import com.scf.loan.bill.plan.RepayTrialRequest;
 import com.scf.loan.bill.plan.RepayTrialResult;
 import com.scf.loan.bill.plan.RepayTrialScheduleItem;
 import com.scf.loan.bill.plan.RepayTrialSubjectAmount;
 import com.scf.loan.bill.plan.RepayTrialSubjectDetail;
 import com.scf.loan.bill.plan.enums.RateUnit;
+import com.scf.loan.bill.plan.cache.RepayPlanCache;
+import com.scf.loan.bill.plan.cache.RepayPlanCacheStats;
 import com.scf.loan.bill.plan.enums.RepayMethod;
 import com.scf.loan.common.enums.ChargeSubject;
 import com.scf.loan.bill.plan.strategy.EqualPrincipalInterestStrategy;
@@ -19,14 +24,21 @@ import com.scf.loan.common.dto.RepayPlanItem;
 import com.scf.loan.common.dto.RepayPlanSubjectDetail;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RepayTrialServiceImplTest {
 
@@ -176,6 +188,114 @@ public class RepayTrialServiceImplTest {
         assertEquals(0L, principalDetail.getRepaidAmount());
     }
 
+    @Test
+    public void testTrialReusesCachedPlan() {
+        RepayPlanCache cache = new RepayPlanCache(16, Duration.ofMinutes(1));
+        RepayTrialService service = new RepayTrialServiceImpl(new CachingRepayPlanServiceImpl(buildPlanService(), cache));
+        RepayTrialRequest first = buildRequest(RepayMethod.EQUAL_PRINCIPAL_INTEREST);
+        first.setTrialDate(LocalDate.of(2026, 2, 1));
+        RepayTrialRequest second = buildRequest(RepayMethod.EQUAL_PRINCIPAL_INTEREST);
+        second.setTrialDate(LocalDate.of(2026, 2, 3));
+
+        RepayTrialResult firstResult = service.trial(first);
+        RepayTrialResult secondResult = service.trial(second);
+
+        assertEquals(1, firstResult.getPeriod());
+        assertEquals(2, secondResult.getPeriod());
+        RepayPlanCacheStats stats = cache.stats();
+        assertEquals(1L, stats.getMissCount());
+        assertEquals(1L, stats.getHitCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void testTrialBatchPerItemResults() {
+        AtomicInteger planCount = new AtomicInteger();
+        RepayPlanService planService = buildPlanService();
+        RepayPlanService countingPlanService = new RepayPlanService() {
+            @Override
+            public List<RepayPlanItem> generatePlan(RepayPlanRequest request) {
+                return generateSchedule(request).asItems();
+            }
+
+            @Override
+            public RepayPlanSchedule generateSchedule(RepayPlanRequest request) {
+                planCount.incrementAndGet();
+                return planService.generateSchedule(request);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            RepayTrialService service = new RepayTrialServiceImpl(countingPlanService, executor, 3);
+            List<RepayTrialRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                RepayTrialRequest request = buildRequest(RepayMethod.EQUAL_PRINCIPAL);
+                request.setTrialDate(LocalDate.of(2026, 2, 1).plusDays(i % 3));
+                requests.add(request);
+            }
+            requests.get(5).setTrialDate(null);
+            requests.set(7, null);
+            requests.get(11).setPrincipal(0L);
+
+            List<RepayTrialBatchResult> results = service.trialBatch(requests);
+
+            assertEquals(20, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                RepayTrialBatchResult result = results.get(i);
+                assertEquals(i, result.getIndex());
+                if (i == 5 || i == 7 || i == 11) {
+                    assertFalse(result.getSuccess());
+                    assertNull(result.getResult());
+                    assertNotNull(result.getErrorType());
+                } else {
+                    assertTrue(result.getSuccess());
+                    assertEquals(service.trial(requests.get(i)).getAmountDetail(), result.getResult().getAmountDetail());
+                }
+            }
+            assertEquals("IllegalArgumentException", results.get(5).getErrorType());
+            assertEquals("ConstraintViolationException", results.get(11).getErrorType());
+        } finally {
+            executor.shutdown();
+        }
+        // 批次内 17 笔成功请求共享一份计划，另有一次失败的计划生成与 17 次逐笔比对
+        assertEquals(1 + 1 + 17, planCount.get());
+    }
+
+    @Test
+    public void testTrialLocatesPeriodOnLongTenor() {
+        RepayTrialService service = buildService();
+        RepayTrialRequest request = buildRequest(RepayMethod.EQUAL_PRINCIPAL);
+        request.setPrincipal(360_000L);
+        request.setDailyRate(50000L);
+        request.setPeriodCount(360);
+        request.setTrialDate(LocalDate.of(2026, 2, 1));
+        List<RepayPlanItem> planItems = buildPlanService().generatePlan(request);
+        List<RepayTrialScheduleItem> periodDetails = new ArrayList<>();
+        for (RepayPlanItem planItem : planItems) {
+            RepayTrialScheduleItem item = new RepayTrialScheduleItem();
+            item.setPeriod(planItem.getPeriod());
+            item.setStartDate(planItem.getStartDate());
+            item.setDueDate(planItem.getDueDate());
+            item.setRepaidDetails(new ArrayList<>());
+            periodDetails.add(item);
+        }
+
+        for (int offset = -3; offset <= 365; offset += 7) {
+            LocalDate trialDate = LocalDate.of(2026, 2, 1).plusDays(offset);
+            request.setTrialDate(trialDate);
+            request.setPeriodDetails(null);
+            RepayTrialResult fromPlan = service.trial(request);
+            request.setPeriodDetails(periodDetails);
+            RepayTrialResult fromDetails = service.trial(request);
+
+            int expectedPeriod = Math.min(360, Math.max(1, offset));
+            assertEquals(expectedPeriod, fromPlan.getPeriod());
+            assertEquals(expectedPeriod, fromDetails.getPeriod());
+            assertEquals(fromPlan.getAmountDetail(), fromDetails.getAmountDetail());
+            assertEquals(fromPlan.getOverdueDays(), fromDetails.getOverdueDays());
+        }
+    }
+
     private RepayTrialService buildService() {
         RepayPlanService repayPlanService = buildPlanService();
         return new RepayTrialServiceImpl(repayPlanService);
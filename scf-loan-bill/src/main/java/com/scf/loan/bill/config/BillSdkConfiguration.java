@@ -2,19 +2,36 @@ package com.scf.loan.bill.config;
 
 import com.scf.loan.bill.plan.RepayPlanStrategy;
 import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
+import com.scf.loan.bill.plan.RepayWaterfall;
+import com.scf.loan.bill.plan.cache.RepayPlanCache;
+import com.scf.loan.bill.plan.enums.RepayMethod;
 import com.scf.loan.bill.plan.strategy.EqualPrincipalInterestStrategy;
 import com.scf.loan.bill.plan.strategy.EqualPrincipalStrategy;
 import com.scf.loan.bill.plan.strategy.InterestFirstPrincipalLastStrategy;
+import com.scf.loan.bill.service.PayoffQuoteService;
 import com.scf.loan.bill.service.RepayPlanService;
 import com.scf.loan.bill.service.RepayService;
 import com.scf.loan.bill.service.RepayTrialService;
+import com.scf.loan.bill.service.impl.CachingRepayPlanServiceImpl;
+import com.scf.loan.bill.service.impl.PayoffQuoteServiceImpl;
 import com.scf.loan.bill.service.impl.RepayPlanServiceImpl;
 import com.scf.loan.bill.service.impl.RepayServiceImpl;
 import com.scf.loan.bill.service.impl.RepayTrialServiceImpl;
+import com.scf.loan.common.enums.ChargeSubject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class BillSdkConfiguration {
@@ -39,17 +56,62 @@ public class BillSdkConfiguration {
     }
 
     @Bean
-    public RepayPlanService repayPlanService(RepayPlanStrategyRouter router) {
-        return new RepayPlanServiceImpl(router);
+    public RepayPlanCache repayPlanCache(@Value("${scf.bill.plan-cache.maximum-size:10000}") int maximumSize,
+                                         @Value("${scf.bill.plan-cache.ttl-seconds:600}") long ttlSeconds) {
+        return new RepayPlanCache(maximumSize, Duration.ofSeconds(ttlSeconds));
     }
 
     @Bean
-    public RepayTrialService repayTrialService(RepayPlanService repayPlanService) {
-        return new RepayTrialServiceImpl(repayPlanService);
+    public RepayPlanService repayPlanService(RepayPlanStrategyRouter router, RepayPlanCache repayPlanCache) {
+        return new CachingRepayPlanServiceImpl(new RepayPlanServiceImpl(router), repayPlanCache);
     }
 
+    /**
+     * 批量试算执行器：fork-join 使用独立 ForkJoinPool；bounded 使用有界队列线程池，队列满时由调用线程执行
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService repayTrialBatchExecutor(@Value("${scf.bill.trial-batch.executor:fork-join}") String executorType,
+                                                   @Value("${scf.bill.trial-batch.parallelism:0}") int parallelism,
+                                                   @Value("${scf.bill.trial-batch.queue-capacity:1024}") int queueCapacity) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if ("fork-join".equalsIgnoreCase(executorType)) {
+            return new ForkJoinPool(threads);
+        }
+        if (!"bounded".equalsIgnoreCase(executorType)) {
+            throw new IllegalArgumentException("不支持的批量试算执行器: " + executorType);
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "repay-trial-batch-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Bean
+    public RepayTrialService repayTrialService(RepayPlanService repayPlanService,
+                                               ExecutorService repayTrialBatchExecutor,
+                                               @Value("${scf.bill.trial-batch.chunk-size:64}") int chunkSize) {
+        return new RepayTrialServiceImpl(repayPlanService, repayTrialBatchExecutor, chunkSize);
+    }
+
+    @Bean
+    public PayoffQuoteService payoffQuoteService(RepayPlanService repayPlanService) {
+        return new PayoffQuoteServiceImpl(repayPlanService);
+    }
+
+    /**
+     * 还款冲抵顺序：默认顺序与按还款方式覆盖的顺序均取自 scf.bill.repay 配置
+     */
     @Bean
-    public RepayService repayService(RepayTrialService repayTrialService) {
-        return new RepayServiceImpl(repayTrialService);
+    public RepayService repayService(RepayTrialService repayTrialService, RepayWaterfallProperties waterfallProperties) {
+        Map<RepayMethod, RepayWaterfall> waterfalls = new EnumMap<>(RepayMethod.class);
+        for (Map.Entry<RepayMethod, List<ChargeSubject>> entry : waterfallProperties.getMethodWaterfalls().entrySet()) {
+            waterfalls.put(entry.getKey(), RepayWaterfall.of(entry.getValue()));
+        }
+        return new RepayServiceImpl(repayTrialService, RepayWaterfall.of(waterfallProperties.getWaterfall()), waterfalls);
     }
 }
@@ -0,0 +1,33 @@
+package com.scf.loan.bill.config;
+
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.common.enums.ChargeSubject;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 还款冲抵顺序配置，未列出的科目按枚举声明顺序排在最后
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scf.bill.repay")
+public class RepayWaterfallProperties {
+
+    /**
+     * 默认冲抵顺序
+     */
+    private List<ChargeSubject> waterfall = new ArrayList<>(
+            Arrays.asList(ChargeSubject.INTEREST, ChargeSubject.PENALTY, ChargeSubject.PRINCIPAL));
+
+    /**
+     * 按还款方式覆盖冲抵顺序，如 scf.bill.repay.method-waterfalls.INTEREST_FIRST=INTEREST,PRINCIPAL,PENALTY
+     */
+    private Map<RepayMethod, List<ChargeSubject>> methodWaterfalls = new HashMap<>();
+}
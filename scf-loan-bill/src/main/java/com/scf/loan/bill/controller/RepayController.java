@@ -1,19 +1,28 @@
 package com.scf.loan.bill.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scf.loan.bill.plan.PayoffQuote;
 import com.scf.loan.bill.plan.RepayPlanRequest;
 import com.scf.loan.bill.plan.RepayRequest;
 import com.scf.loan.bill.plan.RepayResult;
+import com.scf.loan.bill.plan.RepayTrialBatchResult;
 import com.scf.loan.bill.plan.RepayTrialRequest;
 import com.scf.loan.bill.plan.RepayTrialResult;
+import com.scf.loan.bill.service.PayoffQuoteService;
 import com.scf.loan.bill.service.RepayPlanService;
 import com.scf.loan.bill.service.RepayService;
 import com.scf.loan.bill.service.RepayTrialService;
 import com.scf.loan.common.dto.RepayPlanItem;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import javax.validation.Valid;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -29,6 +38,12 @@ public class RepayController {
     @Autowired
     private RepayService repayService;
 
+    @Autowired
+    private PayoffQuoteService payoffQuoteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/plan")
     public List<RepayPlanItem> generatePlan(@Valid @RequestBody RepayPlanRequest request) {
         return repayPlanService.generatePlan(request);
@@ -39,8 +54,49 @@ public class RepayController {
         return repayTrialService.trial(request);
     }
 
+    /**
+     * 批量试算，按完成顺序逐行输出 NDJSON，每行为一笔 {@link RepayTrialBatchResult}
+     */
+    @PostMapping(value = "/trial/batch", produces = "application/x-ndjson")
+    public StreamingResponseBody trialBatch(@RequestBody List<RepayTrialRequest> requests) {
+        return outputStream -> repayTrialService.trialBatch(requests, result -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(result));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @PostMapping("/repay")
     public RepayResult repay(@Valid @RequestBody RepayRequest request) {
         return repayService.repay(request);
     }
+
+    /**
+     * 多期还款，按到期日从早到晚冲抵各期未还金额，返回每期分配结果
+     */
+    @PostMapping("/repay/outstanding")
+    public List<RepayResult> repayOutstanding(@Valid @RequestBody RepayRequest request) {
+        return repayService.repayOutstanding(request);
+    }
+
+    /**
+     * 提前结清报价，以 trialDate 为结清日
+     */
+    @PostMapping("/payoff")
+    public PayoffQuote payoff(@Valid @RequestBody RepayTrialRequest request) {
+        return payoffQuoteService.quote(request);
+    }
+
+    /**
+     * 提前结清报价，trialDate 至 endDate（含）逐日报价
+     */
+    @PostMapping("/payoff/range")
+    public List<PayoffQuote> payoffRange(@Valid @RequestBody RepayTrialRequest request,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return payoffQuoteService.quoteRange(request, endDate);
+    }
 }
@@ -3,16 +3,25 @@
  * Since: 2026-02-06 16:01:23
  * Do not modify directly; regenerate via skills if changes are needed.
  * If manual changes are necessary, document @version, @since and change reasons in skill docs.
+ *
+ * @version 1.0.2
+ * @since 2026-10-18
+ * 手动变更：
+ * - 1.0.1 新增 cursorBill 按主键游标分页与 scanBill 分块流式扫描（生成器暂不支持，再生前需保留）
+ * - 1.0.2 新增 batchInsertBill 多行插入与 batchUpdateBillWithRevision 批量乐观锁更新（生成器暂不支持，再生前需保留）
  */
 package com.scf.loan.biz.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.IService;
  import com.scf.loan.dal.entity.BillEntity;
+ import com.scf.loan.common.base.dto.CursorPageResult;
  import com.scf.loan.common.base.dto.PageResult;
  import com.scf.loan.common.dto.BillPageDTO;
  import com.scf.loan.common.dto.BillDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * BillEntity 服务接口
@@ -20,12 +29,20 @@ import java.util.List;
 public interface BillService extends IService<BillEntity> {
 
     /**
-     * 批量创建Bill
+     * 批量创建Bill，整体在一个事务内，任一分块失败全部回滚
      * @param entities BillEntity实体列表
      * @return 是否创建成功
      */
     boolean batchCreateBill(List<BillEntity> entities);
 
+    /**
+     * 多行插入Bill，每 chunkSize 行一条 INSERT 语句，整体在一个事务内
+     * @param entities BillEntity实体列表
+     * @param chunkSize 每条语句的行数
+     * @return 插入行数
+     */
+    int batchInsertBill(List<BillEntity> entities, int chunkSize);
+
     /**
      * 批量更新Bill
      * @param entities BillEntity实体列表
@@ -33,10 +50,34 @@ public interface BillService extends IService<BillEntity> {
      */
     boolean batchUpdateBill(List<BillEntity> entities);
 
+    /**
+     * 按 id + revision 乐观锁批量更新Bill，成功行的 revision 加一
+     * @param entities BillEntity实体列表，id 与 revision 不能为空
+     * @return revision 不匹配而未更新的实体(并发冲突)
+     */
+    List<BillEntity> batchUpdateBillWithRevision(List<BillEntity> entities);
+
     /**
      * 分页查询Bill
      * @param dto 分页查询请求
      * @return 分页结果
      */
     PageResult<BillDTO> pageBill(BillPageDTO dto);
+
+    /**
+     * 按主键游标分页查询Bill，每页代价与翻页深度无关
+     * @param dto 分页查询请求，lastId 为上一页返回的游标
+     * @return 游标分页结果
+     */
+    CursorPageResult<BillDTO> cursorBill(BillPageDTO dto);
+
+    /**
+     * 按主键升序流式扫描Bill，按 chunkSize 分块回调，内存占用恒定。
+     * 扫描期间占用一个数据库连接，chunkConsumer 中的写操作需使用其它连接(勿在同一事务内)
+     * @param condition 查询条件，可为空
+     * @param chunkSize 每块记录数
+     * @param chunkConsumer 分块消费者
+     * @return 扫描记录总数
+     */
+    long scanBill(QueryWrapper<BillEntity> condition, int chunkSize, Consumer<List<BillEntity>> chunkConsumer);
 }
\ No newline at end of file
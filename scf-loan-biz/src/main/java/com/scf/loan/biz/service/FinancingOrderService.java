@@ -3,16 +3,24 @@
  * Since: 2026-02-06 15:29:21
  * Do not modify directly; regenerate via skills if changes are needed.
  * If manual changes are necessary, document @version, @since and change reasons in skill docs.
+ *
+ * @version 1.0.1
+ * @since 2026-10-18
+ * 手动变更：
+ * - 1.0.1 新增 cursorFinancingOrder 按主键游标分页与 scanFinancingOrder 分块流式扫描（生成器暂不支持，再生前需保留）
  */
 package com.scf.loan.biz.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.IService;
  import com.scf.loan.dal.entity.FinancingOrderEntity;
+ import com.scf.loan.common.base.dto.CursorPageResult;
  import com.scf.loan.common.base.dto.PageResult;
  import com.scf.loan.common.dto.FinancingOrderPageDTO;
  import com.scf.loan.common.dto.FinancingOrderDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * FinancingOrderEntity 服务接口
@@ -39,4 +47,21 @@ public interface FinancingOrderService extends IService<FinancingOrderEntity> {
      * @return 分页结果
      */
     PageResult<FinancingOrderDTO> pageFinancingOrder(FinancingOrderPageDTO dto);
+
+    /**
+     * 按主键游标分页查询FinancingOrder，每页代价与翻页深度无关
+     * @param dto 分页查询请求，lastId 为上一页返回的游标
+     * @return 游标分页结果
+     */
+    CursorPageResult<FinancingOrderDTO> cursorFinancingOrder(FinancingOrderPageDTO dto);
+
+    /**
+     * 按主键升序流式扫描FinancingOrder，按 chunkSize 分块回调，内存占用恒定。
+     * 扫描期间占用一个数据库连接，chunkConsumer 中的写操作需使用其它连接(勿在同一事务内)
+     * @param condition 查询条件，可为空
+     * @param chunkSize 每块记录数
+     * @param chunkConsumer 分块消费者
+     * @return 扫描记录总数
+     */
+    long scanFinancingOrder(QueryWrapper<FinancingOrderEntity> condition, int chunkSize, Consumer<List<FinancingOrderEntity>> chunkConsumer);
 }
\ No newline at end of file
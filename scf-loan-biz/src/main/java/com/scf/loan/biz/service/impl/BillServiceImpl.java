@@ -3,6 +3,12 @@
  * Since: 2026-02-06 16:01:23
  * Do not modify directly; regenerate via skills if changes are needed.
  * If manual changes are necessary, document @version, @since and change reasons in skill docs.
+ *
+ * @version 1.0.2
+ * @since 2026-10-18
+ * 手动变更：
+ * - 1.0.1 新增 cursorBill 按主键游标分页与 scanBill 分块流式扫描（生成器暂不支持，再生前需保留）
+ * - 1.0.2 新增 batchInsertBill 多行插入与 batchUpdateBillWithRevision 批量乐观锁更新，batchCreateBill 改为自身声明事务（生成器暂不支持，再生前需保留）
  */
 package com.scf.loan.biz.service.impl;
 
@@ -11,14 +17,22 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.scf.loan.biz.service.BillService;
 import com.scf.loan.dal.entity.BillEntity;
 import com.scf.loan.dal.mapper.BillMapper;
+import com.scf.loan.common.base.dto.CursorPageResult;
 import com.scf.loan.common.base.dto.PageResult;
 import com.scf.loan.common.dto.BillPageDTO;
 import com.scf.loan.common.dto.BillDTO;
 import com.scf.loan.biz.convert.BillConverter;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import org.apache.ibatis.executor.BatchResult;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * BillEntity 服务实现类
@@ -26,9 +40,72 @@ import java.util.List;
 @Service
 public class BillServiceImpl extends ServiceImpl<BillMapper, BillEntity> implements BillService {
 
+    /**
+     * 多行插入每条语句的行数
+     */
+    @Value("${scf.bill.batch.insert-chunk-size:500}")
+    private int insertChunkSize = 500;
+
+    /**
+     * 乐观锁批量更新每次 flush 的行数
+     */
+    @Value("${scf.bill.batch.update-chunk-size:500}")
+    private int updateChunkSize = 500;
+
+    /**
+     * 内部调用 batchInsertBill 不经过 Spring 代理，事务需声明在入口方法上
+     */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean batchCreateBill(List<BillEntity> entities) {
-        return saveBatch(entities);
+        if (entities == null || entities.isEmpty()) {
+            return false;
+        }
+        return batchInsertBill(entities, insertChunkSize) == entities.size();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int batchInsertBill(List<BillEntity> entities, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize 必须大于0: " + chunkSize);
+        }
+        if (entities == null || entities.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (BillEntity entity : entities) {
+            fillInsertDefaults(entity, now);
+        }
+        int inserted = 0;
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            inserted += getBaseMapper().insertBatch(entities.subList(from, Math.min(entities.size(), from + chunkSize)));
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<BillEntity> batchUpdateBillWithRevision(List<BillEntity> entities) {
+        List<BillEntity> conflicts = new ArrayList<>();
+        if (entities == null || entities.isEmpty()) {
+            return conflicts;
+        }
+        for (BillEntity entity : entities) {
+            if (entity.getId() == null || entity.getRevision() == null) {
+                throw new IllegalArgumentException("乐观锁更新的账单 id 和 revision 不能为空");
+            }
+        }
+        SqlHelper.executeBatch(sqlSessionFactory, log, sqlSession -> {
+            BillMapper mapper = sqlSession.getMapper(BillMapper.class);
+            for (int from = 0; from < entities.size(); from += updateChunkSize) {
+                int to = Math.min(entities.size(), from + updateChunkSize);
+                for (BillEntity entity : entities.subList(from, to)) {
+                    mapper.updateByIdAndRevision(entity);
+                }
+                collectConflicts(sqlSession.flushStatements(), conflicts);
+            }
+        });
+        return conflicts;
     }
 
     @Override
@@ -38,6 +115,44 @@ public class BillServiceImpl extends ServiceImpl<BillMapper, BillEntity> impleme
 
     @Override
     public PageResult<BillDTO> pageBill(BillPageDTO dto) {
+        QueryWrapper<BillEntity> qw = buildQuery(dto);
+        Page<BillEntity> p = page(new Page<>(dto.getPage(), dto.getSize()), qw);
+        java.util.List<BillDTO> dtos = new java.util.ArrayList<>();
+        for (BillEntity e : p.getRecords()) {
+            dtos.add(BillConverter.toDTO(e));
+        }
+        return PageResult.of(dtos, p.getTotal(), dto.getPage(), dto.getSize());
+    }
+
+    @Override
+    public CursorPageResult<BillDTO> cursorBill(BillPageDTO dto) {
+        int size = dto.getSize() == null || dto.getSize() <= 0 ? 10 : dto.getSize();
+        QueryWrapper<BillEntity> qw = buildQuery(dto);
+        if (dto.getLastId() != null) {
+            qw.gt("id", dto.getLastId());
+        }
+        // 多取一条判断是否还有下一页
+        qw.orderByAsc("id").last("LIMIT " + (size + 1));
+        List<BillEntity> entities = list(qw);
+        boolean hasMore = entities.size() > size;
+        int count = Math.min(entities.size(), size);
+        List<BillDTO> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(BillConverter.toDTO(entities.get(i)));
+        }
+        Long lastId = count == 0 ? dto.getLastId() : entities.get(count - 1).getId();
+        return CursorPageResult.of(dtos, lastId, size, hasMore);
+    }
+
+    @Override
+    public long scanBill(QueryWrapper<BillEntity> condition, int chunkSize, Consumer<List<BillEntity>> chunkConsumer) {
+        ChunkedResultHandler<BillEntity> handler = new ChunkedResultHandler<>(chunkSize, chunkConsumer);
+        QueryWrapper<BillEntity> qw = condition == null ? new QueryWrapper<>() : condition;
+        getBaseMapper().streamScan(qw.orderByAsc("id"), handler);
+        return handler.finish();
+    }
+
+    private QueryWrapper<BillEntity> buildQuery(BillPageDTO dto) {
         QueryWrapper<BillEntity> qw = new QueryWrapper<>();
         if (dto.getId() != null) {
             qw.eq("id", dto.getId());
@@ -48,11 +163,45 @@ public class BillServiceImpl extends ServiceImpl<BillMapper, BillEntity> impleme
         if (dto.getEndTime() != null) {
             qw.le("created_at", dto.getEndTime());
         }
-        Page<BillEntity> p = page(new Page<>(dto.getPage(), dto.getSize()), qw);
-        java.util.List<BillDTO> dtos = new java.util.ArrayList<>();
-        for (BillEntity e : p.getRecords()) {
-            dtos.add(BillConverter.toDTO(e));
+        return qw;
+    }
+
+    /**
+     * 按 JDBC 批量返回的逐行更新数区分成功与冲突：成功行的 revision 同步加一，更新数为 0 的行记为冲突
+     */
+    static void collectConflicts(List<BatchResult> results, List<BillEntity> conflicts) {
+        for (BatchResult result : results) {
+            int[] updateCounts = result.getUpdateCounts();
+            List<Object> parameters = result.getParameterObjects();
+            for (int i = 0; i < parameters.size(); i++) {
+                if (!(parameters.get(i) instanceof BillEntity)) {
+                    continue;
+                }
+                BillEntity entity = (BillEntity) parameters.get(i);
+                if (updateCounts[i] == 0) {
+                    conflicts.add(entity);
+                } else {
+                    entity.setRevision(entity.getRevision() + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * 多行插入显式写入所有列，补齐 MyBatis-Plus 单行插入时由数据库默认值承担的字段
+     */
+    private void fillInsertDefaults(BillEntity entity, LocalDateTime now) {
+        if (entity.getCreatedAt() == null) {
+            entity.setCreatedAt(now);
+        }
+        if (entity.getUpdatedAt() == null) {
+            entity.setUpdatedAt(now);
+        }
+        if (entity.getDelFlag() == null) {
+            entity.setDelFlag(0);
+        }
+        if (entity.getRevision() == null) {
+            entity.setRevision(0);
         }
-        return PageResult.of(dtos, p.getTotal(), dto.getPage(), dto.getSize());
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.scf.loan.biz.service.impl;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 将流式扫描的逐行回调攒成固定大小的块交给消费者，内存占用与结果集大小无关
+ */
+class ChunkedResultHandler<T> implements ResultHandler<T> {
+    private final int chunkSize;
+    private final Consumer<List<T>> chunkConsumer;
+    private List<T> buffer;
+    private long count;
+
+    ChunkedResultHandler(int chunkSize, Consumer<List<T>> chunkConsumer) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize 必须大于0: " + chunkSize);
+        }
+        if (chunkConsumer == null) {
+            throw new IllegalArgumentException("chunkConsumer 不能为空");
+        }
+        this.chunkSize = chunkSize;
+        this.chunkConsumer = chunkConsumer;
+        this.buffer = new ArrayList<>(chunkSize);
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends T> context) {
+        buffer.add(context.getResultObject());
+        count++;
+        if (buffer.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * 交出尚未满块的剩余数据，返回累计处理行数
+     */
+    long finish() {
+        if (!buffer.isEmpty()) {
+            flush();
+        }
+        return count;
+    }
+
+    private void flush() {
+        List<T> chunk = buffer;
+        buffer = new ArrayList<>(chunkSize);
+        chunkConsumer.accept(chunk);
+    }
+}
@@ -3,6 +3,11 @@
  * Since: 2026-02-06 15:29:21
  * Do not modify directly; regenerate via skills if changes are needed.
  * If manual changes are necessary, document @version, @since and change reasons in skill docs.
+ *
+ * @version 1.0.1
+ * @since 2026-10-18
+ * 手动变更：
+ * - 1.0.1 新增 cursorFinancingOrder 按主键游标分页与 scanFinancingOrder 分块流式扫描（生成器暂不支持，再生前需保留）
  */
 package com.scf.loan.biz.service.impl;
 
@@ -11,6 +16,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.scf.loan.biz.service.FinancingOrderService;
 import com.scf.loan.dal.entity.FinancingOrderEntity;
 import com.scf.loan.dal.mapper.FinancingOrderMapper;
+import com.scf.loan.common.base.dto.CursorPageResult;
 import com.scf.loan.common.base.dto.PageResult;
 import com.scf.loan.common.dto.FinancingOrderPageDTO;
 import com.scf.loan.common.dto.FinancingOrderDTO;
@@ -18,7 +24,9 @@ import com.scf.loan.biz.convert.FinancingOrderConverter;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * FinancingOrderEntity 服务实现类
@@ -38,6 +46,44 @@ public class FinancingOrderServiceImpl extends ServiceImpl<FinancingOrderMapper,
 
     @Override
     public PageResult<FinancingOrderDTO> pageFinancingOrder(FinancingOrderPageDTO dto) {
+        QueryWrapper<FinancingOrderEntity> qw = buildQuery(dto);
+        Page<FinancingOrderEntity> p = page(new Page<>(dto.getPage(), dto.getSize()), qw);
+        java.util.List<FinancingOrderDTO> dtos = new java.util.ArrayList<>();
+        for (FinancingOrderEntity e : p.getRecords()) {
+            dtos.add(FinancingOrderConverter.toDTO(e));
+        }
+        return PageResult.of(dtos, p.getTotal(), dto.getPage(), dto.getSize());
+    }
+
+    @Override
+    public CursorPageResult<FinancingOrderDTO> cursorFinancingOrder(FinancingOrderPageDTO dto) {
+        int size = dto.getSize() == null || dto.getSize() <= 0 ? 10 : dto.getSize();
+        QueryWrapper<FinancingOrderEntity> qw = buildQuery(dto);
+        if (dto.getLastId() != null) {
+            qw.gt("id", dto.getLastId());
+        }
+        // 多取一条判断是否还有下一页
+        qw.orderByAsc("id").last("LIMIT " + (size + 1));
+        List<FinancingOrderEntity> entities = list(qw);
+        boolean hasMore = entities.size() > size;
+        int count = Math.min(entities.size(), size);
+        List<FinancingOrderDTO> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(FinancingOrderConverter.toDTO(entities.get(i)));
+        }
+        Long lastId = count == 0 ? dto.getLastId() : entities.get(count - 1).getId();
+        return CursorPageResult.of(dtos, lastId, size, hasMore);
+    }
+
+    @Override
+    public long scanFinancingOrder(QueryWrapper<FinancingOrderEntity> condition, int chunkSize, Consumer<List<FinancingOrderEntity>> chunkConsumer) {
+        ChunkedResultHandler<FinancingOrderEntity> handler = new ChunkedResultHandler<>(chunkSize, chunkConsumer);
+        QueryWrapper<FinancingOrderEntity> qw = condition == null ? new QueryWrapper<>() : condition;
+        getBaseMapper().streamScan(qw.orderByAsc("id"), handler);
+        return handler.finish();
+    }
+
+    private QueryWrapper<FinancingOrderEntity> buildQuery(FinancingOrderPageDTO dto) {
         QueryWrapper<FinancingOrderEntity> qw = new QueryWrapper<>();
         if (dto.getId() != null) {
             qw.eq("id", dto.getId());
@@ -48,11 +94,6 @@ public class FinancingOrderServiceImpl extends ServiceImpl<FinancingOrderMapper,
         if (dto.getEndTime() != null) {
             qw.le("created_at", dto.getEndTime());
         }
-        Page<FinancingOrderEntity> p = page(new Page<>(dto.getPage(), dto.getSize()), qw);
-        java.util.List<FinancingOrderDTO> dtos = new java.util.ArrayList<>();
-        for (FinancingOrderEntity e : p.getRecords()) {
-            dtos.add(FinancingOrderConverter.toDTO(e));
-        }
-        return PageResult.of(dtos, p.getTotal(), dto.getPage(), dto.getSize());
+        return qw;
     }
 }
\ No newline at end of file
@@ -3,17 +3,27 @@
  * Since: 2026-02-06 16:01:23
  * Do not modify directly; regenerate via skills if changes are needed.
  * If manual changes are necessary, document @version, @since and change reasons in skill docs.
+ *
+ * @version 1.0.2
+ * @since 2026-10-18
+ * 手动变更：
+ * - 1.0.1 新增 cursorBill 与 scanBill 用例（生成器暂不支持，再生前需保留）
+ * - 1.0.2 新增 batchInsertBill、batchUpdateBillWithRevision 与 batchCreateBill 事务用例（生成器暂不支持，再生前需保留）
  */
 package com.scf.loan.biz.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.scf.loan.common.base.dto.CursorPageResult;
 import com.scf.loan.common.base.dto.PageResult;
 import com.scf.loan.dal.entity.BillEntity;
 import com.scf.loan.dal.mapper.BillMapper;
 import com.scf.loan.common.dto.BillPageDTO;
 import com.scf.loan.common.dto.BillDTO;
 import org.junit.jupiter.api.BeforeEach;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -21,14 +31,17 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -50,6 +63,18 @@ public class BillServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    /**
+     * 测试批量创建Bill入口声明事务：内部调用 batchInsertBill 不经过代理，事务只能由入口方法提供
+     */
+    @Test
+    public void testBatchCreateBillIsTransactional() throws NoSuchMethodException {
+        Transactional transactional = BillServiceImpl.class.getMethod("batchCreateBill", List.class)
+                .getAnnotation(Transactional.class);
+
+        assertNotNull(transactional);
+        assertArrayEquals(new Class<?>[]{Exception.class}, transactional.rollbackFor());
+    }
+
     /**
      * 测试批量创建Bill
      */
@@ -62,17 +87,46 @@ public class BillServiceTest {
         entity.setId(1L);
         entities.add(entity);
 
-        // 模拟 saveBatch 返回 true
-        doReturn(true).when(billService).saveBatch(entities);
+        // 模拟多行插入返回插入行数
+        when(billMapper.insertBatch(anyList())).thenReturn(1);
 
         boolean result = billService.batchCreateBill(entities);
         assertTrue(result);
         
-        verify(billService, times(1)).saveBatch(entities);
+        verify(billMapper, times(1)).insertBatch(entities);
+        assertEquals(0, entity.getRevision());
+        assertEquals(0, entity.getDelFlag());
+        assertNotNull(entity.getCreatedAt());
         
         logger.info("测试批量创建Bill执行完成");
     }
 
+    /**
+     * 测试多行插入按 chunkSize 分条
+     */
+    @Test
+    public void testBatchInsertBillChunks() {
+        logger.info("开始执行测试多行插入Bill分块");
+
+        List<BillEntity> entities = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            entities.add(entity(id));
+        }
+        List<Integer> statementRows = new ArrayList<>();
+        when(billMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<BillEntity> rows = invocation.getArgument(0);
+            statementRows.add(rows.size());
+            return rows.size();
+        });
+
+        assertEquals(5, billService.batchInsertBill(entities, 2));
+        assertEquals(Arrays.asList(2, 2, 1), statementRows);
+        assertEquals(0, billService.batchInsertBill(Collections.emptyList(), 2));
+        assertThrows(IllegalArgumentException.class, () -> billService.batchInsertBill(entities, 0));
+
+        logger.info("测试多行插入Bill分块执行完成");
+    }
+
     /**
      * 测试批量更新Bill
      */
@@ -168,4 +222,98 @@ public class BillServiceTest {
 
         logger.info("测试分页查询Bill - 空条件 执行完成");
     }
+
+    /**
+     * 测试游标分页查询Bill
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCursorBill() {
+        logger.info("开始执行测试游标分页查询Bill");
+
+        BillPageDTO pageDTO = new BillPageDTO();
+        pageDTO.setSize(2);
+        pageDTO.setLastId(10L);
+
+        // 多取一条用于判断是否还有下一页
+        doReturn(Arrays.asList(entity(11L), entity(12L), entity(13L)))
+                .when(billService).list(any(QueryWrapper.class));
+
+        CursorPageResult<BillDTO> result = billService.cursorBill(pageDTO);
+
+        assertEquals(2, result.getRecords().size());
+        assertEquals(12L, result.getLastId());
+        assertTrue(result.isHasMore());
+
+        doReturn(Collections.emptyList()).when(billService).list(any(QueryWrapper.class));
+        CursorPageResult<BillDTO> last = billService.cursorBill(pageDTO);
+
+        assertTrue(last.getRecords().isEmpty());
+        assertEquals(10L, last.getLastId());
+        assertFalse(last.isHasMore());
+
+        logger.info("测试游标分页查询Bill执行完成");
+    }
+
+    /**
+     * 测试流式分块扫描Bill
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testScanBill() {
+        logger.info("开始执行测试流式分块扫描Bill");
+
+        doAnswer(invocation -> {
+            ResultHandler<BillEntity> handler = invocation.getArgument(1);
+            DefaultResultContext<BillEntity> context = new DefaultResultContext<>();
+            for (long id = 1; id <= 5; id++) {
+                context.nextResultObject(entity(id));
+                handler.handleResult(context);
+            }
+            return null;
+        }).when(billMapper).streamScan(any(QueryWrapper.class), any(ResultHandler.class));
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        long count = billService.scanBill(null, 2, chunk -> chunkSizes.add(chunk.size()));
+
+        assertEquals(5L, count);
+        assertEquals(Arrays.asList(2, 2, 1), chunkSizes);
+        assertThrows(IllegalArgumentException.class, () -> billService.scanBill(null, 0, chunk -> { }));
+
+        logger.info("测试流式分块扫描Bill执行完成");
+    }
+
+    private BillEntity entity(long id) {
+        BillEntity entity = new BillEntity();
+        entity.setId(id);
+        return entity;
+    }
+
+    /**
+     * 测试乐观锁批量更新的冲突识别
+     */
+    @Test
+    public void testCollectRevisionConflicts() {
+        logger.info("开始执行测试乐观锁批量更新冲突识别");
+
+        BillEntity updated = entity(1L);
+        updated.setRevision(3);
+        BillEntity conflicted = entity(2L);
+        conflicted.setRevision(5);
+        BatchResult result = new BatchResult(null, "UPDATE t_scf_bill");
+        result.addParameterObject(updated);
+        result.addParameterObject(conflicted);
+        result.setUpdateCounts(new int[]{1, 0});
+
+        List<BillEntity> conflicts = new ArrayList<>();
+        BillServiceImpl.collectConflicts(Collections.singletonList(result), conflicts);
+
+        assertEquals(Collections.singletonList(conflicted), conflicts);
+        assertEquals(4, updated.getRevision());
+        assertEquals(5, conflicted.getRevision());
+        assertThrows(IllegalArgumentException.class,
+                () -> billService.batchUpdateBillWithRevision(Collections.singletonList(entity(3L))));
+
+        logger.info("测试乐观锁批量更新冲突识别执行完成");
+    }
 }
\ No newline at end of file
@@ -3,17 +3,25 @@
  * Since: 2026-02-06 15:29:21
  * Do not modify directly; regenerate via skills if changes are needed.
  * If manual changes are necessary, document @version, @since and change reasons in skill docs.
+ *
+ * @version 1.0.1
+ * @since 2026-10-18
+ * 手动变更：
+ * - 1.0.1 新增 cursorFinancingOrder 与 scanFinancingOrder 用例（生成器暂不支持，再生前需保留）
  */
 package com.scf.loan.biz.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.scf.loan.common.base.dto.CursorPageResult;
 import com.scf.loan.common.base.dto.PageResult;
 import com.scf.loan.dal.entity.FinancingOrderEntity;
 import com.scf.loan.dal.mapper.FinancingOrderMapper;
 import com.scf.loan.common.dto.FinancingOrderPageDTO;
 import com.scf.loan.common.dto.FinancingOrderDTO;
 import org.junit.jupiter.api.BeforeEach;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -25,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -170,4 +179,70 @@ public class FinancingOrderServiceTest {
 
         logger.info("测试分页查询FinancingOrder - 空条件 执行完成");
     }
+
+    /**
+     * 测试游标分页查询FinancingOrder
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCursorFinancingOrder() {
+        logger.info("开始执行测试游标分页查询FinancingOrder");
+
+        FinancingOrderPageDTO pageDTO = new FinancingOrderPageDTO();
+        pageDTO.setSize(2);
+        pageDTO.setLastId(10L);
+
+        // 多取一条用于判断是否还有下一页
+        doReturn(Arrays.asList(entity(11L), entity(12L), entity(13L)))
+                .when(financingOrderService).list(any(QueryWrapper.class));
+
+        CursorPageResult<FinancingOrderDTO> result = financingOrderService.cursorFinancingOrder(pageDTO);
+
+        assertEquals(2, result.getRecords().size());
+        assertEquals(12L, result.getLastId());
+        assertTrue(result.isHasMore());
+
+        doReturn(Collections.emptyList()).when(financingOrderService).list(any(QueryWrapper.class));
+        CursorPageResult<FinancingOrderDTO> last = financingOrderService.cursorFinancingOrder(pageDTO);
+
+        assertTrue(last.getRecords().isEmpty());
+        assertEquals(10L, last.getLastId());
+        assertFalse(last.isHasMore());
+
+        logger.info("测试游标分页查询FinancingOrder执行完成");
+    }
+
+    /**
+     * 测试流式分块扫描FinancingOrder
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testScanFinancingOrder() {
+        logger.info("开始执行测试流式分块扫描FinancingOrder");
+
+        doAnswer(invocation -> {
+            ResultHandler<FinancingOrderEntity> handler = invocation.getArgument(1);
+            DefaultResultContext<FinancingOrderEntity> context = new DefaultResultContext<>();
+            for (long id = 1; id <= 5; id++) {
+                context.nextResultObject(entity(id));
+                handler.handleResult(context);
+            }
+            return null;
+        }).when(financingOrderMapper).streamScan(any(QueryWrapper.class), any(ResultHandler.class));
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        long count = financingOrderService.scanFinancingOrder(null, 2, chunk -> chunkSizes.add(chunk.size()));
+
+        assertEquals(5L, count);
+        assertEquals(Arrays.asList(2, 2, 1), chunkSizes);
+        assertThrows(IllegalArgumentException.class, () -> financingOrderService.scanFinancingOrder(null, 0, chunk -> { }));
+
+        logger.info("测试流式分块扫描FinancingOrder执行完成");
+    }
+
+    private FinancingOrderEntity entity(long id) {
+        FinancingOrderEntity entity = new FinancingOrderEntity();
+        entity.setId(id);
+        return entity;
+    }
 }
\ No newline at end of file
@@ -24,6 +24,11 @@ public class BasePageRequestDTO implements Serializable {
      */
     private Integer size = 10;
 
+    /**
+     * 游标翻页：上一页最后一条记录的主键ID，首页为空
+     */
+    private Long lastId;
+
     /**
      * 主键ID，用于精确查询
      */
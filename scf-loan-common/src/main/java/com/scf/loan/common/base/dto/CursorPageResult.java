@@ -0,0 +1,54 @@
+package com.scf.loan.common.base.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 游标(按主键)分页结果封装类，翻页代价与页深无关
+ *
+ * @param <T> 结果集元素类型
+ */
+@Data
+public class CursorPageResult<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 数据列表
+     */
+    private List<T> records;
+
+    /**
+     * 本页最后一条记录的主键ID，作为下一页请求的 lastId
+     */
+    private Long lastId;
+
+    /**
+     * 每页大小
+     */
+    private int size;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+
+    /**
+     * 构造游标分页结果
+     *
+     * @param records 数据列表
+     * @param lastId  本页最后一条记录的主键ID
+     * @param size    每页大小
+     * @param hasMore 是否还有下一页
+     * @return 游标分页结果对象
+     */
+    public static <T> CursorPageResult<T> of(List<T> records, Long lastId, int size, boolean hasMore) {
+        CursorPageResult<T> result = new CursorPageResult<>();
+        result.setRecords(records);
+        result.setLastId(lastId);
+        result.setSize(size);
+        result.setHasMore(hasMore);
+        return result;
+    }
+}
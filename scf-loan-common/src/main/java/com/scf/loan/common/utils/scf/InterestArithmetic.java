@@ -0,0 +1,24 @@
+package com.scf.loan.common.utils.scf;
+
+/**
+ * 计息运算方式
+ */
+public enum InterestArithmetic {
+    /**
+     * BigDecimal 运算，12 位小数截断
+     */
+    BIG_DECIMAL,
+    /**
+     * long 定点运算（利率按 1e8 缩放），中间结果超出 long 时回退到 BigDecimal
+     */
+    FIXED_POINT;
+
+    public static InterestArithmetic of(String value) {
+        for (InterestArithmetic item : values()) {
+            if (item.name().equalsIgnoreCase(value)) {
+                return item;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.scf.loan.common.utils.scf;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 还款日时间线：升序、去重的 epoch day 数组，构建一次后可重复二分查找，查询不产生对象分配
+ */
+public final class RepayDateTimeline {
+    public static final RepayDateTimeline EMPTY = new RepayDateTimeline(new int[0]);
+
+    private final int[] epochDays;
+
+    private RepayDateTimeline(int[] epochDays) {
+        this.epochDays = epochDays;
+    }
+
+    /**
+     * 由还款日列表构建时间线，忽略空元素，列表为空时返回 {@link #EMPTY}
+     */
+    public static RepayDateTimeline of(List<LocalDate> repayDateList) {
+        if (repayDateList == null || repayDateList.isEmpty()) {
+            return EMPTY;
+        }
+        int[] days = new int[repayDateList.size()];
+        int size = 0;
+        for (LocalDate date : repayDateList) {
+            if (date != null) {
+                days[size++] = Math.toIntExact(date.toEpochDay());
+            }
+        }
+        return ofEpochDays(days, size);
+    }
+
+    public static RepayDateTimeline ofEpochDays(int... epochDays) {
+        return epochDays == null ? EMPTY : ofEpochDays(epochDays.clone(), epochDays.length);
+    }
+
+    private static RepayDateTimeline ofEpochDays(int[] days, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(days, 0, size);
+        int distinct = 1;
+        for (int index = 1; index < size; index++) {
+            if (days[index] != days[distinct - 1]) {
+                days[distinct++] = days[index];
+            }
+        }
+        return new RepayDateTimeline(distinct == days.length ? days : Arrays.copyOf(days, distinct));
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    public int getEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    /**
+     * 不晚于 epochDay 的最后一个还款日下标，不存在时返回 -1，O(log n)
+     */
+    public int indexOfLatestNotAfter(long epochDay) {
+        int low = 0;
+        int high = epochDays.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
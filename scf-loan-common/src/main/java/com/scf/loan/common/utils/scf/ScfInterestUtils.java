@@ -4,13 +4,30 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class ScfInterestUtils {
+    private static final long RATE_SCALE = 1_0000_0000L;
+    private static final long WORD_MASK = 0xFFFFFFFFL;
+
+    /**
+     * 全局计息运算方式，可通过 -Dscf.interest.arithmetic=BIG_DECIMAL 回退
+     */
+    private static volatile InterestArithmetic defaultArithmetic = Optional
+            .ofNullable(InterestArithmetic.of(System.getProperty("scf.interest.arithmetic")))
+            .orElse(InterestArithmetic.FIXED_POINT);
+
+    public static InterestArithmetic getDefaultArithmetic() {
+        return defaultArithmetic;
+    }
+
+    public static void setDefaultArithmetic(InterestArithmetic arithmetic) {
+        if (arithmetic == null) {
+            throw new IllegalArgumentException("arithmetic 不能为空");
+        }
+        defaultArithmetic = arithmetic;
+    }
 
     public static int calculateInterestDays(LocalDate startDate, LocalDate queryDate) {
         if (startDate == null || queryDate == null) {
@@ -26,22 +43,29 @@ public class ScfInterestUtils {
             throw new IllegalArgumentException("startDate 和 queryDate 都不能为空");
         }
 
-        List<LocalDate> previousRepayDates = Optional.ofNullable(repayDateList)
-                .orElse(Collections.emptyList())
-                .stream()
-                .filter(date -> date != null && !date.isAfter(queryDate))
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toList());
-
-        if (previousRepayDates.isEmpty()) {
+        LocalDate latestRepayDate = latestRepayDate(repayDateList, queryDate);
+        if (latestRepayDate == null) {
             return calculateInterestDays(startDate, queryDate);
         }
 
-        LocalDate latestRepayDate = previousRepayDates.get(0);
         long daysBetween = ChronoUnit.DAYS.between(latestRepayDate, queryDate);
         return (int) Math.max(daysBetween, 1);
     }
 
+    /**
+     * 同 {@link #calculateInterestDays(LocalDate, List, LocalDate)}，还款日已预先构建为时间线，查找 O(log n)
+     */
+    public static int calculateInterestDays(LocalDate startDate, RepayDateTimeline timeline, LocalDate queryDate) {
+        if (startDate == null || queryDate == null) {
+            throw new IllegalArgumentException("startDate 和 queryDate 都不能为空");
+        }
+
+        long queryEpochDay = queryDate.toEpochDay();
+        int index = timeline == null ? -1 : timeline.indexOfLatestNotAfter(queryEpochDay);
+        long fromEpochDay = index < 0 ? startDate.toEpochDay() : timeline.getEpochDay(index);
+        return (int) Math.max(queryEpochDay - fromEpochDay, 1);
+    }
+
     public static int calculatePenaltyDays(LocalDate dueDate, LocalDate queryDate) {
         if (queryDate.isAfter(dueDate)) {
             return (int) ChronoUnit.DAYS.between(dueDate, queryDate);
@@ -55,27 +79,67 @@ public class ScfInterestUtils {
             throw new IllegalArgumentException("dueDate 和 queryDate 都不能为空");
         }
 
-        List<LocalDate> previousRepayDates = Optional.ofNullable(repayDateList)
-                .orElse(Collections.emptyList())
-                .stream()
-                .filter(date -> date != null && !date.isAfter(queryDate))
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toList());
-
-        if (previousRepayDates.isEmpty()) {
+        LocalDate latestRepayDate = latestRepayDate(repayDateList, queryDate);
+        if (latestRepayDate == null) {
             return calculatePenaltyDays(dueDate, queryDate);
         }
 
-        LocalDate latestRepayDate = previousRepayDates.get(0);
         LocalDate penaltyStartDate = latestRepayDate.isAfter(dueDate) ? latestRepayDate : dueDate;
         return calculatePenaltyDays(penaltyStartDate, queryDate);
     }
 
+    /**
+     * 同 {@link #calculatePenaltyDays(LocalDate, List, LocalDate)}，还款日已预先构建为时间线，查找 O(log n)
+     */
+    public static int calculatePenaltyDays(LocalDate dueDate, RepayDateTimeline timeline, LocalDate queryDate) {
+        if (dueDate == null || queryDate == null) {
+            throw new IllegalArgumentException("dueDate 和 queryDate 都不能为空");
+        }
+
+        long queryEpochDay = queryDate.toEpochDay();
+        long penaltyStartEpochDay = dueDate.toEpochDay();
+        int index = timeline == null ? -1 : timeline.indexOfLatestNotAfter(queryEpochDay);
+        if (index >= 0) {
+            penaltyStartEpochDay = Math.max(penaltyStartEpochDay, timeline.getEpochDay(index));
+        }
+        return queryEpochDay > penaltyStartEpochDay ? (int) (queryEpochDay - penaltyStartEpochDay) : 0;
+    }
+
+    /**
+     * 不晚于 queryDate 的最近还款日，单次遍历，不存在时返回 null
+     */
+    private static LocalDate latestRepayDate(List<LocalDate> repayDateList, LocalDate queryDate) {
+        if (repayDateList == null) {
+            return null;
+        }
+        LocalDate latest = null;
+        for (LocalDate date : repayDateList) {
+            if (date != null && !date.isAfter(queryDate) && (latest == null || date.isAfter(latest))) {
+                latest = date;
+            }
+        }
+        return latest;
+    }
+
     public static long calculateInterest(Long principal, Long rate, Long days) {
+        return calculateInterest(principal, rate, days, defaultArithmetic);
+    }
+
+    /**
+     * 利息 = 本金 * 利率 / 1e8 * 天数，向下取整
+     */
+    public static long calculateInterest(Long principal, Long rate, Long days, InterestArithmetic arithmetic) {
         if (principal == null || rate == null || principal <= 0 || rate <= 0 || days <= 0) {
             return 0L;
         }
 
+        if (arithmetic == InterestArithmetic.FIXED_POINT) {
+            long interest = multiplyScaled(principal, rate, days);
+            if (interest >= 0) {
+                return interest;
+            }
+        }
+
         BigDecimal principalBigDecimal = BigDecimal.valueOf(principal);
         BigDecimal rateBigDecimal = BigDecimal.valueOf(rate);
 
@@ -106,4 +170,84 @@ public class ScfInterestUtils {
 
         return unpaidInterest.longValue();
     }
+
+    public static long calculateUnpaidInterest(Long unpaidPrincipal, Long rate, int interestDays) {
+        return calculateUnpaidInterest(unpaidPrincipal, rate, interestDays, defaultArithmetic);
+    }
+
+    /**
+     * 与 calculateUnpaidInterest(unpaidPrincipal, convertRateToBigDecimal(rate), interestDays) 结果一致，
+     * 利率为按 1e8 缩放的整数
+     */
+    public static long calculateUnpaidInterest(Long unpaidPrincipal, Long rate, int interestDays, InterestArithmetic arithmetic) {
+        if (unpaidPrincipal == null || unpaidPrincipal <= 0 || interestDays <= 0 || rate == null || rate == 0) {
+            return 0L;
+        }
+
+        if (arithmetic == InterestArithmetic.FIXED_POINT && rate != Long.MIN_VALUE) {
+            long interest = multiplyScaled(unpaidPrincipal, Math.abs(rate), interestDays);
+            if (interest >= 0) {
+                return rate > 0 ? interest : -interest;
+            }
+        }
+
+        return calculateUnpaidInterest(unpaidPrincipal, convertRateToBigDecimal(rate), interestDays);
+    }
+
+    /**
+     * 计算 floor(a * b * c / 1e8)，a、b、c 均为正数。
+     * 先将 a * b 的 128 位乘积拆成 q * 1e8 + r，则结果为 q * c + floor(r * c / 1e8)，
+     * 每一步都是精确整数运算，与 BigDecimal 的 DOWN 舍入一致；结果超出 long 时返回 -1
+     */
+    private static long multiplyScaled(long a, long b, long c) {
+        long product = a * b;
+        long quotient = divideByRateScale(multiplyHigh(a, b), product);
+        if (quotient < 0) {
+            return -1L;
+        }
+        long remainder = product - quotient * RATE_SCALE;
+        long fraction = divideByRateScale(multiplyHigh(remainder, c), remainder * c);
+        if (fraction < 0) {
+            return -1L;
+        }
+        if (quotient != 0 && c > (Long.MAX_VALUE - fraction) / quotient) {
+            return -1L;
+        }
+        return quotient * c + fraction;
+    }
+
+    /**
+     * 无符号 128 位整数 high:low 除以 1e8，商超出 long 时返回 -1
+     */
+    private static long divideByRateScale(long high, long low) {
+        if (high == 0 && low >= 0) {
+            return low / RATE_SCALE;
+        }
+        long word = high >>> 32;
+        long q3 = word / RATE_SCALE;
+        word = (word % RATE_SCALE) << 32 | (high & WORD_MASK);
+        long q2 = word / RATE_SCALE;
+        word = (word % RATE_SCALE) << 32 | (low >>> 32);
+        long q1 = word / RATE_SCALE;
+        word = (word % RATE_SCALE) << 32 | (low & WORD_MASK);
+        long q0 = word / RATE_SCALE;
+        if (q3 != 0 || q2 != 0 || q1 > Integer.MAX_VALUE) {
+            return -1L;
+        }
+        return q1 << 32 | q0;
+    }
+
+    /**
+     * 两个非负 long 乘积的高 64 位（Java 8 无 Math.multiplyHigh）
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x1 = x >>> 32;
+        long x2 = x & WORD_MASK;
+        long y1 = y >>> 32;
+        long y2 = y & WORD_MASK;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = (t & WORD_MASK) + x2 * y1;
+        return x1 * y1 + (t >>> 32) + (z1 >>> 32);
+    }
 }
@@ -0,0 +1,67 @@
+package com.scf.loan.common.utils.scf;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RepayDateTimelineTest {
+
+    @Test
+    public void testOfSortsAndDeduplicates() {
+        LocalDate base = LocalDate.of(2025, 10, 18);
+        RepayDateTimeline timeline = RepayDateTimeline.of(Arrays.asList(
+                base.plusDays(5), null, base.plusDays(1), base.plusDays(5), base));
+
+        assertEquals(3, timeline.size());
+        assertEquals(base.toEpochDay(), timeline.getEpochDay(0));
+        assertEquals(base.plusDays(5).toEpochDay(), timeline.getEpochDay(2));
+        assertEquals(-1, timeline.indexOfLatestNotAfter(base.toEpochDay() - 1));
+        assertEquals(0, timeline.indexOfLatestNotAfter(base.toEpochDay()));
+        assertEquals(1, timeline.indexOfLatestNotAfter(base.toEpochDay() + 4));
+        assertEquals(2, timeline.indexOfLatestNotAfter(base.toEpochDay() + 100));
+        assertSame(RepayDateTimeline.EMPTY, RepayDateTimeline.of(null));
+        assertSame(RepayDateTimeline.EMPTY, RepayDateTimeline.of(Collections.singletonList(null)));
+    }
+
+    @Test
+    public void testTimelineOverloadsMatchListOverloads() {
+        SplittableRandom random = new SplittableRandom(20260301L);
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        for (int round = 0; round < 2_000; round++) {
+            int size = random.nextInt(0, 12);
+            List<LocalDate> repayDates = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                repayDates.add(random.nextInt(8) == 0 ? null : base.plusDays(random.nextInt(0, 120)));
+            }
+            RepayDateTimeline timeline = RepayDateTimeline.of(repayDates);
+            LocalDate anchor = base.plusDays(random.nextInt(0, 120));
+            for (int offset = -5; offset <= 130; offset += 7) {
+                LocalDate queryDate = base.plusDays(offset);
+                assertEquals(ScfInterestUtils.calculateInterestDays(anchor, repayDates, queryDate),
+                        ScfInterestUtils.calculateInterestDays(anchor, timeline, queryDate));
+                assertEquals(ScfInterestUtils.calculatePenaltyDays(anchor, repayDates, queryDate),
+                        ScfInterestUtils.calculatePenaltyDays(anchor, timeline, queryDate));
+            }
+        }
+    }
+
+    @Test
+    public void testTimelineOverloadsInvalidParams() {
+        LocalDate date = LocalDate.of(2025, 10, 18);
+        assertEquals(2, ScfInterestUtils.calculateInterestDays(date, (RepayDateTimeline) null, date.plusDays(2)));
+        assertEquals(2, ScfInterestUtils.calculatePenaltyDays(date, RepayDateTimeline.EMPTY, date.plusDays(2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> ScfInterestUtils.calculateInterestDays(null, RepayDateTimeline.EMPTY, date));
+        assertThrows(IllegalArgumentException.class,
+                () -> ScfInterestUtils.calculatePenaltyDays(date, RepayDateTimeline.EMPTY, null));
+    }
+}
@@ -0,0 +1,125 @@
+package com.scf.loan.common.utils.scf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 定点计息与 BigDecimal 计息逐位一致性校验
+ */
+public class ScfInterestUtilsFixedPointTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private static final long[] EDGE_VALUES = {
+            1L, 2L, 99L, 100L, 9_999_9999L, 1_0000_0000L, 1_0000_0001L,
+            Integer.MAX_VALUE, 1L << 32, (1L << 32) + 1, 3_037_000_499L, 3_037_000_500L,
+            Long.MAX_VALUE / 1_0000_0000L, Long.MAX_VALUE / 2, Long.MAX_VALUE - 1, Long.MAX_VALUE
+    };
+
+    @Test
+    public void testCalculateInterestEdgeValues() {
+        for (long principal : EDGE_VALUES) {
+            for (long rate : EDGE_VALUES) {
+                for (long days : EDGE_VALUES) {
+                    assertInterestIdentical(principal, rate, days);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCalculateInterestBusinessDomain() {
+        SplittableRandom random = new SplittableRandom(20260201L);
+        for (int i = 0; i < SAMPLES; i++) {
+            long principal = random.nextLong(1L, 1_0000_0000_0000L);
+            long rate = random.nextLong(1L, 1_0000_0000L);
+            long days = random.nextLong(1L, 3660L);
+            assertInterestIdentical(principal, rate, days);
+        }
+    }
+
+    @Test
+    public void testCalculateInterestFullDomain() {
+        SplittableRandom random = new SplittableRandom(20260202L);
+        for (int i = 0; i < SAMPLES; i++) {
+            long principal = randomMagnitude(random);
+            long rate = randomMagnitude(random);
+            long days = randomMagnitude(random);
+            assertInterestIdentical(principal, rate, days);
+        }
+    }
+
+    @Test
+    public void testCalculateUnpaidInterestFullDomain() {
+        SplittableRandom random = new SplittableRandom(20260203L);
+        for (int i = 0; i < SAMPLES; i++) {
+            long principal = randomMagnitude(random);
+            long rate = random.nextBoolean() ? randomMagnitude(random) : -randomMagnitude(random);
+            int days = (int) Math.min(Integer.MAX_VALUE, randomMagnitude(random));
+            assertUnpaidInterestIdentical(principal, rate, days);
+        }
+        for (long principal : EDGE_VALUES) {
+            for (long rate : EDGE_VALUES) {
+                assertUnpaidInterestIdentical(principal, rate, 1);
+                assertUnpaidInterestIdentical(principal, -rate, 30);
+                assertUnpaidInterestIdentical(principal, rate, Integer.MAX_VALUE);
+            }
+        }
+        assertUnpaidInterestIdentical(100L, Long.MIN_VALUE, 1);
+        assertUnpaidInterestIdentical(100L, 0L, 1);
+    }
+
+    @Test
+    public void testInvalidParams() {
+        assertEquals(0L, ScfInterestUtils.calculateInterest(null, 100L, 1L, InterestArithmetic.FIXED_POINT));
+        assertEquals(0L, ScfInterestUtils.calculateInterest(100L, -1L, 1L, InterestArithmetic.FIXED_POINT));
+        assertEquals(0L, ScfInterestUtils.calculateUnpaidInterest(null, 100L, 1, InterestArithmetic.FIXED_POINT));
+        assertEquals(0L, ScfInterestUtils.calculateUnpaidInterest(100L, (Long) null, 1, InterestArithmetic.FIXED_POINT));
+        assertEquals(0L, ScfInterestUtils.calculateUnpaidInterest(100L, 100L, 0, InterestArithmetic.FIXED_POINT));
+    }
+
+    @Test
+    public void testDefaultArithmetic() {
+        InterestArithmetic original = ScfInterestUtils.getDefaultArithmetic();
+        try {
+            ScfInterestUtils.setDefaultArithmetic(InterestArithmetic.BIG_DECIMAL);
+            assertEquals(InterestArithmetic.BIG_DECIMAL, ScfInterestUtils.getDefaultArithmetic());
+            assertEquals(500L, ScfInterestUtils.calculateInterest(1000000L, 50000L, 1L));
+            ScfInterestUtils.setDefaultArithmetic(InterestArithmetic.FIXED_POINT);
+            assertEquals(500L, ScfInterestUtils.calculateInterest(1000000L, 50000L, 1L));
+            assertThrows(IllegalArgumentException.class, () -> ScfInterestUtils.setDefaultArithmetic(null));
+        } finally {
+            ScfInterestUtils.setDefaultArithmetic(original);
+        }
+        assertEquals(InterestArithmetic.FIXED_POINT, InterestArithmetic.of("fixed_point"));
+        assertEquals(null, InterestArithmetic.of("unknown"));
+    }
+
+    private void assertInterestIdentical(long principal, long rate, long days) {
+        long expected = ScfInterestUtils.calculateInterest(principal, rate, days, InterestArithmetic.BIG_DECIMAL);
+        long actual = ScfInterestUtils.calculateInterest(principal, rate, days, InterestArithmetic.FIXED_POINT);
+        assertEquals(expected, actual, () -> "principal=" + principal + ", rate=" + rate + ", days=" + days);
+    }
+
+    private void assertUnpaidInterestIdentical(long principal, long rate, int days) {
+        long expected = ScfInterestUtils.calculateUnpaidInterest(principal,
+                ScfInterestUtils.convertRateToBigDecimal(rate), days);
+        long bigDecimal = ScfInterestUtils.calculateUnpaidInterest(principal, rate, days, InterestArithmetic.BIG_DECIMAL);
+        long fixedPoint = ScfInterestUtils.calculateUnpaidInterest(principal, rate, days, InterestArithmetic.FIXED_POINT);
+        assertEquals(expected, bigDecimal, () -> "principal=" + principal + ", rate=" + rate + ", days=" + days);
+        assertEquals(expected, fixedPoint, () -> "principal=" + principal + ", rate=" + rate + ", days=" + days);
+    }
+
+    /**
+     * 在 [1, Long.MAX_VALUE] 内按数量级均匀取值，使小值与溢出边界都能被充分覆盖
+     */
+    private long randomMagnitude(SplittableRandom random) {
+        int bits = random.nextInt(1, 64);
+        long bound = bits == 63 ? Long.MAX_VALUE : 1L << bits;
+        return random.nextLong(1L, bound);
+    }
+}
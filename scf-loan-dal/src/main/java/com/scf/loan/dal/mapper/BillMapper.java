@@ -3,14 +3,92 @@
  * Since: 2026-02-06 16:01:23
  * Do not modify directly; regenerate via skills if changes are needed.
  * If manual changes are necessary, document @version, @since and change reasons in skill docs.
+ *
+ * @version 1.0.2
+ * @since 2026-10-18
+ * 手动变更：
+ * - 1.0.1 新增 streamScan 流式游标查询，供 BillService.scanBill 分块扫描使用（生成器暂不支持，再生前需保留）
+ * - 1.0.2 新增 insertBatch 多行插入与 updateByIdAndRevision 乐观锁更新（生成器暂不支持，再生前需保留）
  */
 package com.scf.loan.dal.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.scf.loan.dal.entity.BillEntity;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.List;
 
 /**
  * BillEntity Mapper接口
  */
 public interface BillMapper extends BaseMapper<BillEntity> {
-}
\ No newline at end of file
+
+    /**
+     * 流式扫描：逐行回调 handler，不在内存中物化结果集。
+     * fetchSize=Integer.MIN_VALUE 使 MySQL 驱动按行流式读取，扫描期间该连接不能执行其它语句
+     * @param wrapper 查询条件
+     * @param handler 逐行结果处理器
+     */
+    @Select("SELECT * FROM t_scf_bill ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(BillEntity.class)
+    void streamScan(@Param(Constants.WRAPPER) Wrapper<BillEntity> wrapper, ResultHandler<BillEntity> handler);
+
+    /**
+     * 多行插入：一条 INSERT ... VALUES (...),(...) 写入整批账单，自增主键回填到实体。
+     * 所有列均显式写入，调用方需保证单批行数不超过 max_allowed_packet
+     * @param entities 账单实体列表，不能为空
+     * @return 插入行数
+     */
+    @Insert({"<script>",
+            "INSERT INTO t_scf_bill (financing_order_id, bill_id, bill_period, bill_status, start_date, due_date,",
+            " total_amount, principal_amount, interest_amount, other_amount, paid_amount, remaining_amount,",
+            " overdue_days, state_change_time, ext_info, created_at, updated_at, created_by, updated_by, del_flag, revision)",
+            " VALUES",
+            "<foreach collection='list' item='e' separator=','>",
+            "(#{e.financingOrderId}, #{e.billId}, #{e.billPeriod}, #{e.billStatus}, #{e.startDate}, #{e.dueDate},",
+            " #{e.totalAmount}, #{e.principalAmount}, #{e.interestAmount}, #{e.otherAmount}, #{e.paidAmount}, #{e.remainingAmount},",
+            " #{e.overdueDays}, #{e.stateChangeTime}, #{e.extInfo}, #{e.createdAt}, #{e.updatedAt}, #{e.createdBy}, #{e.updatedBy}, #{e.delFlag}, #{e.revision})",
+            "</foreach>",
+            "</script>"})
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    int insertBatch(@Param("list") List<BillEntity> entities);
+
+    /**
+     * 乐观锁更新：仅当 revision 与实体一致时更新非空字段并将 revision 加一，返回 0 表示并发冲突
+     * @param entity 账单实体，id 与 revision 不能为空
+     * @return 更新行数
+     */
+    @Update({"<script>",
+            "UPDATE t_scf_bill",
+            "<set>",
+            "<if test='billStatus != null'>bill_status = #{billStatus},</if>",
+            "<if test='startDate != null'>start_date = #{startDate},</if>",
+            "<if test='dueDate != null'>due_date = #{dueDate},</if>",
+            "<if test='totalAmount != null'>total_amount = #{totalAmount},</if>",
+            "<if test='principalAmount != null'>principal_amount = #{principalAmount},</if>",
+            "<if test='interestAmount != null'>interest_amount = #{interestAmount},</if>",
+            "<if test='otherAmount != null'>other_amount = #{otherAmount},</if>",
+            "<if test='paidAmount != null'>paid_amount = #{paidAmount},</if>",
+            "<if test='remainingAmount != null'>remaining_amount = #{remainingAmount},</if>",
+            "<if test='overdueDays != null'>overdue_days = #{overdueDays},</if>",
+            "<if test='stateChangeTime != null'>state_change_time = #{stateChangeTime},</if>",
+            "<if test='extInfo != null'>ext_info = #{extInfo},</if>",
+            "<if test='updatedAt != null'>updated_at = #{updatedAt},</if>",
+            "<if test='updatedBy != null'>updated_by = #{updatedBy},</if>",
+            "<if test='delFlag != null'>del_flag = #{delFlag},</if>",
+            "revision = revision + 1",
+            "</set>",
+            "WHERE id = #{id} AND revision = #{revision}",
+            "</script>"})
+    int updateByIdAndRevision(BillEntity entity);
+}
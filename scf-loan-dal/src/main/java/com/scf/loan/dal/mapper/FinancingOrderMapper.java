@@ -3,14 +3,38 @@
  * Since: 2026-02-06 15:29:21
  * Do not modify directly; regenerate via skills if changes are needed.
  * If manual changes are necessary, document @version, @since and change reasons in skill docs.
+ *
+ * @version 1.0.1
+ * @since 2026-10-18
+ * 手动变更：
+ * - 1.0.1 新增 streamScan 流式游标查询，供 FinancingOrderService.scanFinancingOrder 分块扫描使用（生成器暂不支持，再生前需保留）
  */
 package com.scf.loan.dal.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.scf.loan.dal.entity.FinancingOrderEntity;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 /**
  * FinancingOrderEntity Mapper接口
  */
 public interface FinancingOrderMapper extends BaseMapper<FinancingOrderEntity> {
-}
\ No newline at end of file
+
+    /**
+     * 流式扫描：逐行回调 handler，不在内存中物化结果集。
+     * fetchSize=Integer.MIN_VALUE 使 MySQL 驱动按行流式读取，扫描期间该连接不能执行其它语句
+     * @param wrapper 查询条件
+     * @param handler 逐行结果处理器
+     */
+    @Select("SELECT * FROM t_scf_financing_order ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(FinancingOrderEntity.class)
+    void streamScan(@Param(Constants.WRAPPER) Wrapper<FinancingOrderEntity> wrapper, ResultHandler<FinancingOrderEntity> handler);
+}
@@ -0,0 +1,30 @@
+package com.scf.loan.job.config;
+
+import com.scf.loan.bill.plan.RepayPlanStrategyRouter;
+import com.scf.loan.bill.plan.strategy.EqualPrincipalInterestStrategy;
+import com.scf.loan.bill.plan.strategy.EqualPrincipalStrategy;
+import com.scf.loan.bill.plan.strategy.InterestFirstPrincipalLastStrategy;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.bill.service.impl.RepayPlanServiceImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+/**
+ * 账单 SDK 配置：任务侧仅需要还款计划生成，各订单本金不同，不启用计划缓存
+ *
+ * @author scf-loan
+ */
+@Configuration
+public class BillSdkConfig {
+
+    @Bean
+    public RepayPlanService billRepayPlanService() {
+        return new RepayPlanServiceImpl(new RepayPlanStrategyRouter(Arrays.asList(
+                new EqualPrincipalStrategy(),
+                new EqualPrincipalInterestStrategy(),
+                new InterestFirstPrincipalLastStrategy()
+        )));
+    }
+}
@@ -1,5 +1,6 @@
 package com.scf.loan.job.config;
 
+import com.scf.loan.job.framework.trace.TraceIdGenerator;
 import com.xxl.job.core.executor.impl.XxlJobSpringExecutor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,9 +35,19 @@ public class XxlJobConfig {
     @Value("${xxl.job.executor.logretentiondays}")
     private int logRetentionDays;
 
+    @Value("${scf.job.trace.node-id:}")
+    private String traceNodeId;
+
     @Bean
     public XxlJobSpringExecutor xxlJobExecutor() {
         log.info(">>>>>>>>>>> xxl-job config init.");
+        if (traceNodeId == null || traceNodeId.trim().isEmpty()) {
+            // 默认节点号为进程名散列，多节点之间可能相同，此时同一时刻生成的追踪号会重复
+            log.warn(">>>>>>>>>>> scf.job.trace.node-id 未配置，使用散列节点号 {}，多节点部署时追踪号可能重复",
+                    TraceIdGenerator.getNodeId());
+        } else {
+            TraceIdGenerator.setNodeId(traceNodeId);
+        }
         XxlJobSpringExecutor xxlJobSpringExecutor = new XxlJobSpringExecutor();
         xxlJobSpringExecutor.setAdminAddresses(adminAddresses);
         xxlJobSpringExecutor.setAppname(appname);
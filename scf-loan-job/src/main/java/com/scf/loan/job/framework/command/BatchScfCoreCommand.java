@@ -0,0 +1,14 @@
+package com.scf.loan.job.framework.command;
+
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.xxl.job.core.biz.model.ReturnT;
+
+import java.util.List;
+
+/**
+ * 支持批量执行的命令：批量分发时同一 commandType、executeType 的参数整组交给 executeBatch，
+ * 单条分发仍走 execute
+ */
+public interface BatchScfCoreCommand<T> extends ScfCoreCommand<T> {
+    ReturnT<String> executeBatch(List<ScfCoreCommandParam<T>> params);
+}
@@ -1,5 +1,6 @@
 package com.scf.loan.job.framework.dispatcher;
 
+import com.scf.loan.job.framework.command.BatchScfCoreCommand;
 import com.scf.loan.job.framework.command.CommandService;
 import com.scf.loan.job.framework.command.ScfCoreCommand;
 import com.scf.loan.job.framework.execute.ExecuteService;
@@ -14,9 +15,16 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 public class UnifiedJobDispatcher {
+    private static final int MAX_BATCH_ERRORS = 10;
+
     private final RouteService routeService;
     private final CommandService commandService;
     private final ExecuteService executeService;
@@ -40,11 +48,22 @@ public class UnifiedJobDispatcher {
         if (param.getCommandType() == null || param.getCommandType().isBlank()) {
             return new ReturnT<>(ReturnT.FAIL_CODE, "commandType is blank");
         }
+        boolean ownsTrace = false;
         if (param.getTraceLogId() == null || param.getTraceLogId().isBlank()) {
-            param.setTraceLogId(TraceContext.initRoot("SC", param.getCommandType()));
+            ownsTrace = TraceContext.joinOrInitRoot("SC", param.getCommandType());
+            param.setTraceLogId(TraceContext.getRootId());
         }
         MDC.put("traceId", param.getTraceLogId());
+        try {
+            return doDispatch(param);
+        } finally {
+            if (ownsTrace) {
+                clearTrace();
+            }
+        }
+    }
 
+    private ReturnT<String> doDispatch(ScfCoreCommandParam<?> param) {
         monitorService.recordExecute(param.getExecuteType() == null ? "sync" : param.getExecuteType());
 
         long routeStart = System.currentTimeMillis();
@@ -69,4 +88,135 @@ public class UnifiedJobDispatcher {
             return new ReturnT<>(ReturnT.FAIL_CODE, ex.getMessage());
         }
     }
+
+    /**
+     * 批量分发：整批共用一个追踪根、路由依赖属性相同的参数只路由一次，
+     * 按 commandType + executeType 分组，批量命令整组执行，其余命令逐条执行，结果汇总返回
+     */
+    public ReturnT<String> dispatchBatch(List<? extends ScfCoreCommandParam<?>> params) {
+        if (params == null || params.isEmpty()) {
+            return new ReturnT<>(ReturnT.FAIL_CODE, "params is empty");
+        }
+        List<ScfCoreCommandParam<?>> valid = new ArrayList<>(params.size());
+        List<String> errors = new ArrayList<>();
+        String rootId = null;
+        boolean ownsTrace = false;
+        int failed = 0;
+        for (ScfCoreCommandParam<?> param : params) {
+            if (param == null || param.getCommandType() == null || param.getCommandType().isBlank()) {
+                failed++;
+                continue;
+            }
+            if (param.getTraceLogId() == null || param.getTraceLogId().isBlank()) {
+                if (rootId == null) {
+                    ownsTrace = TraceContext.joinOrInitRoot("SC", param.getCommandType());
+                    rootId = TraceContext.getRootId();
+                }
+                param.setTraceLogId(rootId);
+            }
+            valid.add(param);
+        }
+        if (failed > 0) {
+            errors.add("commandType is blank: " + failed);
+        }
+        if (valid.isEmpty()) {
+            return new ReturnT<>(ReturnT.FAIL_CODE, "total=" + params.size() + ", success=0, failed=" + failed
+                    + ", errors=" + errors);
+        }
+        MDC.put("traceId", rootId != null ? rootId : valid.get(0).getTraceLogId());
+
+        try {
+            long routeStart = System.currentTimeMillis();
+            monitorService.recordRouteBatch(routeService.routeAll(valid), System.currentTimeMillis() - routeStart);
+
+            Map<String, List<ScfCoreCommandParam<?>>> groups = new LinkedHashMap<>();
+            for (ScfCoreCommandParam<?> param : valid) {
+                groups.computeIfAbsent(param.getCommandType() + '\u0001' + executeType(param), key -> new ArrayList<>())
+                        .add(param);
+            }
+
+            int success = 0;
+            for (List<ScfCoreCommandParam<?>> group : groups.values()) {
+                String commandType = group.get(0).getCommandType();
+                monitorService.recordExecute(executeType(group.get(0)), group.size());
+                ScfCoreCommand<?> command = commandService.getCommand(commandType);
+                if (command == null) {
+                    failed += group.size();
+                    addError(errors, "command not found: " + commandType);
+                    continue;
+                }
+                long commandStart = System.currentTimeMillis();
+                int groupSuccess = command instanceof BatchScfCoreCommand
+                        ? executeGroup(group, (BatchScfCoreCommand<?>) command, errors)
+                        : executeEach(group, command, errors);
+                monitorService.recordCommandBatch(commandType, groupSuccess, group.size() - groupSuccess,
+                        System.currentTimeMillis() - commandStart);
+                success += groupSuccess;
+                failed += group.size() - groupSuccess;
+            }
+            String msg = "total=" + params.size() + ", success=" + success + ", failed=" + failed
+                    + (errors.isEmpty() ? "" : ", errors=" + errors);
+            return new ReturnT<>(failed == 0 ? ReturnT.SUCCESS_CODE : ReturnT.FAIL_CODE, msg);
+        } finally {
+            if (ownsTrace) {
+                clearTrace();
+            }
+        }
+    }
+
+    /**
+     * 只清理本次分发自己创建的追踪上下文，沿用外层（如任务处理器）的追踪根时由外层清理
+     */
+    private static void clearTrace() {
+        TraceContext.clear();
+        MDC.remove("traceId");
+    }
+
+    private int executeGroup(List<ScfCoreCommandParam<?>> group, BatchScfCoreCommand<?> command, List<String> errors) {
+        try {
+            ReturnT<String> result = executeService.executeBatch(group, command);
+            if (isSuccess(result)) {
+                return group.size();
+            }
+            addError(errors, command.getCommandType() + ": " + (result == null ? null : result.getMsg()));
+        } catch (Exception ex) {
+            monitorService.recordDispatcherError(ex.getClass().getSimpleName());
+            log.error("dispatch batch failed, commandType={}, size={}", command.getCommandType(), group.size(), ex);
+            addError(errors, command.getCommandType() + ": " + ex.getMessage());
+        }
+        return 0;
+    }
+
+    private int executeEach(List<ScfCoreCommandParam<?>> group, ScfCoreCommand<?> command, List<String> errors) {
+        int success = 0;
+        for (ScfCoreCommandParam<?> param : group) {
+            try {
+                ReturnT<String> result = executeService.execute(param, command);
+                if (isSuccess(result)) {
+                    success++;
+                } else {
+                    addError(errors, command.getCommandType() + ": " + (result == null ? null : result.getMsg()));
+                }
+            } catch (Exception ex) {
+                monitorService.recordDispatcherError(ex.getClass().getSimpleName());
+                log.error("dispatch failed, commandType={}", command.getCommandType(), ex);
+                addError(errors, command.getCommandType() + ": " + ex.getMessage());
+            }
+        }
+        return success;
+    }
+
+    private static String executeType(ScfCoreCommandParam<?> param) {
+        return param.getExecuteType() == null ? "sync" : param.getExecuteType();
+    }
+
+    private static boolean isSuccess(ReturnT<String> result) {
+        return result != null && result.getCode() == ReturnT.SUCCESS_CODE;
+    }
+
+    private static void addError(List<String> errors, String error) {
+        if (errors.size() < MAX_BATCH_ERRORS) {
+            errors.add(error);
+        }
+    }
 }
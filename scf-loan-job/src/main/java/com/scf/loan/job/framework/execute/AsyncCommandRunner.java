@@ -0,0 +1,64 @@
+package com.scf.loan.job.framework.execute;
+
+import com.scf.loan.job.framework.command.ScfCoreCommand;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.xxl.job.core.biz.model.ReturnT;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Slf4j
+final class AsyncCommandRunner {
+
+    private AsyncCommandRunner() {
+    }
+
+    static ReturnT<String> run(ScfCoreCommandParam<?> param, ScfCoreCommand<?> command, RetryStrategy retryStrategy,
+                               MonitorService monitorService) {
+        long start = System.currentTimeMillis();
+        ReturnT<String> result = null;
+        RuntimeException error = null;
+        try {
+            result = retryStrategy.executeWithRetry(param, () -> ExecuteStrategy.invoke(command, param));
+        } catch (RuntimeException ex) {
+            error = ex;
+        }
+        return finish(command, result, error, start, monitorService);
+    }
+
+    /**
+     * 重试由 executor 承接，返回的 future 在最后一次尝试结束后完成，且不会异常完成
+     */
+    static CompletableFuture<ReturnT<String>> runAsync(ScfCoreCommandParam<?> param, ScfCoreCommand<?> command,
+                                                       RetryStrategy retryStrategy, MonitorService monitorService,
+                                                       Executor executor) {
+        long start = System.currentTimeMillis();
+        CompletableFuture<ReturnT<String>> future;
+        try {
+            future = retryStrategy.executeWithRetryAsync(param, () -> ExecuteStrategy.invoke(command, param), executor);
+        } catch (RuntimeException ex) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+        }
+        return future.handle((result, error) -> finish(command, result, error, start, monitorService));
+    }
+
+    private static ReturnT<String> finish(ScfCoreCommand<?> command, ReturnT<String> result, Throwable error,
+                                          long start, MonitorService monitorService) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            log.error("async command failed, commandType={}", command.getCommandType(), cause);
+            result = new ReturnT<>(ReturnT.FAIL_CODE, cause.getMessage());
+        }
+        boolean success = result != null && result.getCode() == ReturnT.SUCCESS_CODE;
+        if (!success) {
+            log.warn("async command returned failure, commandType={}, msg={}",
+                    command.getCommandType(), result == null ? null : result.getMsg());
+        }
+        monitorService.recordAsyncCommand(command.getCommandType(), success, System.currentTimeMillis() - start);
+        return result;
+    }
+}
@@ -2,15 +2,53 @@ package com.scf.loan.job.framework.execute;
 
 import com.scf.loan.job.framework.command.ScfCoreCommand;
 import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.scf.loan.job.framework.trace.TraceContext;
 import com.xxl.job.core.biz.model.ReturnT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 @Component
-public class AsyncExecuteStrategy implements ExecuteStrategy {
-    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+public class AsyncExecuteStrategy implements ExecuteStrategy, DisposableBean {
+    static final String EXECUTOR_NAME = "async";
+
+    private final AsyncExecutorProperties properties;
+    private final MonitorService monitorService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Semaphore> bulkheads = new HashMap<>();
+
+    @Autowired
+    public AsyncExecuteStrategy(AsyncExecutorProperties properties, MonitorService monitorService) {
+        this.properties = properties;
+        this.monitorService = monitorService;
+        int coreSize = Math.max(1, properties.getCoreSize());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(coreSize, Math.max(coreSize, properties.getMaxSize()),
+                properties.getKeepAliveSeconds(), TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> new Thread(runnable, "scf-job-async-" + threadIndex.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        monitorService.registerExecutor(EXECUTOR_NAME, executor);
+        for (Map.Entry<String, Integer> entry : properties.getBulkheads().entrySet()) {
+            int limit = Math.max(1, entry.getValue());
+            Semaphore bulkhead = new Semaphore(limit);
+            bulkheads.put(entry.getKey(), bulkhead);
+            monitorService.registerBulkhead(EXECUTOR_NAME, entry.getKey(), bulkhead, limit);
+        }
+    }
 
     @Override
     public String getExecuteType() {
@@ -19,7 +57,47 @@ public class AsyncExecuteStrategy implements ExecuteStrategy {
 
     @Override
     public ReturnT<String> execute(ScfCoreCommandParam<?> param, ScfCoreCommand<?> command, RetryStrategy retryStrategy) {
-        executorService.submit(() -> retryStrategy.executeWithRetry(param, () -> command.execute((ScfCoreCommandParam<Object>) param)));
-        return new ReturnT<>(ReturnT.SUCCESS_CODE, "async submitted");
+        String commandType = command.getCommandType();
+        Semaphore bulkhead = bulkheads.get(commandType);
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            monitorService.recordExecutorRejected(EXECUTOR_NAME, commandType, "bulkhead");
+            return new ReturnT<>(ReturnT.FAIL_CODE, "async rejected, bulkhead full: " + commandType);
+        }
+        long submitNanos = System.nanoTime();
+        Runnable task = Deadline.wrap(TraceContext.wrap(() -> {
+            monitorService.recordExecutorWait(EXECUTOR_NAME, System.nanoTime() - submitNanos);
+            AsyncCommandRunner.runAsync(param, command, retryStrategy, monitorService, executor)
+                    .whenComplete((result, error) -> release(bulkhead));
+        }));
+        try {
+            executor.execute(task);
+            return new ReturnT<>(ReturnT.SUCCESS_CODE, "async submitted");
+        } catch (RejectedExecutionException ex) {
+            monitorService.recordExecutorRejected(EXECUTOR_NAME, commandType, executor.isShutdown() ? "shutdown" : "queue");
+            if (properties.getRejectionPolicy() == AsyncExecutorProperties.RejectionPolicy.CALLER_RUNS && !executor.isShutdown()) {
+                try {
+                    return AsyncCommandRunner.run(param, command, retryStrategy, monitorService);
+                } finally {
+                    release(bulkhead);
+                }
+            }
+            release(bulkhead);
+            return new ReturnT<>(ReturnT.FAIL_CODE, "async rejected, executor saturated: " + commandType);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(properties.getAwaitTerminationSeconds(), TimeUnit.SECONDS)) {
+            List<Runnable> dropped = executor.shutdownNow();
+            log.warn("async executor drain timeout, dropped={}, active={}", dropped.size(), executor.getActiveCount());
+        }
+    }
+
+    private void release(Semaphore bulkhead) {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
     }
 }
@@ -0,0 +1,53 @@
+package com.scf.loan.job.framework.execute;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 异步执行线程池配置
+ *
+ * @author scf-loan
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scf.job.async")
+public class AsyncExecutorProperties {
+
+    private int coreSize = 4;
+
+    private int maxSize = 8;
+
+    /**
+     * 有界等待队列容量，队列满且线程数达到 maxSize 后按 rejectionPolicy 处理
+     */
+    private int queueCapacity = 200;
+
+    private long keepAliveSeconds = 60;
+
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+    /**
+     * 停机时等待在途任务完成的最长时间
+     */
+    private long awaitTerminationSeconds = 30;
+
+    /**
+     * 按 commandType 的舱壁：同一命令在途（排队+执行）任务数上限，未配置的命令不限制
+     */
+    private Map<String, Integer> bulkheads = new HashMap<>();
+
+    public enum RejectionPolicy {
+        /**
+         * 直接返回失败
+         */
+        ABORT,
+        /**
+         * 由调度线程同步执行
+         */
+        CALLER_RUNS
+    }
+}
@@ -0,0 +1,283 @@
+package com.scf.loan.job.framework.execute;
+
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.scf.loan.job.framework.trace.TraceContext;
+import com.xxl.job.core.biz.model.ReturnT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 指数退避加抖动的重试策略：每个 commandType 的重试受令牌桶预算限制，下游故障时不会把重试放大成洪峰；
+ * 重试由定时器到期后重新提交：异步重试提交到执行线程池，等待期间不占用执行线程；同步重试投递回调用线程
+ *
+ * @author scf-loan
+ */
+@Slf4j
+@Primary
+@Component
+public class BackoffRetryStrategy implements RetryStrategy, DisposableBean {
+    static final String GIVE_UP_FATAL = "fatal";
+    static final String GIVE_UP_EXHAUSTED = "exhausted";
+    static final String GIVE_UP_BUDGET = "budget";
+    static final String GIVE_UP_REJECTED = "rejected";
+    static final String GIVE_UP_DEADLINE = "deadline";
+
+    private final RetryProperties properties;
+    private final MonitorService monitorService;
+    private final ScheduledThreadPoolExecutor timer;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+    private final Set<PendingRetry> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public BackoffRetryStrategy(RetryProperties properties, MonitorService monitorService) {
+        this.properties = properties;
+        this.monitorService = monitorService;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "scf-job-retry-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 同步调用方本身就在等待结果：与异步重试共用定时器，到期的重试投递回调用线程执行，
+     * 调用线程只在结果上等待一次，等待不超过截止时间，定时器关闭时未到期的重试立即执行
+     */
+    @Override
+    public ReturnT<String> executeWithRetry(ScfCoreCommandParam<?> param, Supplier<ReturnT<String>> action) {
+        BlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<>();
+        CompletableFuture<ReturnT<String>> future = executeWithRetryAsync(param, action, mailbox::add);
+        Deadline deadline = Deadline.current();
+        try {
+            while (!future.isDone()) {
+                Runnable retry = deadline != null
+                        ? mailbox.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS)
+                        : mailbox.take();
+                if (retry != null) {
+                    retry.run();
+                } else if (deadline.isExpired()) {
+                    String commandType = param != null ? param.getCommandType() : null;
+                    monitorService.recordRetryGiveUp(commandType, GIVE_UP_DEADLINE);
+                    return deadline.timeoutResult(commandType);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ReturnT.FAIL;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<ReturnT<String>> executeWithRetryAsync(ScfCoreCommandParam<?> param,
+                                                                    Supplier<ReturnT<String>> action,
+                                                                    Executor executor) {
+        CompletableFuture<ReturnT<String>> future = new CompletableFuture<>();
+        attempt(param, action, executor, future, 0);
+        return future;
+    }
+
+    @Override
+    public void destroy() {
+        // 未到期的重试立即提交，执行器已关闭时按最后一次结果结束
+        timer.shutdownNow();
+        int flushed = 0;
+        for (PendingRetry pending : pendingRetries) {
+            if (pending.claim()) {
+                pending.handOff.run();
+                flushed++;
+            }
+        }
+        if (flushed > 0) {
+            log.warn("retry timer stopped, flushed pending retries={}", flushed);
+        }
+    }
+
+    /**
+     * 判断失败是否值得重试，子类可按业务错误码覆盖
+     */
+    protected boolean isRetryable(ReturnT<String> result, Throwable error) {
+        if (error != null) {
+            for (Class<? extends Throwable> fatal : properties.getFatalExceptions()) {
+                if (fatal.isInstance(error)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return result == null || !properties.getFatalCodes().contains(result.getCode());
+    }
+
+    private void attempt(ScfCoreCommandParam<?> param, Supplier<ReturnT<String>> action, Executor executor,
+                         CompletableFuture<ReturnT<String>> future, int attempt) {
+        ReturnT<String> result = null;
+        RuntimeException error = null;
+        try {
+            result = action.get();
+        } catch (RuntimeException ex) {
+            error = ex;
+        }
+        if (error == null && isSuccess(result)) {
+            future.complete(result);
+            return;
+        }
+        String commandType = param != null ? param.getCommandType() : null;
+        long delay = nextDelay(commandType, attempt, retryTimes(param), result, error);
+        if (delay < 0) {
+            complete(future, result, error);
+            return;
+        }
+        ReturnT<String> lastResult = result;
+        RuntimeException lastError = error;
+        Runnable retry = Deadline.wrap(TraceContext.wrap(() -> attempt(param, action, executor, future, attempt + 1)));
+        PendingRetry pending = new PendingRetry(() -> {
+            try {
+                executor.execute(retry);
+            } catch (RejectedExecutionException ex) {
+                monitorService.recordRetryGiveUp(commandType, GIVE_UP_REJECTED);
+                complete(future, lastResult, lastError);
+            }
+        });
+        pendingRetries.add(pending);
+        try {
+            timer.schedule(pending, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // 定时器已关闭，与 destroy 一致立即提交
+            pending.run();
+        }
+    }
+
+    /**
+     * 计算下一次重试前的等待时间并记录指标，不再重试时返回 -1
+     */
+    private long nextDelay(String commandType, int attempt, int retryTimes, ReturnT<String> result, Throwable error) {
+        if (retryTimes <= 0) {
+            return -1;
+        }
+        if (!isRetryable(result, error)) {
+            monitorService.recordRetryGiveUp(commandType, GIVE_UP_FATAL);
+            return -1;
+        }
+        if (attempt >= retryTimes) {
+            monitorService.recordRetryGiveUp(commandType, GIVE_UP_EXHAUSTED);
+            return -1;
+        }
+        long cap = (long) Math.min(properties.getMaxDelayMillis(),
+                properties.getInitialDelayMillis() * Math.pow(properties.getMultiplier(), attempt));
+        double jitter = Math.min(1.0, Math.max(0.0, properties.getJitterRatio()));
+        long delay = Math.max(0L, cap - (long) (cap * jitter * ThreadLocalRandom.current().nextDouble()));
+        Deadline deadline = Deadline.current();
+        if (Deadline.isTimeout(result) || deadline != null && delay >= deadline.remainingMillis()) {
+            monitorService.recordRetryGiveUp(commandType, GIVE_UP_DEADLINE);
+            return -1;
+        }
+        if (!budget(commandType).tryAcquire(System.nanoTime())) {
+            monitorService.recordRetryGiveUp(commandType, GIVE_UP_BUDGET);
+            return -1;
+        }
+        monitorService.recordRetry(commandType, delay);
+        return delay;
+    }
+
+    private RetryBudget budget(String commandType) {
+        String key = commandType != null ? commandType : "";
+        RetryBudget budget = budgets.get(key);
+        if (budget == null) {
+            budget = budgets.computeIfAbsent(key, type -> new RetryBudget(properties.getBudgetCapacity(),
+                    properties.getBudgetRefillPerSecond(), System.nanoTime()));
+        }
+        return budget;
+    }
+
+    private static void complete(CompletableFuture<ReturnT<String>> future, ReturnT<String> result,
+                                 RuntimeException error) {
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(result != null ? result : ReturnT.FAIL);
+        }
+    }
+
+    private static boolean isSuccess(ReturnT<String> result) {
+        return result != null && result.getCode() == ReturnT.SUCCESS_CODE;
+    }
+
+    private static int retryTimes(ScfCoreCommandParam<?> param) {
+        return param != null && param.getRetryTimes() != null ? param.getRetryTimes() : 0;
+    }
+
+    /**
+     * 已排入定时器的重试，由定时器到期或 destroy 二者之一认领后提交，保证只提交一次
+     */
+    private final class PendingRetry implements Runnable {
+        private final Runnable handOff;
+
+        private PendingRetry(Runnable handOff) {
+            this.handOff = handOff;
+        }
+
+        private boolean claim() {
+            return pendingRetries.remove(this);
+        }
+
+        @Override
+        public void run() {
+            if (claim()) {
+                handOff.run();
+            }
+        }
+    }
+
+    /**
+     * 令牌桶：每次重试消耗一个令牌，按时间匀速补充，桶空时放弃重试
+     */
+    private static final class RetryBudget {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private RetryBudget(int capacity, double refillPerSecond, long nowNanos) {
+            this.capacity = Math.max(0, capacity);
+            this.refillPerNano = Math.max(0.0, refillPerSecond) / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = this.capacity;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        private synchronized boolean tryAcquire(long nowNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = nowNanos;
+            if (tokens < 1.0) {
+                return false;
+            }
+            tokens -= 1.0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.scf.loan.job.framework.execute;
+
+import com.xxl.job.core.biz.model.ReturnT;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 命令的端到端截止时间，由 ScfCoreCommandParam.timeout 在进入执行层时换算，跨重试与执行线程保持不变；
+ * 命令实现可通过 Deadline.current() 取剩余时间，用于设置下游调用超时
+ *
+ * @author scf-loan
+ */
+public final class Deadline {
+    /**
+     * 超时返回码，与 XXL-JOB 任务超时一致
+     */
+    public static final int TIMEOUT_CODE = 502;
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long timeoutMillis;
+    private final long deadlineNanos;
+
+    private Deadline(long timeoutMillis, long deadlineNanos) {
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(long timeoutMillis) {
+        return new Deadline(timeoutMillis, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * 当前线程所执行命令的截止时间，没有设置 timeout 时返回 null
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 把提交线程的截止时间带到执行线程
+     */
+    public static Runnable wrap(Runnable task) {
+        Deadline captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> captured.run(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> T run(Supplier<T> action) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    static boolean isTimeout(ReturnT<String> result) {
+        return result != null && result.getCode() == TIMEOUT_CODE;
+    }
+
+    ReturnT<String> timeoutResult(String commandType) {
+        return new ReturnT<>(TIMEOUT_CODE, "command timeout after " + timeoutMillis + "ms: " + commandType);
+    }
+}
@@ -0,0 +1,115 @@
+package com.scf.loan.job.framework.execute;
+
+import com.scf.loan.job.framework.command.ScfCoreCommand;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.xxl.job.core.biz.model.ReturnT;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按截止时间执行命令：过期的尝试直接返回超时，执行中超过截止时间则中断执行线程，让出执行槽位
+ *
+ * @author scf-loan
+ */
+@Slf4j
+final class DeadlineCommand implements ScfCoreCommand<Object> {
+    static final String STAGE_EXPIRED = "expired";
+    static final String STAGE_RUNNING = "running";
+
+    private static final ScheduledThreadPoolExecutor WATCHDOG = watchdog();
+
+    private final ScfCoreCommand<?> command;
+    private final Deadline deadline;
+    private final MonitorService monitorService;
+
+    DeadlineCommand(ScfCoreCommand<?> command, Deadline deadline, MonitorService monitorService) {
+        this.command = command;
+        this.deadline = deadline;
+        this.monitorService = monitorService;
+    }
+
+    @Override
+    public String getCommandType() {
+        return command.getCommandType();
+    }
+
+    @Override
+    public ReturnT<String> execute(ScfCoreCommandParam<Object> param) {
+        if (deadline.isExpired()) {
+            return timeout(STAGE_EXPIRED);
+        }
+        Interrupter interrupter = new Interrupter(Thread.currentThread());
+        ScheduledFuture<?> scheduled = WATCHDOG.schedule(interrupter::fire, deadline.remainingNanos(),
+                TimeUnit.NANOSECONDS);
+        ReturnT<String> result;
+        try {
+            result = deadline.run(() -> ExecuteStrategy.invoke(command, param));
+        } catch (RuntimeException ex) {
+            if (interrupter.finish()) {
+                log.warn("command interrupted by deadline, commandType={}", getCommandType(), ex);
+                return timeout(STAGE_RUNNING);
+            }
+            throw ex;
+        } finally {
+            scheduled.cancel(false);
+        }
+        if (interrupter.finish()) {
+            return timeout(STAGE_RUNNING);
+        }
+        return result;
+    }
+
+    private ReturnT<String> timeout(String stage) {
+        if (monitorService != null) {
+            monitorService.recordCommandTimeout(getCommandType(), stage);
+        }
+        return deadline.timeoutResult(getCommandType());
+    }
+
+    private static ScheduledThreadPoolExecutor watchdog() {
+        ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "scf-job-deadline-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.setRemoveOnCancelPolicy(true);
+        return watchdog;
+    }
+
+    /**
+     * 中断与命令结束互斥，保证中断标记不会泄漏到执行线程的下一个任务
+     */
+    private static final class Interrupter {
+        private final Thread worker;
+        private boolean finished;
+        private boolean fired;
+
+        private Interrupter(Thread worker) {
+            this.worker = worker;
+        }
+
+        private synchronized void fire() {
+            if (!finished) {
+                fired = true;
+                worker.interrupt();
+            }
+        }
+
+        /**
+         * 结束监控，返回是否已因超时中断；已中断时清除中断标记
+         */
+        private synchronized boolean finish() {
+            if (!finished) {
+                finished = true;
+                if (fired) {
+                    Thread.interrupted();
+                }
+            }
+            return fired;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.scf.loan.job.framework.execute;
 
+import com.scf.loan.job.framework.command.BatchScfCoreCommand;
 import com.scf.loan.job.framework.command.ScfCoreCommand;
 import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
 import com.xxl.job.core.biz.model.ReturnT;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,15 +16,21 @@ import java.util.Map;
 public class ExecuteService {
     private final Map<String, ExecuteStrategy> strategies = new HashMap<>();
     private final RetryStrategy retryStrategy;
+    private final MonitorService monitorService;
 
-    @Autowired
     public ExecuteService(List<ExecuteStrategy> strategies, RetryStrategy retryStrategy) {
+        this(strategies, retryStrategy, null);
+    }
+
+    @Autowired
+    public ExecuteService(List<ExecuteStrategy> strategies, RetryStrategy retryStrategy, MonitorService monitorService) {
         if (strategies != null) {
             for (ExecuteStrategy strategy : strategies) {
                 this.strategies.put(strategy.getExecuteType(), strategy);
             }
         }
         this.retryStrategy = retryStrategy;
+        this.monitorService = monitorService;
     }
 
     public ReturnT<String> execute(ScfCoreCommandParam<?> param, ScfCoreCommand<?> command) {
@@ -34,6 +42,40 @@ public class ExecuteService {
         if (strategy == null) {
             return ReturnT.FAIL;
         }
-        return strategy.execute(param, command, retryStrategy);
+        Long timeout = param != null ? param.getTimeout() : null;
+        if (timeout == null || timeout <= 0) {
+            return strategy.execute(param, command, retryStrategy);
+        }
+        // timeout 是整条执行链路的截止时间，覆盖排队、各次尝试与重试等待
+        Deadline deadline = Deadline.after(timeout);
+        ExecuteStrategy target = strategy;
+        return deadline.run(() -> target.execute(param, new DeadlineCommand(command, deadline, monitorService),
+                retryStrategy));
+    }
+
+    /**
+     * 整组参数交给批量命令执行一次，执行方式、重试与舱壁取组内首个参数的配置
+     */
+    public ReturnT<String> executeBatch(List<? extends ScfCoreCommandParam<?>> params, BatchScfCoreCommand<?> command) {
+        if (params == null || params.isEmpty()) {
+            return ReturnT.SUCCESS;
+        }
+        ScfCoreCommand<Object> batch = new ScfCoreCommand<Object>() {
+            @Override
+            public String getCommandType() {
+                return command.getCommandType();
+            }
+
+            @Override
+            public ReturnT<String> execute(ScfCoreCommandParam<Object> ignored) {
+                return invokeBatch(command, params);
+            }
+        };
+        return execute(params.get(0), batch);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ReturnT<String> invokeBatch(BatchScfCoreCommand<T> command, List<? extends ScfCoreCommandParam<?>> params) {
+        return command.executeBatch((List<ScfCoreCommandParam<T>>) (List<?>) params);
     }
 }
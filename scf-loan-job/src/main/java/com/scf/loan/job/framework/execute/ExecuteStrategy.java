@@ -8,4 +8,9 @@ public interface ExecuteStrategy {
     String getExecuteType();
 
     ReturnT<String> execute(ScfCoreCommandParam<?> param, ScfCoreCommand<?> command, RetryStrategy retryStrategy);
+
+    @SuppressWarnings("unchecked")
+    static <T> ReturnT<String> invoke(ScfCoreCommand<T> command, ScfCoreCommandParam<?> param) {
+        return command.execute((ScfCoreCommandParam<T>) param);
+    }
 }
@@ -0,0 +1,63 @@
+package com.scf.loan.job.framework.execute;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 重试退避与重试预算配置
+ *
+ * @author scf-loan
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scf.job.retry")
+public class RetryProperties {
+
+    /**
+     * 首次重试前的等待时间（毫秒）
+     */
+    private long initialDelayMillis = 100;
+
+    /**
+     * 单次等待时间上限（毫秒）
+     */
+    private long maxDelayMillis = 10000;
+
+    /**
+     * 每次重试等待时间的增长倍数
+     */
+    private double multiplier = 2.0;
+
+    /**
+     * 抖动比例，0 表示不抖动，1 表示在 [0, 退避时间] 内均匀取值
+     */
+    private double jitterRatio = 1.0;
+
+    /**
+     * 单个 commandType 重试令牌桶容量
+     */
+    private int budgetCapacity = 20;
+
+    /**
+     * 单个 commandType 每秒补充的重试令牌数
+     */
+    private double budgetRefillPerSecond = 2.0;
+
+    /**
+     * 不重试的返回码
+     */
+    private Set<Integer> fatalCodes = new HashSet<>();
+
+    /**
+     * 不重试的异常类型，参数错误重试也不会成功
+     */
+    private List<Class<? extends Throwable>> fatalExceptions =
+            new ArrayList<>(Collections.singletonList(IllegalArgumentException.class));
+}
@@ -3,8 +3,25 @@ package com.scf.loan.job.framework.execute;
 import com.scf.loan.job.framework.model.ScfCoreCommandParam;
 import com.xxl.job.core.biz.model.ReturnT;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 public interface RetryStrategy {
     ReturnT<String> executeWithRetry(ScfCoreCommandParam<?> param, Supplier<ReturnT<String>> action);
+
+    /**
+     * 异步重试：首次尝试在当前线程执行，之后的尝试提交到 executor；默认实现在当前线程同步完成全部尝试
+     */
+    default CompletableFuture<ReturnT<String>> executeWithRetryAsync(ScfCoreCommandParam<?> param,
+                                                                     Supplier<ReturnT<String>> action,
+                                                                     Executor executor) {
+        CompletableFuture<ReturnT<String>> future = new CompletableFuture<>();
+        try {
+            future.complete(executeWithRetry(param, action));
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
 }
@@ -14,6 +14,6 @@ public class SyncExecuteStrategy implements ExecuteStrategy {
 
     @Override
     public ReturnT<String> execute(ScfCoreCommandParam<?> param, ScfCoreCommand<?> command, RetryStrategy retryStrategy) {
-        return retryStrategy.executeWithRetry(param, () -> command.execute((ScfCoreCommandParam<Object>) param));
+        return retryStrategy.executeWithRetry(param, () -> ExecuteStrategy.invoke(command, param));
     }
 }
@@ -0,0 +1,41 @@
+package com.scf.loan.job.framework.execute;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 虚拟线程执行配置
+ *
+ * @author scf-loan
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scf.job.virtual")
+public class VirtualExecutorProperties {
+
+    /**
+     * 全部命令在途（等待许可+执行）任务数上限，超过时直接拒绝
+     */
+    private int maxPending = 10000;
+
+    /**
+     * 单个 commandType 默认并发执行数
+     */
+    private int defaultConcurrency = 200;
+
+    /**
+     * 按 commandType 覆盖并发执行数
+     */
+    private Map<String, Integer> concurrency = new HashMap<>();
+
+    /**
+     * 运行时不支持虚拟线程时平台线程池的线程数
+     */
+    private int fallbackPoolSize = 64;
+
+    private long awaitTerminationSeconds = 30;
+}
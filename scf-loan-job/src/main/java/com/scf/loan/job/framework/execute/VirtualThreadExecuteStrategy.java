@@ -0,0 +1,183 @@
+package com.scf.loan.job.framework.execute;
+
+import com.scf.loan.job.framework.command.ScfCoreCommand;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.scf.loan.job.framework.trace.TraceContext;
+import com.xxl.job.core.biz.model.ReturnT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 面向 I/O 密集命令的执行策略：运行时支持时每个命令一个虚拟线程，否则退化为平台线程池；
+ * 并发度由按 commandType 的许可控制，拿不到许可的任务留在该类型的队列中，许可释放时才交给执行器，
+ * 等待期间不占用任何线程，某一类型饱和不会占满退化线程池而阻塞其他类型
+ *
+ * @author scf-loan
+ */
+@Slf4j
+@Component
+public class VirtualThreadExecuteStrategy implements ExecuteStrategy, DisposableBean {
+    static final String EXECUTOR_NAME = "virtual";
+
+    private final VirtualExecutorProperties properties;
+    private final MonitorService monitorService;
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final Semaphore pending;
+    private final Map<String, CommandLane> lanes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VirtualThreadExecuteStrategy(VirtualExecutorProperties properties, MonitorService monitorService) {
+        this(properties, monitorService, newVirtualThreadExecutor());
+    }
+
+    /**
+     * @param virtualExecutor 虚拟线程执行器，为空时使用平台线程池
+     */
+    VirtualThreadExecuteStrategy(VirtualExecutorProperties properties, MonitorService monitorService,
+                                 ExecutorService virtualExecutor) {
+        this.properties = properties;
+        this.monitorService = monitorService;
+        this.virtual = virtualExecutor != null;
+        if (virtual) {
+            this.executor = virtualExecutor;
+        } else {
+            int poolSize = Math.max(1, properties.getFallbackPoolSize());
+            AtomicInteger threadIndex = new AtomicInteger();
+            ThreadPoolExecutor fallback = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> new Thread(runnable, "scf-job-virtual-fallback-" + threadIndex.incrementAndGet()));
+            monitorService.registerExecutor(EXECUTOR_NAME, fallback);
+            this.executor = fallback;
+        }
+        int maxPending = Math.max(1, properties.getMaxPending());
+        this.pending = new Semaphore(maxPending);
+        monitorService.registerBulkhead(EXECUTOR_NAME, "all", pending, maxPending);
+        log.info("virtual execute strategy started, virtualThreads={}", virtual);
+    }
+
+    @Override
+    public String getExecuteType() {
+        return "virtual";
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    @Override
+    public ReturnT<String> execute(ScfCoreCommandParam<?> param, ScfCoreCommand<?> command, RetryStrategy retryStrategy) {
+        String commandType = command.getCommandType();
+        if (executor.isShutdown()) {
+            monitorService.recordExecutorRejected(EXECUTOR_NAME, commandType, "shutdown");
+            return new ReturnT<>(ReturnT.FAIL_CODE, "virtual rejected, executor shutdown: " + commandType);
+        }
+        if (!pending.tryAcquire()) {
+            monitorService.recordExecutorRejected(EXECUTOR_NAME, commandType, "pending");
+            return new ReturnT<>(ReturnT.FAIL_CODE, "virtual rejected, too many pending commands: " + commandType);
+        }
+        CommandLane lane = lane(commandType);
+        long submitNanos = System.nanoTime();
+        lane.submit(Deadline.wrap(TraceContext.wrap(() -> {
+            monitorService.recordExecutorWait(EXECUTOR_NAME, System.nanoTime() - submitNanos);
+            AsyncCommandRunner.runAsync(param, command, retryStrategy, monitorService, executor)
+                    .whenComplete((result, error) -> lane.complete());
+        })));
+        return new ReturnT<>(ReturnT.SUCCESS_CODE, "virtual submitted");
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(properties.getAwaitTerminationSeconds(), TimeUnit.SECONDS)) {
+            List<Runnable> dropped = executor.shutdownNow();
+            log.warn("virtual executor drain timeout, dropped={}", dropped.size());
+        }
+    }
+
+    private CommandLane lane(String commandType) {
+        return lanes.computeIfAbsent(commandType, type -> {
+            Integer configured = properties.getConcurrency().get(type);
+            int limit = Math.max(1, configured != null ? configured : properties.getDefaultConcurrency());
+            CommandLane lane = new CommandLane(type, limit);
+            monitorService.registerBulkhead(EXECUTOR_NAME, type, lane.permits, limit);
+            return lane;
+        });
+    }
+
+    /**
+     * 单个 commandType 的许可与等待队列：任务先入队，持有许可时才提交执行器，任务完成归还许可后继续派发队首任务
+     */
+    private final class CommandLane {
+        private final String commandType;
+        private final Semaphore permits;
+        private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+        private CommandLane(String commandType, int limit) {
+            this.commandType = commandType;
+            this.permits = new Semaphore(limit);
+        }
+
+        private void submit(Runnable task) {
+            waiting.add(task);
+            dispatch();
+        }
+
+        private void complete() {
+            permits.release();
+            pending.release();
+            dispatch();
+        }
+
+        /**
+         * 入队与归还许可两侧都会调用，先取许可再取任务，取不到任务时归还许可并重新检查，避免任务滞留队列
+         */
+        private void dispatch() {
+            while (!waiting.isEmpty() && permits.tryAcquire()) {
+                Runnable task = waiting.poll();
+                if (task == null) {
+                    permits.release();
+                    continue;
+                }
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException ex) {
+                    permits.release();
+                    pending.release();
+                    monitorService.recordExecutorRejected(EXECUTOR_NAME, commandType, "shutdown");
+                    log.warn("virtual command dropped, executor shutdown, commandType={}", commandType);
+                }
+            }
+        }
+    }
+
+    /**
+     * 通过反射创建虚拟线程执行器，使本模块仍可按 Java 8 编译；运行时不支持时返回 null
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.scf.loan.job.framework.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 预解析的路由输入：routeKey 与路由计划声明的属性取值，属性按计划中的固定槽位存放；
+ * 同一路由计划下取值相同的输入路由结果相同，可作为缓存键；解析来源参数不参与相等比较，缓存前应 detach
+ */
+public final class RouteInput {
+    private final String routeKey;
+    private final String[] attributes;
+    private final String[] values;
+    private final int hash;
+    private final ScfCoreCommandParam<?> param;
+
+    private RouteInput(String routeKey, String[] attributes, String[] values, ScfCoreCommandParam<?> param) {
+        this.routeKey = routeKey;
+        this.attributes = attributes;
+        this.values = values;
+        this.param = param;
+        this.hash = 31 * Objects.hashCode(routeKey) + Arrays.hashCode(values);
+    }
+
+    /**
+     * 按属性名数组解析参数，每个属性只从 businessParam/ext 中读取一次
+     */
+    public static RouteInput of(ScfCoreCommandParam<?> param, String[] attributes) {
+        Map<?, ?> businessParam = param.getBusinessParam() instanceof Map ? (Map<?, ?>) param.getBusinessParam() : null;
+        Map<String, Object> ext = param.getExt();
+        String[] values = new String[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            values[i] = extract(businessParam, ext, attributes[i]);
+        }
+        return new RouteInput(param.getRouteKey(), attributes, values, param);
+    }
+
+    /**
+     * 不引用来源参数的副本，用作缓存键
+     */
+    public RouteInput detach() {
+        return param == null ? this : new RouteInput(routeKey, attributes, values, null);
+    }
+
+    public static String extract(ScfCoreCommandParam<?> param, String key) {
+        if (param == null) {
+            return null;
+        }
+        Map<?, ?> businessParam = param.getBusinessParam() instanceof Map ? (Map<?, ?>) param.getBusinessParam() : null;
+        return extract(businessParam, param.getExt(), key);
+    }
+
+    public static String extract(Map<?, ?> businessParam, Map<String, Object> ext, String key) {
+        if (businessParam != null) {
+            Object value = businessParam.get(key);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        if (ext != null) {
+            Object value = ext.get(key);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析来源参数，detach 后为 null
+     */
+    public ScfCoreCommandParam<?> getParam() {
+        return param;
+    }
+
+    public String getRouteKey() {
+        return routeKey;
+    }
+
+    public String get(String attribute) {
+        for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i].equals(attribute)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RouteInput)) {
+            return false;
+        }
+        RouteInput that = (RouteInput) o;
+        return hash == that.hash && Objects.equals(routeKey, that.routeKey) && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
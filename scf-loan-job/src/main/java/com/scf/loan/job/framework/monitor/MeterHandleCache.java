@@ -0,0 +1,54 @@
+package com.scf.loan.job.framework.monitor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 按标签取值缓存的指标句柄：每个取值只在首次出现时向注册表注册一次，之后只做一次 Map 读取；
+ * 不同取值超过上限后新取值统一归入 other，防止异常输入无限制地产生时间序列
+ */
+public final class MeterHandleCache<M> {
+    public static final String UNKNOWN = "unknown";
+    public static final String OTHER = "other";
+
+    private final Map<String, M> handles = new ConcurrentHashMap<>();
+    private final int maxValues;
+    private final Function<String, M> factory;
+    private volatile M other;
+
+    public MeterHandleCache(int maxValues, Function<String, M> factory) {
+        this.maxValues = Math.max(1, maxValues);
+        this.factory = factory;
+    }
+
+    public M get(String tagValue) {
+        String key = tagValue == null ? UNKNOWN : tagValue;
+        M handle = handles.get(key);
+        if (handle != null) {
+            return handle;
+        }
+        if (handles.size() >= maxValues) {
+            return other();
+        }
+        return handles.computeIfAbsent(key, factory);
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    private M other() {
+        M handle = other;
+        if (handle == null) {
+            synchronized (this) {
+                handle = other;
+                if (handle == null) {
+                    handle = factory.apply(OTHER);
+                    other = handle;
+                }
+            }
+        }
+        return handle;
+    }
+}
@@ -1,49 +1,224 @@
 package com.scf.loan.job.framework.monitor;
 
 import com.scf.loan.job.framework.model.RouteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 调度框架指标：指标句柄按标签取值缓存，稳态调度路径上不再查找注册表；
+ * 每个标签维度的取值数量受 maxTagValues 限制，超出部分归入 other
+ */
 @Service
 public class MonitorService {
+    static final int DEFAULT_MAX_TAG_VALUES = 200;
+
     private final MeterRegistry meterRegistry;
+    private final int maxTagValues;
+    private final Counter routeMiss;
+    private final Timer routeTime;
+    private final MeterHandleCache<Counter> routeHits;
+    private final MeterHandleCache<CommandMeters> commandMeters;
+    private final MeterHandleCache<DistributionSummary> batchSizes;
+    private final MeterHandleCache<AsyncCommandMeters> asyncCommandMeters;
+    private final MeterHandleCache<Counter> executeCounters;
+    private final MeterHandleCache<Counter> errorCounters;
+    private final MeterHandleCache<Timer> executorWaits;
+    private final MeterHandleCache<MeterHandleCache<Counter>> executorRejections;
+    private final MeterHandleCache<RetryMeters> retryMeters;
+    private final MeterHandleCache<MeterHandleCache<Counter>> commandTimeouts;
 
     @Autowired
     public MonitorService(MeterRegistry meterRegistry) {
+        this(meterRegistry, DEFAULT_MAX_TAG_VALUES);
+    }
+
+    public MonitorService(MeterRegistry meterRegistry, int maxTagValues) {
         this.meterRegistry = meterRegistry;
+        this.maxTagValues = maxTagValues;
+        this.routeMiss = meterRegistry.counter("scf.job.route.miss");
+        this.routeTime = meterRegistry.timer("scf.job.route.time");
+        this.routeHits = new MeterHandleCache<>(maxTagValues,
+                strategy -> meterRegistry.counter("scf.job.route.hit", "strategy", strategy));
+        this.commandMeters = new MeterHandleCache<>(maxTagValues, CommandMeters::new);
+        this.batchSizes = new MeterHandleCache<>(maxTagValues,
+                command -> meterRegistry.summary("scf.job.command.batch.size", "command", command));
+        this.asyncCommandMeters = new MeterHandleCache<>(maxTagValues, AsyncCommandMeters::new);
+        this.executeCounters = new MeterHandleCache<>(maxTagValues,
+                executeType -> meterRegistry.counter("scf.job.execute." + executeType));
+        this.errorCounters = new MeterHandleCache<>(maxTagValues,
+                errorType -> meterRegistry.counter("scf.job.system.error", "error_type", errorType));
+        this.executorWaits = new MeterHandleCache<>(maxTagValues,
+                executor -> meterRegistry.timer("scf.job.executor.wait", "executor", executor));
+        this.executorRejections = new MeterHandleCache<>(maxTagValues, this::rejectionCounters);
+        this.retryMeters = new MeterHandleCache<>(maxTagValues, RetryMeters::new);
+        this.commandTimeouts = new MeterHandleCache<>(maxTagValues, command -> new MeterHandleCache<>(maxTagValues,
+                stage -> meterRegistry.counter("scf.job.command.timeout", "command", command, "stage", stage)));
     }
 
     public void recordRoute(RouteResult routeResult, long durationMillis) {
         if (routeResult != null && routeResult.isHit()) {
-            meterRegistry.counter("scf.job.route.hit", "strategy", value(routeResult.getStrategyName())).increment();
+            routeHits.get(routeResult.getStrategyName()).increment();
         } else {
-            meterRegistry.counter("scf.job.route.miss").increment();
+            routeMiss.increment();
         }
-        meterRegistry.timer("scf.job.route.time").record(durationMillis, TimeUnit.MILLISECONDS);
+        routeTime.record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordRouteBatch(List<RouteResult> routeResults, long durationMillis) {
+        Map<String, Integer> hits = new HashMap<>();
+        int misses = 0;
+        for (RouteResult routeResult : routeResults) {
+            if (routeResult != null && routeResult.isHit()) {
+                hits.merge(value(routeResult.getStrategyName()), 1, Integer::sum);
+            } else {
+                misses++;
+            }
+        }
+        for (Map.Entry<String, Integer> entry : hits.entrySet()) {
+            routeHits.get(entry.getKey()).increment(entry.getValue());
+        }
+        if (misses > 0) {
+            routeMiss.increment(misses);
+        }
+        routeTime.record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordCommandBatch(String commandType, int success, int failed, long durationMillis) {
+        CommandMeters meters = commandMeters.get(commandType);
+        meters.execute.increment(success + failed);
+        meters.success.increment(success);
+        meters.failed.increment(failed);
+        meters.time.record(durationMillis, TimeUnit.MILLISECONDS);
+        batchSizes.get(commandType).record(success + failed);
     }
 
     public void recordCommand(String commandType, boolean success, long durationMillis) {
-        meterRegistry.counter("scf.job.command.execute", "command", value(commandType)).increment();
+        CommandMeters meters = commandMeters.get(commandType);
+        meters.execute.increment();
         if (success) {
-            meterRegistry.counter("scf.job.command.success", "command", value(commandType)).increment();
+            meters.success.increment();
         } else {
-            meterRegistry.counter("scf.job.command.failed", "command", value(commandType)).increment();
+            meters.failed.increment();
         }
-        meterRegistry.timer("scf.job.command.time", "command", value(commandType)).record(durationMillis, TimeUnit.MILLISECONDS);
+        meters.time.record(durationMillis, TimeUnit.MILLISECONDS);
     }
 
     public void recordExecute(String executeType) {
-        meterRegistry.counter("scf.job.execute." + value(executeType)).increment();
+        executeCounters.get(executeType).increment();
+    }
+
+    public void recordExecute(String executeType, int count) {
+        executeCounters.get(executeType).increment(count);
+    }
+
+    public void recordAsyncCommand(String commandType, boolean success, long durationMillis) {
+        AsyncCommandMeters meters = asyncCommandMeters.get(commandType);
+        (success ? meters.success : meters.failed).increment();
+        meters.time.record(durationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void registerExecutor(String executorName, ThreadPoolExecutor executor) {
+        Gauge.builder("scf.job.executor.queue.depth", executor, e -> e.getQueue().size())
+                .tag("executor", value(executorName)).register(meterRegistry);
+        Gauge.builder("scf.job.executor.queue.remaining", executor, e -> e.getQueue().remainingCapacity())
+                .tag("executor", value(executorName)).register(meterRegistry);
+        Gauge.builder("scf.job.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("executor", value(executorName)).register(meterRegistry);
+        Gauge.builder("scf.job.executor.pool.size", executor, ThreadPoolExecutor::getPoolSize)
+                .tag("executor", value(executorName)).register(meterRegistry);
+    }
+
+    public void registerBulkhead(String executorName, String commandType, Semaphore bulkhead, int limit) {
+        Gauge.builder("scf.job.executor.bulkhead.in.flight", bulkhead, b -> limit - b.availablePermits())
+                .tag("executor", value(executorName)).tag("command", value(commandType)).register(meterRegistry);
+    }
+
+    public void recordExecutorRejected(String executorName, String commandType, String reason) {
+        executorRejections.get(value(executorName) + '\u0001' + value(reason)).get(commandType).increment();
+    }
+
+    public void recordExecutorWait(String executorName, long waitNanos) {
+        executorWaits.get(executorName).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCommandTimeout(String commandType, String stage) {
+        commandTimeouts.get(commandType).get(stage).increment();
+    }
+
+    public void recordRetry(String commandType, long delayMillis) {
+        RetryMeters meters = retryMeters.get(commandType);
+        meters.attempts.increment();
+        meters.wait.record(delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void recordRetryGiveUp(String commandType, String reason) {
+        retryMeters.get(commandType).giveUps.get(reason).increment();
     }
 
     public void recordDispatcherError(String errorType) {
-        meterRegistry.counter("scf.job.system.error", "error_type", value(errorType)).increment();
+        errorCounters.get(errorType).increment();
+    }
+
+    private MeterHandleCache<Counter> rejectionCounters(String executorAndReason) {
+        int separator = executorAndReason.indexOf('\u0001');
+        String executor = separator < 0 ? executorAndReason : executorAndReason.substring(0, separator);
+        String reason = separator < 0 ? MeterHandleCache.OTHER : executorAndReason.substring(separator + 1);
+        return new MeterHandleCache<>(maxTagValues, command -> meterRegistry.counter("scf.job.executor.rejected",
+                "executor", executor, "command", command, "reason", reason));
     }
 
     private String value(String value) {
-        return value == null ? "unknown" : value;
+        return value == null ? MeterHandleCache.UNKNOWN : value;
+    }
+
+    private final class CommandMeters {
+        private final Counter execute;
+        private final Counter success;
+        private final Counter failed;
+        private final Timer time;
+
+        private CommandMeters(String commandType) {
+            this.execute = meterRegistry.counter("scf.job.command.execute", "command", commandType);
+            this.success = meterRegistry.counter("scf.job.command.success", "command", commandType);
+            this.failed = meterRegistry.counter("scf.job.command.failed", "command", commandType);
+            this.time = meterRegistry.timer("scf.job.command.time", "command", commandType);
+        }
+    }
+
+    private final class AsyncCommandMeters {
+        private final Counter success;
+        private final Counter failed;
+        private final Timer time;
+
+        private AsyncCommandMeters(String commandType) {
+            this.success = meterRegistry.counter("scf.job.async.command", "command", commandType, "result", "success");
+            this.failed = meterRegistry.counter("scf.job.async.command", "command", commandType, "result", "failed");
+            this.time = meterRegistry.timer("scf.job.async.command.time", "command", commandType);
+        }
+    }
+
+    private final class RetryMeters {
+        private final Counter attempts;
+        private final Timer wait;
+        private final MeterHandleCache<Counter> giveUps;
+
+        private RetryMeters(String commandType) {
+            this.attempts = meterRegistry.counter("scf.job.retry.attempts", "command", commandType);
+            this.wait = meterRegistry.timer("scf.job.retry.wait", "command", commandType);
+            this.giveUps = new MeterHandleCache<>(maxTagValues,
+                    reason -> meterRegistry.counter("scf.job.retry.give.up", "command", commandType, "reason", reason));
+        }
     }
 }
@@ -0,0 +1,45 @@
+package com.scf.loan.job.framework.route;
+
+import com.scf.loan.job.framework.model.RouteInput;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 以 businessParam/ext 中单个属性值作为路由键的策略，RouteService 编译路由计划时直接按属性取值命中；
+ * supports 与 route 固定为读取该属性，保证与编译后的直接命中等价
+ */
+public abstract class AttributeRouteStrategy implements RouteStrategy {
+    private final String attribute;
+    private final Set<String> routeAttributes;
+
+    protected AttributeRouteStrategy(String attribute) {
+        this.attribute = attribute;
+        this.routeAttributes = Collections.singleton(attribute);
+    }
+
+    @Override
+    public final boolean supports(ScfCoreCommandParam<?> param) {
+        return RouteInput.extract(param, attribute) != null;
+    }
+
+    @Override
+    public final String route(ScfCoreCommandParam<?> param) {
+        return RouteInput.extract(param, attribute);
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    @Override
+    public Set<String> getRouteAttributes() {
+        return routeAttributes;
+    }
+
+    @Override
+    public final String route(RouteInput input) {
+        return input.get(attribute);
+    }
+}
@@ -1,8 +1,12 @@
 package com.scf.loan.job.framework.route;
 
+import com.scf.loan.job.framework.model.RouteInput;
 import com.scf.loan.job.framework.model.ScfCoreCommandParam;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.Set;
+
 @Component
 public class DefaultRouteStrategy implements RouteStrategy {
     @Override
@@ -19,4 +23,14 @@ public class DefaultRouteStrategy implements RouteStrategy {
     public int getOrder() {
         return 1000;
     }
+
+    @Override
+    public Set<String> getRouteAttributes() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public String route(RouteInput input) {
+        return input.getRouteKey();
+    }
 }
@@ -1,5 +1,6 @@
 package com.scf.loan.job.framework.route;
 
+import com.scf.loan.job.framework.model.RouteInput;
 import com.scf.loan.job.framework.model.RouteResult;
 import com.scf.loan.job.framework.model.ScfCoreCommandParam;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,22 +9,155 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 路由服务：全部策略都声明了依赖属性时，构造时编译为路由计划——单属性策略直接按属性取值命中，
+ * 其余策略基于一次性解析的 RouteInput 路由；路由结果按取值缓存在有界缓存中。
+ * 存在未声明依赖的策略时按参数逐个策略路由
+ */
 @Service
 public class RouteService {
+    static final int DEFAULT_CACHE_CAPACITY = 4096;
+
     private final List<RouteStrategy> strategies;
+    private final boolean compiled;
+    private final String[] routeAttributes;
+    private final RouteStrategy[] plan;
+    private final String[] planNames;
+    /**
+     * 单属性策略所读属性，其余策略为 null
+     */
+    private final String[] planAttributes;
+    /**
+     * 单属性策略按属性取值缓存的路由结果
+     */
+    private final Map<String, RouteResult>[] attributeCaches;
+    /**
+     * 到达非单属性策略的参数按 RouteInput 缓存的路由结果
+     */
+    private final Map<RouteInput, RouteResult> inputCache = new ConcurrentHashMap<>();
+    private final int cacheCapacity;
 
     @Autowired
     public RouteService(List<RouteStrategy> strategies) {
+        this(strategies, DEFAULT_CACHE_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public RouteService(List<RouteStrategy> strategies, int cacheCapacity) {
         if (strategies == null) {
             this.strategies = new ArrayList<>();
         } else {
             this.strategies = new ArrayList<>(strategies);
             this.strategies.sort(Comparator.comparingInt(RouteStrategy::getOrder));
         }
+        Set<String> attributes = new TreeSet<>();
+        for (RouteStrategy strategy : this.strategies) {
+            Set<String> declared = strategy.getRouteAttributes();
+            if (declared == null) {
+                attributes = null;
+                break;
+            }
+            attributes.addAll(declared);
+        }
+        this.compiled = attributes != null;
+        this.routeAttributes = compiled ? attributes.toArray(new String[0]) : new String[0];
+        this.plan = this.strategies.toArray(new RouteStrategy[0]);
+        this.planNames = new String[plan.length];
+        this.planAttributes = new String[plan.length];
+        this.attributeCaches = new Map[plan.length];
+        for (int i = 0; i < plan.length; i++) {
+            planNames[i] = plan[i].getClass().getSimpleName();
+            if (plan[i] instanceof AttributeRouteStrategy) {
+                planAttributes[i] = ((AttributeRouteStrategy) plan[i]).getAttribute();
+                attributeCaches[i] = new ConcurrentHashMap<>();
+            }
+        }
+        this.cacheCapacity = Math.max(1, cacheCapacity);
     }
 
     public RouteResult route(ScfCoreCommandParam<?> param) {
+        RouteResult result = compiled ? routeCompiled(param) : routeEach(param);
+        if (compiled && result.getStrategyName() != null) {
+            param.setRouteKey(result.getRouteKey());
+        }
+        return result;
+    }
+
+    /**
+     * 批量路由，结果按参数顺序返回；路由依赖属性取值相同的参数命中同一缓存结果
+     */
+    public List<RouteResult> routeAll(List<? extends ScfCoreCommandParam<?>> params) {
+        List<RouteResult> results = new ArrayList<>(params.size());
+        for (ScfCoreCommandParam<?> param : params) {
+            results.add(route(param));
+        }
+        return results;
+    }
+
+    int cacheSize() {
+        int size = inputCache.size();
+        for (Map<String, RouteResult> cache : attributeCaches) {
+            if (cache != null) {
+                size += cache.size();
+            }
+        }
+        return size;
+    }
+
+    private RouteResult routeCompiled(ScfCoreCommandParam<?> param) {
+        Map<?, ?> businessParam = param.getBusinessParam() instanceof Map ? (Map<?, ?>) param.getBusinessParam() : null;
+        Map<String, Object> ext = param.getExt();
+        for (int i = 0; i < plan.length; i++) {
+            if (planAttributes[i] == null) {
+                // 剩余策略的路由结果由全部依赖属性决定，按 RouteInput 缓存
+                RouteInput input = RouteInput.of(param, routeAttributes);
+                RouteResult result = inputCache.get(input);
+                if (result == null) {
+                    result = resolve(input, i);
+                    put(inputCache, input.detach(), result);
+                }
+                return result;
+            }
+            String routeKey = RouteInput.extract(businessParam, ext, planAttributes[i]);
+            if (routeKey != null && !routeKey.isBlank()) {
+                RouteResult result = attributeCaches[i].get(routeKey);
+                if (result == null) {
+                    result = new RouteResult(routeKey, true, planNames[i]);
+                    put(attributeCaches[i], routeKey, result);
+                }
+                return result;
+            }
+        }
+        return new RouteResult(param.getRouteKey(), param.getRouteKey() != null, null);
+    }
+
+    private RouteResult resolve(RouteInput input, int from) {
+        for (int i = from; i < plan.length; i++) {
+            if (planAttributes[i] == null && !plan[i].supports(input.getParam())) {
+                continue;
+            }
+            String routeKey = planAttributes[i] != null ? input.get(planAttributes[i]) : plan[i].route(input);
+            if (routeKey != null && !routeKey.isBlank()) {
+                return new RouteResult(routeKey, true, planNames[i]);
+            }
+        }
+        return new RouteResult(input.getRouteKey(), input.getRouteKey() != null, null);
+    }
+
+    private <K> void put(Map<K, RouteResult> cache, K key, RouteResult result) {
+        if (cache.size() >= cacheCapacity) {
+            // 取值组合超出容量时整体清空，避免长尾取值把缓存撑满后热点组合再也进不来
+            cache.clear();
+        }
+        cache.put(key, result);
+    }
+
+    private RouteResult routeEach(ScfCoreCommandParam<?> param) {
         for (RouteStrategy strategy : strategies) {
             if (!strategy.supports(param)) {
                 continue;
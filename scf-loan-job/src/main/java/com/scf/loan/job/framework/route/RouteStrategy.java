@@ -1,11 +1,34 @@
 package com.scf.loan.job.framework.route;
 
+import com.scf.loan.job.framework.model.RouteInput;
 import com.scf.loan.job.framework.model.ScfCoreCommandParam;
 
+import java.util.Set;
+
 public interface RouteStrategy {
     boolean supports(ScfCoreCommandParam<?> param);
 
     String route(ScfCoreCommandParam<?> param);
 
     int getOrder();
+
+    /**
+     * 路由结果所依赖的 businessParam/ext 属性名；空集合表示只依赖 routeKey，
+     * null 表示无法声明，此时 RouteService 退化为逐个策略按参数路由且不缓存路由结果
+     */
+    default Set<String> getRouteAttributes() {
+        return null;
+    }
+
+    /**
+     * 基于预解析输入路由，返回空表示不命中；默认按来源参数调用 route(param)，
+     * 声明了 getRouteAttributes 的策略可覆盖以直接读取预解析的属性
+     */
+    default String route(RouteInput input) {
+        ScfCoreCommandParam<?> param = input.getParam();
+        if (param == null) {
+            throw new IllegalStateException(getClass().getName() + " 未实现 route(RouteInput)，路由输入缺少来源参数");
+        }
+        return route(param);
+    }
 }
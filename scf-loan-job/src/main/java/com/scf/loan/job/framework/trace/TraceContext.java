@@ -2,6 +2,8 @@ package com.scf.loan.job.framework.trace;
 
 import org.slf4j.MDC;
 
+import java.util.Map;
+
 public class TraceContext {
     private static final ThreadLocal<TraceContextData> CONTEXT = new ThreadLocal<>();
 
@@ -14,6 +16,17 @@ public class TraceContext {
         return rootId;
     }
 
+    /**
+     * 当前线程已有追踪根时沿用，否则新建；调用方据返回值判断是否由自己负责 clear
+     */
+    public static boolean joinOrInitRoot(String systemCode, String taskType) {
+        if (CONTEXT.get() != null) {
+            return false;
+        }
+        initRoot(systemCode, taskType);
+        return true;
+    }
+
     public static String split(String level, String shardId, String businessId) {
         TraceContextData data = CONTEXT.get();
         if (data == null) {
@@ -39,6 +52,35 @@ public class TraceContext {
         MDC.remove("splitId");
     }
 
+    public static Runnable wrap(Runnable task) {
+        TraceContextData data = CONTEXT.get();
+        TraceContextData captured = data == null ? null : new TraceContextData(data.rootId, data.splitId);
+        Map<String, String> capturedMdc = MDC.getCopyOfContextMap();
+        return () -> {
+            TraceContextData previous = CONTEXT.get();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            apply(captured, capturedMdc);
+            try {
+                task.run();
+            } finally {
+                apply(previous, previousMdc);
+            }
+        };
+    }
+
+    private static void apply(TraceContextData data, Map<String, String> mdc) {
+        if (data == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(data);
+        }
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+
     public static String getRootId() {
         TraceContextData data = CONTEXT.get();
         return data == null ? null : data.rootId;
@@ -1,41 +1,179 @@
 package com.scf.loan.job.framework.trace;
 
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 追踪号生成：系统码(2) + 日期(8) + 节点(4) + 任务类型(4) + 序号(8)。
+ * 日期前缀按天缓存、跨零点时切换，字符直接写入线程内复用的缓冲区，不做格式化；
+ * 序号由各线程按块从全局计数器领取，高并发下不在同一个计数器上争用；
+ * 节点段区分执行器节点，多节点部署必须通过 scf.job.trace.node-id 配置各不相同的节点号；
+ * 未配置时的默认节点号是散列值，不同节点可能相同，而各节点序号独立计数，节点号相同即会生成重复追踪号
+ */
 public class TraceIdGenerator {
+    static final int ROOT_ID_LENGTH = 26;
+
     private static final AtomicLong SEQ = new AtomicLong(0);
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final long SEQ_MOD = 100000000L;
+    private static final int NODE_LENGTH = 4;
+    private static final int SEQ_BLOCK = 256;
+    private static final ThreadLocal<LocalState> LOCAL = ThreadLocal.withInitial(LocalState::new);
+
+    private static volatile char[] node = defaultNode();
+    private static volatile DayPrefix day = DayPrefix.of(System.currentTimeMillis(), ZoneId.systemDefault());
 
     public static String generateRootId(String systemCode, String taskType) {
-        String sys = format(systemCode, 2, "SC");
-        String date = LocalDate.now().format(DATE_FORMATTER);
-        String task = format(taskType, 4, "TASK");
-        long seq = SEQ.incrementAndGet() % 100000000L;
-        return sys + date + task + String.format("%08d", seq);
+        LocalState local = LOCAL.get();
+        char[] buffer = local.buffer;
+        int pos = pad(buffer, 0, systemCode, 2, "SC");
+        System.arraycopy(currentDay().date, 0, buffer, pos, 8);
+        pos += 8;
+        System.arraycopy(node, 0, buffer, pos, NODE_LENGTH);
+        pos += NODE_LENGTH;
+        pos = pad(buffer, pos, taskType, 4, "TASK");
+        long seq = local.nextSeq() % SEQ_MOD;
+        for (int i = pos + 7; i >= pos; i--) {
+            buffer[i] = (char) ('0' + seq % 10);
+            seq /= 10;
+        }
+        return new String(buffer, 0, ROOT_ID_LENGTH);
     }
 
     public static String generateSplitId(String rootId, String level, String shardId, String businessId) {
-        String lvl = format(level, 2, "00");
-        String shard = formatNumeric(shardId, 4, "0000");
-        String biz = businessId == null ? "" : businessId;
-        return rootId + "-" + lvl + "-" + shard + (biz.isBlank() ? "" : "-" + biz);
+        boolean hasBiz = !isBlank(businessId);
+        StringBuilder sb = new StringBuilder(rootId.length() + 8 + (hasBiz ? businessId.length() + 1 : 0));
+        sb.append(rootId).append('-');
+        appendPadded(sb, level, 2, "00", false);
+        sb.append('-');
+        appendPadded(sb, shardId, 4, "0000", true);
+        if (hasBiz) {
+            sb.append('-').append(businessId);
+        }
+        return sb.toString();
     }
 
-    private static String format(String value, int length, String fallback) {
-        String v = value == null || value.isBlank() ? fallback : value;
-        if (v.length() >= length) {
-            return v.substring(0, length);
+    /**
+     * 设置本节点的节点号，取前 4 位，不足左补 0；为空时保留默认值
+     */
+    public static void setNodeId(String nodeId) {
+        if (isBlank(nodeId)) {
+            return;
         }
-        return String.format("%1$-" + length + "s", v).replace(' ', '0');
+        StringBuilder sb = new StringBuilder(NODE_LENGTH);
+        appendPadded(sb, nodeId.trim(), NODE_LENGTH, "0000", true);
+        node = sb.toString().toCharArray();
     }
 
-    private static String formatNumeric(String value, int length, String fallback) {
-        String v = value == null || value.isBlank() ? fallback : value;
+    public static String getNodeId() {
+        return new String(node);
+    }
+
+    private static DayPrefix currentDay() {
+        DayPrefix current = day;
+        long now = System.currentTimeMillis();
+        if (now >= current.startMillis && now < current.endMillis) {
+            return current;
+        }
+        // 跨零点（或时钟回拨）时重建，多个线程同时重建结果相同
+        current = DayPrefix.of(now, ZoneId.systemDefault());
+        day = current;
+        return current;
+    }
+
+    /**
+     * 默认节点号：由进程号与主机名散列为 4 位 36 进制，仅用于未配置节点号的场景，不保证各节点不同
+     */
+    private static char[] defaultNode() {
+        int hash = ManagementFactory.getRuntimeMXBean().getName().hashCode() & Integer.MAX_VALUE;
+        char[] chars = new char[NODE_LENGTH];
+        for (int i = NODE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = Character.toUpperCase(Character.forDigit(hash % 36, 36));
+            hash /= 36;
+        }
+        return chars;
+    }
+
+    /**
+     * 右补 0 到定长，超长截断，空值用 fallback
+     */
+    private static int pad(char[] buffer, int pos, String value, int length, String fallback) {
+        String v = isBlank(value) ? fallback : value;
+        int copy = Math.min(v.length(), length);
+        v.getChars(0, copy, buffer, pos);
+        for (int i = pos + copy; i < pos + length; i++) {
+            buffer[i] = '0';
+        }
+        return pos + length;
+    }
+
+    private static void appendPadded(StringBuilder sb, String value, int length, String fallback, boolean left) {
+        String v = isBlank(value) ? fallback : value;
         if (v.length() >= length) {
-            return v.substring(0, length);
+            sb.append(v, 0, length);
+            return;
+        }
+        if (!left) {
+            sb.append(v);
+        }
+        for (int i = v.length(); i < length; i++) {
+            sb.append('0');
+        }
+        if (left) {
+            sb.append(v);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class DayPrefix {
+        private final long startMillis;
+        private final long endMillis;
+        private final char[] date;
+
+        private DayPrefix(long startMillis, long endMillis, char[] date) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.date = date;
+        }
+
+        private static DayPrefix of(long nowMillis, ZoneId zone) {
+            LocalDate date = Instant.ofEpochMilli(nowMillis).atZone(zone).toLocalDate();
+            long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            long end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            int value = date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+            char[] chars = new char[8];
+            for (int i = 7; i >= 0; i--) {
+                chars[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            return new DayPrefix(start, end, chars);
+        }
+    }
+
+    private static final class LocalState {
+        private final char[] buffer = new char[ROOT_ID_LENGTH];
+        private long next;
+        private long limit;
+
+        private long nextSeq() {
+            if (next == limit) {
+                next = SEQ.getAndAdd(SEQ_BLOCK) + 1;
+                limit = next + SEQ_BLOCK;
+            }
+            return next++;
         }
-        return String.format("%1$" + length + "s", v).replace(' ', '0');
     }
 }
@@ -1,14 +1,21 @@
 package com.scf.loan.job.handler;
 
+import com.scf.loan.job.framework.monitor.MeterHandleCache;
+import com.scf.loan.job.framework.trace.TraceContext;
 import com.xxl.job.core.biz.model.ReturnT;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * XXL-JOB任务处理器抽象基类
@@ -19,9 +26,27 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public abstract class AbstractJobHandler {
 
+    /**
+     * 每个标签维度允许的不同取值数，超出归入 other
+     */
+    private static final int MAX_TAG_VALUES = 200;
+
+    /**
+     * 追踪号中的系统码
+     */
+    private static final String TRACE_SYSTEM_CODE = "SC";
+
     @Autowired
     private MeterRegistry meterRegistry;
 
+    private volatile MeterHandleCache<JobMeters> jobMetersCache;
+
+    private final Map<String, AtomicLong> businessGauges = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> businessCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> businessTimers = new ConcurrentHashMap<>();
+
     /**
      * 任务执行模板方法
      * 
@@ -30,7 +55,8 @@ public abstract class AbstractJobHandler {
      */
     protected ReturnT<String> executeInternal(String param) {
         String jobName = this.getClass().getSimpleName();
-        String traceId = UUID.randomUUID().toString();
+        // 任务与其中分发的命令共用同一个追踪根
+        String traceId = TraceContext.initRoot(TRACE_SYSTEM_CODE, getTraceTaskCode(null));
         long startTime = System.currentTimeMillis();
         
         // 设置MDC上下文
@@ -51,10 +77,8 @@ public abstract class AbstractJobHandler {
             
             // 记录任务完成指标
             long duration = System.currentTimeMillis() - startTime;
-            sample.stop(Timer.builder("xxl.job.duration")
-                    .tag("job_name", jobName)
-                    .tag("status", result.getCode() == ReturnT.SUCCESS_CODE ? "success" : "failed")
-                    .register(meterRegistry));
+            JobMeters meters = jobMeters(jobName);
+            sample.stop(result.getCode() == ReturnT.SUCCESS_CODE ? meters.successTime : meters.failedTime);
             
             if (result.getCode() == ReturnT.SUCCESS_CODE) {
                 log.info("[XXL-JOB] 任务执行成功: {}, 耗时: {}ms", jobName, duration);
@@ -62,7 +86,7 @@ public abstract class AbstractJobHandler {
             } else {
                 log.warn("[XXL-JOB] 任务执行失败: {}, 错误码: {}, 错误信息: {}, 耗时: {}ms", 
                         jobName, result.getCode(), result.getMsg(), duration);
-                recordJobFailure(jobName, result.getMsg(), duration);
+                recordJobFailure(jobName, result.getCode(), duration);
             }
             
             return result;
@@ -70,10 +94,7 @@ public abstract class AbstractJobHandler {
         } catch (Exception e) {
             // 记录异常指标
             long duration = System.currentTimeMillis() - startTime;
-            sample.stop(Timer.builder("xxl.job.duration")
-                    .tag("job_name", jobName)
-                    .tag("status", "error")
-                    .register(meterRegistry));
+            sample.stop(jobMeters(jobName).errorTime);
             
             log.error("[XXL-JOB] 任务执行异常: {}, 耗时: {}ms", jobName, duration, e);
             recordJobError(jobName, e, duration);
@@ -81,7 +102,8 @@ public abstract class AbstractJobHandler {
             return ReturnT.FAIL;
             
         } finally {
-            // 清理MDC上下文
+            // 清理追踪与MDC上下文
+            TraceContext.clear();
             MDC.clear();
         }
     }
@@ -96,7 +118,8 @@ public abstract class AbstractJobHandler {
      */
     protected ReturnT<String> executeInternal(String param, String jobMethod) {
         String jobName = this.getClass().getSimpleName() + "." + jobMethod;
-        String traceId = UUID.randomUUID().toString();
+        // 任务与其中分发的命令共用同一个追踪根
+        String traceId = TraceContext.initRoot(TRACE_SYSTEM_CODE, getTraceTaskCode(jobMethod));
         long startTime = System.currentTimeMillis();
         
         // 设置MDC上下文
@@ -117,10 +140,8 @@ public abstract class AbstractJobHandler {
             
             // 记录任务完成指标
             long duration = System.currentTimeMillis() - startTime;
-            sample.stop(Timer.builder("xxl.job.duration")
-                    .tag("job_name", jobName)
-                    .tag("status", result.getCode() == ReturnT.SUCCESS_CODE ? "success" : "failed")
-                    .register(meterRegistry));
+            JobMeters meters = jobMeters(jobName);
+            sample.stop(result.getCode() == ReturnT.SUCCESS_CODE ? meters.successTime : meters.failedTime);
             
             if (result.getCode() == ReturnT.SUCCESS_CODE) {
                 log.info("[XXL-JOB] 任务执行成功: {}, 耗时: {}ms", jobName, duration);
@@ -128,7 +149,7 @@ public abstract class AbstractJobHandler {
             } else {
                 log.warn("[XXL-JOB] 任务执行失败: {}, 错误码: {}, 错误信息: {}, 耗时: {}ms", 
                         jobName, result.getCode(), result.getMsg(), duration);
-                recordJobFailure(jobName, result.getMsg(), duration);
+                recordJobFailure(jobName, result.getCode(), duration);
             }
             
             return result;
@@ -136,10 +157,7 @@ public abstract class AbstractJobHandler {
         } catch (Exception e) {
             // 记录异常指标
             long duration = System.currentTimeMillis() - startTime;
-            sample.stop(Timer.builder("xxl.job.duration")
-                    .tag("job_name", jobName)
-                    .tag("status", "error")
-                    .register(meterRegistry));
+            sample.stop(jobMeters(jobName).errorTime);
             
             log.error("[XXL-JOB] 任务执行异常: {}, 耗时: {}ms", jobName, duration, e);
             recordJobError(jobName, e, duration);
@@ -147,7 +165,8 @@ public abstract class AbstractJobHandler {
             return ReturnT.FAIL;
             
         } finally {
-            // 清理MDC上下文
+            // 清理追踪与MDC上下文
+            TraceContext.clear();
             MDC.clear();
         }
     }
@@ -186,13 +205,24 @@ public abstract class AbstractJobHandler {
         return this.getClass().getSimpleName();
     }
 
+    /**
+     * 获取追踪号中的任务类型码，固定 4 位，各任务之间不得重复
+     * 追踪号只截取任务类型的前 4 位，不能直接用类名或方法名，否则同一处理器下的任务无法区分
+     *
+     * @param jobMethod 任务方法名称，单任务处理器为 null
+     * @return 任务类型码
+     */
+    protected String getTraceTaskCode(String jobMethod) {
+        return "TASK";
+    }
+
     /**
      * 记录任务开始指标
      * 
      * @param jobName 任务名称
      */
     private void recordJobStart(String jobName) {
-        meterRegistry.counter("xxl.job.start.total", "job_name", jobName).increment();
+        jobMeters(jobName).start.increment();
     }
 
     /**
@@ -202,28 +232,29 @@ public abstract class AbstractJobHandler {
      * @param duration 执行耗时（毫秒）
      */
     private void recordJobSuccess(String jobName, long duration) {
-        meterRegistry.counter("xxl.job.success.total", "job_name", jobName).increment();
-        meterRegistry.gauge("xxl.job.duration.success", duration);
+        JobMeters meters = jobMeters(jobName);
+        meters.success.increment();
+        meters.successDuration.set(duration);
         
         // 记录慢任务
         if (duration > 5000) { // 5秒以上为慢任务
-            meterRegistry.counter("xxl.job.slow.total", "job_name", jobName).increment();
+            meters.slow.increment();
             log.warn("[XXL-JOB] 慢任务警告: {}, 耗时: {}ms", jobName, duration);
         }
     }
 
     /**
      * 记录任务失败指标
+     * 按错误码而不是错误信息打标签，错误信息常带业务数据，会产生无限多的时间序列
      * 
      * @param jobName 任务名称
-     * @param errorMsg 错误信息
+     * @param errorCode 错误码
      * @param duration 执行耗时（毫秒）
      */
-    private void recordJobFailure(String jobName, String errorMsg, long duration) {
-        meterRegistry.counter("xxl.job.failure.total", 
-                "job_name", jobName, 
-                "error_msg", errorMsg != null ? errorMsg : "unknown").increment();
-        meterRegistry.gauge("xxl.job.duration.failure", duration);
+    private void recordJobFailure(String jobName, int errorCode, long duration) {
+        JobMeters meters = jobMeters(jobName);
+        meters.failures.get(String.valueOf(errorCode)).increment();
+        meters.failureDuration.set(duration);
     }
 
     /**
@@ -234,11 +265,29 @@ public abstract class AbstractJobHandler {
      * @param duration 执行耗时（毫秒）
      */
     private void recordJobError(String jobName, Exception exception, long duration) {
-        String errorType = exception.getClass().getSimpleName();
-        meterRegistry.counter("xxl.job.error.total", 
-                "job_name", jobName, 
-                "error_type", errorType).increment();
-        meterRegistry.gauge("xxl.job.duration.error", duration);
+        JobMeters meters = jobMeters(jobName);
+        meters.errors.get(exception.getClass().getSimpleName()).increment();
+        meters.errorDuration.set(duration);
+    }
+
+    /**
+     * 获取任务的指标句柄，首次使用时注册，之后不再查找注册表
+     * 
+     * @param jobName 任务名称
+     * @return 指标句柄
+     */
+    private JobMeters jobMeters(String jobName) {
+        MeterHandleCache<JobMeters> cache = jobMetersCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = jobMetersCache;
+                if (cache == null) {
+                    cache = new MeterHandleCache<>(MAX_TAG_VALUES, name -> new JobMeters(meterRegistry, name));
+                    jobMetersCache = cache;
+                }
+            }
+        }
+        return cache.get(jobName);
     }
 
     /**
@@ -249,7 +298,14 @@ public abstract class AbstractJobHandler {
      * @param tags 标签
      */
     protected void recordBusinessMetric(String metricName, double value, String... tags) {
-        meterRegistry.gauge(metricName, tags, value);
+        AtomicLong holder = businessGauges.computeIfAbsent(businessKey(metricName, tags), key -> {
+            AtomicLong bits = new AtomicLong();
+            Gauge.builder(metricName, bits, b -> Double.longBitsToDouble(b.get()))
+                    .tags(tags)
+                    .register(meterRegistry);
+            return bits;
+        });
+        holder.set(Double.doubleToRawLongBits(value));
     }
 
     /**
@@ -259,7 +315,8 @@ public abstract class AbstractJobHandler {
      * @param tags 标签
      */
     protected void incrementBusinessCounter(String metricName, String... tags) {
-        meterRegistry.counter(metricName, tags).increment();
+        businessCounters.computeIfAbsent(businessKey(metricName, tags), key -> meterRegistry.counter(metricName, tags))
+                .increment();
     }
 
     /**
@@ -270,7 +327,22 @@ public abstract class AbstractJobHandler {
      * @param tags 标签
      */
     protected void recordBusinessDuration(String metricName, long duration, String... tags) {
-        meterRegistry.timer(metricName, tags).record(duration, TimeUnit.MILLISECONDS);
+        businessTimers.computeIfAbsent(businessKey(metricName, tags), key -> meterRegistry.timer(metricName, tags))
+                .record(duration, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录自定义业务计数器，同 incrementBusinessCounter
+     * 
+     * @param metricName 指标名称
+     * @param tags 标签
+     */
+    protected void recordBusinessCounter(String metricName, String... tags) {
+        incrementBusinessCounter(metricName, tags);
+    }
+
+    private static String businessKey(String metricName, String... tags) {
+        return tags.length == 0 ? metricName : metricName + '\u0001' + String.join("\u0001", tags);
     }
 
     /**
@@ -281,4 +353,44 @@ public abstract class AbstractJobHandler {
     protected MeterRegistry getMeterRegistry() {
         return meterRegistry;
     }
-}
\ No newline at end of file
+
+    /**
+     * 单个任务的指标句柄
+     */
+    private static final class JobMeters {
+        private final Counter start;
+        private final Counter success;
+        private final Counter slow;
+        private final Timer successTime;
+        private final Timer failedTime;
+        private final Timer errorTime;
+        private final MeterHandleCache<Counter> failures;
+        private final MeterHandleCache<Counter> errors;
+        private final AtomicLong successDuration = new AtomicLong();
+        private final AtomicLong failureDuration = new AtomicLong();
+        private final AtomicLong errorDuration = new AtomicLong();
+
+        private JobMeters(MeterRegistry registry, String jobName) {
+            this.start = registry.counter("xxl.job.start.total", "job_name", jobName);
+            this.success = registry.counter("xxl.job.success.total", "job_name", jobName);
+            this.slow = registry.counter("xxl.job.slow.total", "job_name", jobName);
+            this.successTime = timer(registry, jobName, "success");
+            this.failedTime = timer(registry, jobName, "failed");
+            this.errorTime = timer(registry, jobName, "error");
+            this.failures = new MeterHandleCache<>(MAX_TAG_VALUES,
+                    code -> registry.counter("xxl.job.failure.total", "job_name", jobName, "error_code", code));
+            this.errors = new MeterHandleCache<>(MAX_TAG_VALUES,
+                    type -> registry.counter("xxl.job.error.total", "job_name", jobName, "error_type", type));
+            registry.gauge("xxl.job.duration.success", Tags.of("job_name", jobName), successDuration);
+            registry.gauge("xxl.job.duration.failure", Tags.of("job_name", jobName), failureDuration);
+            registry.gauge("xxl.job.duration.error", Tags.of("job_name", jobName), errorDuration);
+        }
+
+        private static Timer timer(MeterRegistry registry, String jobName, String status) {
+            return Timer.builder("xxl.job.duration")
+                    .tag("job_name", jobName)
+                    .tag("status", status)
+                    .register(registry);
+        }
+    }
+}
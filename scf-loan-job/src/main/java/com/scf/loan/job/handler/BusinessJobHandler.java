@@ -44,6 +44,11 @@ public class BusinessJobHandler extends AbstractJobHandler {
         return executeInternal(param, "dataSync");
     }
 
+    @Override
+    protected String getTraceTaskCode(String jobMethod) {
+        return "dataSync".equals(jobMethod) ? "BSYN" : "BDMO";
+    }
+
     @Override
     protected ReturnT<String> doExecute(String param, String jobMethod) throws Exception {
         log.info("开始处理业务任务，方法：{}，参数：{}", jobMethod, param);
@@ -39,6 +39,11 @@ public class DemoJobHandler extends AbstractJobHandler {
         return executeInternal(param);
     }
 
+    @Override
+    protected String getTraceTaskCode(String jobMethod) {
+        return "DEMO";
+    }
+
     @Override
     protected ReturnT<String> doExecute(String param) throws Exception {
         log.info("开始执行Demo任务，参数：{}", param);
@@ -1,6 +1,7 @@
 package com.scf.loan.job.handler;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.scf.loan.job.framework.dispatcher.UnifiedJobDispatcher;
 import com.scf.loan.job.framework.model.ScfCoreCommandParam;
@@ -10,6 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -27,19 +31,41 @@ public class ScfCoreCommandJobHandler extends AbstractJobHandler {
         return executeInternal(param, "scfCoreCommand");
     }
 
+    @Override
+    protected String getTraceTaskCode(String jobMethod) {
+        return "CCMD";
+    }
+
     @Override
     protected ReturnT<String> doExecute(String param, String jobMethod) {
         if (param == null || param.isBlank()) {
             return new ReturnT<>(ReturnT.FAIL_CODE, "param is blank");
         }
         try {
-            ScfCoreCommandParam<Map<String, Object>> commandParam = objectMapper.readValue(
-                    param, new TypeReference<ScfCoreCommandParam<Map<String, Object>>>() {
-                    });
-            return dispatcher.dispatch(commandParam);
+            List<ScfCoreCommandParam<?>> commandParams = parseParams(param);
+            if (commandParams.size() == 1 && !param.trim().startsWith("[")) {
+                return dispatcher.dispatch(commandParams.get(0));
+            }
+            return dispatcher.dispatchBatch(commandParams);
         } catch (Exception ex) {
             log.error("parse command param failed", ex);
             return new ReturnT<>(ReturnT.FAIL_CODE, ex.getMessage());
         }
     }
+
+    /**
+     * 支持单个 JSON 对象、JSON 数组以及每行一个对象的 NDJSON
+     */
+    List<ScfCoreCommandParam<?>> parseParams(String param) throws IOException {
+        List<ScfCoreCommandParam<?>> commandParams = new ArrayList<>();
+        try (MappingIterator<ScfCoreCommandParam<Map<String, Object>>> iterator = objectMapper
+                .readerFor(new TypeReference<ScfCoreCommandParam<Map<String, Object>>>() {
+                })
+                .readValues(param)) {
+            while (iterator.hasNextValue()) {
+                commandParams.add(iterator.nextValue());
+            }
+        }
+        return commandParams;
+    }
 }
@@ -1,10 +1,18 @@
 package com.scf.loan.job.handler;
 
+import com.scf.loan.job.service.OverdueCheckResult;
+import com.scf.loan.job.service.OverdueCheckService;
+import com.scf.loan.job.service.RepayPlanGenerateResult;
+import com.scf.loan.job.service.RepayPlanGenerateService;
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.context.XxlJobHelper;
 import com.xxl.job.core.handler.annotation.XxlJob;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+
 /**
  * SCF Loan相关的XXL-JOB任务处理器
  * 使用抽象基类提供统一的监控和日志功能
@@ -15,6 +23,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class ScfLoanJobHandler extends AbstractJobHandler {
 
+    @Autowired
+    private OverdueCheckService overdueCheckService;
+
+    @Autowired
+    private RepayPlanGenerateService repayPlanGenerateService;
+
     /**
      * SCF贷款订单处理任务
      * 
@@ -41,6 +55,7 @@ public class ScfLoanJobHandler extends AbstractJobHandler {
 
     /**
      * SCF逾期检查任务
+     * 调度中心路由策略配置为"分片广播"时各执行器并行处理各自分片
      * 
      * @param param 任务参数
      * @return 执行结果
@@ -51,6 +66,18 @@ public class ScfLoanJobHandler extends AbstractJobHandler {
         return executeInternal(param, "overdueCheck");
     }
 
+    @Override
+    protected String getTraceTaskCode(String jobMethod) {
+        if ("loanOrderProcess".equals(jobMethod)) {
+            return "LORD";
+        } else if ("repayPlanGenerate".equals(jobMethod)) {
+            return "RPLN";
+        } else if ("overdueCheck".equals(jobMethod)) {
+            return "OVDC";
+        }
+        return super.getTraceTaskCode(jobMethod);
+    }
+
     @Override
     protected ReturnT<String> doExecute(String param, String jobMethod) throws Exception {
         log.info("开始处理SCF贷款任务，方法：{}，参数：{}", jobMethod, param);
@@ -96,6 +123,7 @@ public class ScfLoanJobHandler extends AbstractJobHandler {
 
     /**
      * 执行SCF还款计划生成逻辑
+     * 参数可指定起始订单主键用于人工续跑，缺省从上次未完成的检查点开始
      * 
      * @param param 参数
      * @return 执行结果
@@ -103,26 +131,31 @@ public class ScfLoanJobHandler extends AbstractJobHandler {
      */
     private ReturnT<String> executeRepayPlanGenerateLogic(String param) throws Exception {
         log.info("开始执行SCF还款计划生成逻辑，参数：{}", param);
-        
-        // 模拟还款计划生成逻辑
-        log.info("正在生成SCF还款计划...");
-        
-        // 这里可以添加具体的还款计划生成逻辑
-        // 例如：根据贷款信息计算还款计划、生成还款明细等
-        
-        // 模拟处理时间
-        Thread.sleep(1500);
-        
+
+        Long startId = param == null || param.trim().isEmpty() ? null : Long.valueOf(param.trim());
+        RepayPlanGenerateResult result = repayPlanGenerateService.generate(startId);
+
         // 记录业务指标
-        recordBusinessCounter("scf.repay.plan.generated.count");
-        recordBusinessMetric("scf.repay.plan.generated.items", 12); // 模拟生成12期还款计划
-        
-        log.info("SCF还款计划生成完成");
+        recordBusinessDuration("scf.repay.plan.generate.duration", result.getDurationMillis());
+        recordBusinessMetric("scf.repay.plan.generated.count", result.getGenerated());
+        recordBusinessMetric("scf.repay.plan.generated.items", result.getBills());
+        recordBusinessMetric("scf.repay.plan.generate.throughput", result.getThroughput());
+        recordBusinessMetric("scf.repay.plan.generate.lag.max", result.getMaxLagMillis());
+        recordBusinessMetric("scf.repay.plan.generate.failed", result.getFailed());
+
+        log.info("SCF还款计划生成完成，起始游标：{}，检查点：{}，读取订单：{}，生成：{}，账单：{}，失败：{}，最大延迟：{}ms，耗时：{}ms",
+                result.getStartId(), result.getCheckpointId(), result.getOrders(), result.getGenerated(),
+                result.getBills(), result.getFailed(), result.getMaxLagMillis(), result.getDurationMillis());
+        if (!result.isCompleted() || result.getFailed() > 0) {
+            return new ReturnT<>(ReturnT.FAIL_CODE, "还款计划生成未完成，检查点：" + result.getCheckpointId()
+                    + "，失败订单数：" + result.getFailed());
+        }
         return ReturnT.SUCCESS;
     }
 
     /**
      * 执行SCF逾期检查逻辑
+     * 按 XXL-JOB 分片广播参数只处理本分片的账单，参数可指定业务日期(yyyy-MM-dd)，缺省为当天
      * 
      * @param param 参数
      * @return 执行结果
@@ -130,25 +163,28 @@ public class ScfLoanJobHandler extends AbstractJobHandler {
      */
     private ReturnT<String> executeOverdueCheckLogic(String param) throws Exception {
         log.info("开始执行SCF逾期检查逻辑，参数：{}", param);
-        
-        // 模拟逾期检查逻辑
-        log.info("正在检查SCF贷款逾期情况...");
-        
-        // 这里可以添加具体的逾期检查逻辑
-        // 例如：检查还款状态、计算逾期天数、生成逾期报告等
-        
-        // 模拟检查到逾期数据
-        int overdueCount = 5; // 模拟逾期数量
-        log.info("检查发现逾期贷款数量：{}", overdueCount);
-        
-        // 模拟处理时间
-        Thread.sleep(1000);
-        
-        // 记录业务指标
-        recordBusinessCounter("scf.overdue.checked.count");
-        recordBusinessMetric("scf.overdue.checked.overdue.count", overdueCount);
-        
-        log.info("SCF逾期检查完成");
+
+        LocalDate bizDate = param == null || param.trim().isEmpty() ? LocalDate.now() : LocalDate.parse(param.trim());
+        // 非分片广播触发时 XxlJobHelper 返回 -1，按单分片处理
+        int shardIndex = Math.max(0, XxlJobHelper.getShardIndex());
+        int shardTotal = Math.max(1, XxlJobHelper.getShardTotal());
+
+        OverdueCheckResult result = overdueCheckService.check(bizDate, shardIndex, shardTotal);
+
+        // 记录分片维度的业务指标
+        String shard = String.valueOf(result.getShardIndex());
+        recordBusinessDuration("scf.overdue.check.shard.duration", result.getDurationMillis(), "shard", shard);
+        recordBusinessMetric("scf.overdue.check.shard.scanned", result.getScanned(), "shard", shard);
+        recordBusinessMetric("scf.overdue.check.shard.throughput", result.getThroughput(), "shard", shard);
+        recordBusinessMetric("scf.overdue.checked.overdue.count", result.getOverdue(), "shard", shard);
+        recordBusinessMetric("scf.overdue.check.shard.conflicts", result.getConflicts(), "shard", shard);
+
+        log.info("SCF逾期检查完成，分片：{}/{}，扫描：{}，逾期：{}，更新：{}，冲突：{}，失败批次：{}，耗时：{}ms",
+                shardIndex, shardTotal, result.getScanned(), result.getOverdue(), result.getUpdated(),
+                result.getConflicts(), result.getFailedChunks(), result.getDurationMillis());
+        if (result.getFailedChunks() > 0) {
+            return new ReturnT<>(ReturnT.FAIL_CODE, "逾期检查失败批次数：" + result.getFailedChunks());
+        }
         return ReturnT.SUCCESS;
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.scf.loan.job.service;
+
+import lombok.Data;
+
+/**
+ * 单个分片的逾期检查结果
+ *
+ * @author scf-loan
+ */
+@Data
+public class OverdueCheckResult {
+
+    /**
+     * 分片序号
+     */
+    private int shardIndex;
+
+    /**
+     * 分片总数
+     */
+    private int shardTotal;
+
+    /**
+     * 扫描账单数
+     */
+    private long scanned;
+
+    /**
+     * 逾期账单数
+     */
+    private long overdue;
+
+    /**
+     * 成功更新账单数
+     */
+    private long updated;
+
+    /**
+     * 乐观锁冲突账单数（并发还款已修改，留待下次检查）
+     */
+    private long conflicts;
+
+    /**
+     * 处理失败的批次数
+     */
+    private long failedChunks;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private long durationMillis;
+
+    /**
+     * 每秒扫描账单数
+     */
+    public double getThroughput() {
+        return durationMillis <= 0 ? scanned : scanned * 1000.0 / durationMillis;
+    }
+}
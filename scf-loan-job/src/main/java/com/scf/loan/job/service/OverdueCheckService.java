@@ -0,0 +1,203 @@
+package com.scf.loan.job.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.scf.loan.biz.service.BillService;
+import com.scf.loan.common.enums.BillEnum;
+import com.scf.loan.common.utils.scf.ScfInterestUtils;
+import com.scf.loan.dal.entity.BillEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * 账单逾期检查服务
+ * 按 financingOrderId 的 CRC32 对分片总数取模划分数据，同一订单的账单总落在同一分片；
+ * 分片内单线程流式读取，按块交给有界的工作线程重算逾期天数与账单状态并乐观锁批量更新
+ *
+ * @author scf-loan
+ */
+@Slf4j
+@Service
+public class OverdueCheckService {
+
+    private static final String OPERATOR = "overdueCheckJob";
+
+    @Autowired
+    private BillService billService;
+
+    /**
+     * 每块账单数
+     */
+    @Value("${scf.job.overdue-check.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * 分片内并行处理的工作线程数
+     */
+    @Value("${scf.job.overdue-check.parallelism:4}")
+    private int parallelism = 4;
+
+    /**
+     * 检查一个分片内到期未结清的账单
+     *
+     * @param bizDate 业务日期
+     * @param shardIndex 分片序号（从0开始）
+     * @param shardTotal 分片总数
+     * @return 检查结果
+     * @throws InterruptedException 等待工作线程时被中断
+     */
+    public OverdueCheckResult check(LocalDate bizDate, int shardIndex, int shardTotal) throws InterruptedException {
+        if (bizDate == null) {
+            throw new IllegalArgumentException("bizDate 不能为空");
+        }
+        if (shardTotal <= 0 || shardIndex < 0 || shardIndex >= shardTotal) {
+            throw new IllegalArgumentException("分片参数不合法: " + shardIndex + "/" + shardTotal);
+        }
+        long startTime = System.currentTimeMillis();
+        AtomicLong overdue = new AtomicLong();
+        AtomicLong updated = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong failedChunks = new AtomicLong();
+
+        int workers = Math.max(1, parallelism);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "overdue-check-" + shardIndex + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 在途块数上限，读取快于处理时阻塞读线程，内存占用与数据量无关
+        int maxInFlight = workers * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LocalDateTime now = LocalDateTime.now();
+        long scanned;
+        try {
+            scanned = billService.scanBill(buildCondition(bizDate, shardIndex, shardTotal), chunkSize, chunk -> {
+                inFlight.acquireUninterruptibly();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            processChunk(chunk, bizDate, now, shardIndex, shardTotal, overdue, updated, conflicts);
+                        } catch (RuntimeException e) {
+                            failedChunks.incrementAndGet();
+                            log.error("逾期检查批次处理失败，分片：{}/{}，批次大小：{}", shardIndex, shardTotal, chunk.size(), e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            });
+            // 等待所有在途块处理完成
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        OverdueCheckResult result = new OverdueCheckResult();
+        result.setShardIndex(shardIndex);
+        result.setShardTotal(shardTotal);
+        result.setScanned(scanned);
+        result.setOverdue(overdue.get());
+        result.setUpdated(updated.get());
+        result.setConflicts(conflicts.get());
+        result.setFailedChunks(failedChunks.get());
+        result.setDurationMillis(System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    private void processChunk(List<BillEntity> chunk, LocalDate bizDate, LocalDateTime now,
+                              int shardIndex, int shardTotal,
+                              AtomicLong overdue, AtomicLong updated, AtomicLong conflicts) {
+        List<BillEntity> changes = new ArrayList<>();
+        for (BillEntity bill : chunk) {
+            if (shardTotal > 1 && shardOf(bill.getFinancingOrderId(), shardTotal) != shardIndex) {
+                continue;
+            }
+            BillEntity change = recompute(bill, bizDate, now);
+            if (change == null) {
+                continue;
+            }
+            if (BillEnum.OVERDUE.getCode().equals(change.getBillStatus())) {
+                overdue.incrementAndGet();
+            }
+            changes.add(change);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        int conflictCount = billService.batchUpdateBillWithRevision(changes).size();
+        conflicts.addAndGet(conflictCount);
+        updated.addAndGet(changes.size() - conflictCount);
+    }
+
+    /**
+     * 重算账单逾期天数与状态，无变化或无需处理时返回 null；
+     * 返回的实体只携带 id、revision 与变更字段，用于乐观锁更新
+     */
+    static BillEntity recompute(BillEntity bill, LocalDate bizDate, LocalDateTime now) {
+        BillEnum status = BillEnum.of(bill.getBillStatus());
+        if (status == BillEnum.REPAID || status == BillEnum.CLEARED || bill.getDueDate() == null
+                || (bill.getRemainingAmount() != null && bill.getRemainingAmount() <= 0)) {
+            return null;
+        }
+        int overdueDays = ScfInterestUtils.calculatePenaltyDays(LocalDate.parse(bill.getDueDate()), bizDate);
+        BillEnum newStatus = overdueDays > 0 ? BillEnum.OVERDUE : status;
+        boolean statusChanged = newStatus != status;
+        if (!statusChanged && bill.getOverdueDays() != null && bill.getOverdueDays() == overdueDays) {
+            return null;
+        }
+        BillEntity change = new BillEntity();
+        change.setId(bill.getId());
+        change.setRevision(bill.getRevision());
+        change.setOverdueDays(overdueDays);
+        if (statusChanged) {
+            change.setBillStatus(newStatus.getCode());
+            change.setStateChangeTime(now);
+        }
+        change.setUpdatedAt(now);
+        change.setUpdatedBy(OPERATOR);
+        return change;
+    }
+
+    /**
+     * 订单所属分片，与 SQL 中 MOD(CRC32(financing_order_id), shardTotal) 一致
+     */
+    static int shardOf(String financingOrderId, int shardTotal) {
+        if (financingOrderId == null) {
+            return 0;
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(financingOrderId.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc32.getValue() % shardTotal);
+    }
+
+    private QueryWrapper<BillEntity> buildCondition(LocalDate bizDate, int shardIndex, int shardTotal) {
+        QueryWrapper<BillEntity> qw = new QueryWrapper<>();
+        qw.in("bill_status", BillEnum.WAIT_REPAY.getCode(), BillEnum.PART_REPAID.getCode(), BillEnum.OVERDUE.getCode())
+                .lt("due_date", bizDate.toString())
+                .eq("del_flag", 0);
+        if (shardTotal > 1) {
+            qw.apply("MOD(CRC32(financing_order_id), {0}) = {1}", shardTotal, shardIndex);
+        }
+        return qw;
+    }
+}
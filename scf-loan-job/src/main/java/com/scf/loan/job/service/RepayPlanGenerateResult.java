@@ -0,0 +1,64 @@
+package com.scf.loan.job.service;
+
+import lombok.Data;
+
+/**
+ * 还款计划生成任务结果
+ *
+ * @author scf-loan
+ */
+@Data
+public class RepayPlanGenerateResult {
+
+    /**
+     * 本次起始游标（不含）
+     */
+    private long startId;
+
+    /**
+     * 检查点：该主键及之前的订单均已处理完成
+     */
+    private long checkpointId;
+
+    /**
+     * 是否扫描到末尾
+     */
+    private boolean completed;
+
+    /**
+     * 读取订单数
+     */
+    private long orders;
+
+    /**
+     * 生成计划的订单数
+     */
+    private long generated;
+
+    /**
+     * 写入账单数
+     */
+    private long bills;
+
+    /**
+     * 生成或写入失败的订单数
+     */
+    private long failed;
+
+    /**
+     * 放款成功到计划落库的最大延迟（毫秒）
+     */
+    private long maxLagMillis;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private long durationMillis;
+
+    /**
+     * 每秒生成计划的订单数
+     */
+    public double getThroughput() {
+        return durationMillis <= 0 ? generated : generated * 1000.0 / durationMillis;
+    }
+}
@@ -0,0 +1,427 @@
+package com.scf.loan.job.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.scf.loan.bill.plan.RepayPlanRequest;
+import com.scf.loan.bill.plan.RepayPlanSchedule;
+import com.scf.loan.bill.plan.enums.RepayMethod;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.biz.service.BillService;
+import com.scf.loan.biz.service.FinancingOrderService;
+import com.scf.loan.common.enums.BillEnum;
+import com.scf.loan.common.enums.LoanConfirmEnum;
+import com.scf.loan.dal.entity.BillEntity;
+import com.scf.loan.dal.entity.FinancingOrderEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 还款计划生成服务
+ * 读线程按主键游标分页读取放款成功且尚无账单的订单，经有界队列交给 N 个计算线程生成计划，
+ * 再经有界队列由调用线程攒批写入账单；队列满时上游阻塞，内存占用与订单量无关。
+ * 检查点为连续处理完成的最大订单主键，任务中断后下次从检查点续跑，完整跑完后清零
+ *
+ * @author scf-loan
+ */
+@Slf4j
+@Service
+public class RepayPlanGenerateService {
+
+    private static final String OPERATOR = "repayPlanGenerateJob";
+
+    private static final PendingOrder END_ORDER = new PendingOrder(null, null);
+
+    private static final GeneratedPlan END_PLAN = new GeneratedPlan(null, null, null);
+
+    @Autowired
+    private FinancingOrderService financingOrderService;
+
+    @Autowired
+    private BillService billService;
+
+    @Autowired
+    private RepayPlanService billRepayPlanService;
+
+    /**
+     * 每页读取订单数
+     */
+    @Value("${scf.job.repay-plan.page-size:500}")
+    private int pageSize = 500;
+
+    /**
+     * 计算线程数
+     */
+    @Value("${scf.job.repay-plan.workers:4}")
+    private int workers = 4;
+
+    /**
+     * 读、写队列容量
+     */
+    @Value("${scf.job.repay-plan.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+
+    /**
+     * 每批写入的账单行数
+     */
+    @Value("${scf.job.repay-plan.write-batch-size:1000}")
+    private int writeBatchSize = 1000;
+
+    /**
+     * 每条 INSERT 语句的账单行数
+     */
+    @Value("${scf.job.repay-plan.insert-chunk-size:500}")
+    private int insertChunkSize = 500;
+
+    @Value("${scf.job.repay-plan.repay-method:EQUAL_PRINCIPAL_INTEREST}")
+    private RepayMethod repayMethod = RepayMethod.EQUAL_PRINCIPAL_INTEREST;
+
+    @Value("${scf.job.repay-plan.daily-rate:50000}")
+    private long dailyRate = 50000L;
+
+    @Value("${scf.job.repay-plan.penalty-daily-rate:75000}")
+    private long penaltyDailyRate = 75000L;
+
+    @Value("${scf.job.repay-plan.period-days:30}")
+    private int periodDays = 30;
+
+    @Value("${scf.job.repay-plan.period-count:12}")
+    private int periodCount = 12;
+
+    /**
+     * 未跑完的任务留下的检查点
+     */
+    private final AtomicLong checkpoint = new AtomicLong();
+
+    public long getCheckpoint() {
+        return checkpoint.get();
+    }
+
+    /**
+     * 生成还款计划并写入账单
+     *
+     * @param startId 起始游标（不含），为空时从上次检查点开始
+     * @return 执行结果
+     * @throws InterruptedException 等待流水线时被中断
+     */
+    public RepayPlanGenerateResult generate(Long startId) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        long fromId = startId != null ? startId : checkpoint.get();
+        int workerCount = Math.max(1, workers);
+        BlockingQueue<PendingOrder> orderQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<GeneratedPlan> planQueue = new ArrayBlockingQueue<>(queueCapacity);
+        Queue<OrderPage> pages = new ConcurrentLinkedQueue<>();
+        PipelineState state = new PipelineState(fromId);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount + 1, runnable -> {
+            Thread thread = new Thread(runnable, "repay-plan-generate-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            executor.execute(() -> read(fromId, workerCount, orderQueue, pages, state));
+            for (int i = 0; i < workerCount; i++) {
+                executor.execute(() -> calculate(orderQueue, planQueue));
+            }
+            write(workerCount, planQueue, pages, state);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        boolean completed = state.readerCompleted && !state.aborted;
+        checkpoint.set(completed && state.failed.get() == 0 ? 0L : state.watermark);
+
+        RepayPlanGenerateResult result = new RepayPlanGenerateResult();
+        result.setStartId(fromId);
+        result.setCheckpointId(state.watermark);
+        result.setCompleted(completed);
+        result.setOrders(state.orders.get());
+        result.setGenerated(state.generated);
+        result.setBills(state.bills);
+        result.setFailed(state.failed.get());
+        result.setMaxLagMillis(state.maxLagMillis);
+        result.setDurationMillis(System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * 读线程：按主键游标分页，队列满时阻塞；结束时为每个计算线程放入结束标记
+     */
+    private void read(long fromId, int workerCount, BlockingQueue<PendingOrder> orderQueue,
+                      Queue<OrderPage> pages, PipelineState state) {
+        long cursor = fromId;
+        try {
+            while (!state.aborted) {
+                List<FinancingOrderEntity> orders = financingOrderService.list(buildCondition(cursor));
+                if (orders.isEmpty()) {
+                    state.readerCompleted = true;
+                    break;
+                }
+                cursor = orders.get(orders.size() - 1).getId();
+                OrderPage page = new OrderPage(cursor, orders.size());
+                pages.add(page);
+                state.orders.addAndGet(orders.size());
+                for (FinancingOrderEntity order : orders) {
+                    orderQueue.put(new PendingOrder(order, page));
+                }
+                if (orders.size() < pageSize) {
+                    state.readerCompleted = true;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state.aborted = true;
+        } catch (RuntimeException e) {
+            log.error("还款计划生成读取订单失败，游标：{}", cursor, e);
+            state.aborted = true;
+        } finally {
+            try {
+                for (int i = 0; i < workerCount; i++) {
+                    orderQueue.put(END_ORDER);
+                }
+            } catch (InterruptedException e) {
+                // 仅在流水线被 shutdownNow 拆除时发生
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 计算线程：生成计划并转换为账单，失败的订单同样交给写线程以推进检查点统计
+     */
+    private void calculate(BlockingQueue<PendingOrder> orderQueue, BlockingQueue<GeneratedPlan> planQueue) {
+        try {
+            while (true) {
+                PendingOrder pending = orderQueue.take();
+                if (pending == END_ORDER) {
+                    planQueue.put(END_PLAN);
+                    return;
+                }
+                List<BillEntity> bills;
+                try {
+                    RepayPlanSchedule schedule = billRepayPlanService.generateSchedule(buildRequest(pending.order));
+                    bills = toBills(pending.order, schedule, LocalDateTime.now());
+                } catch (RuntimeException e) {
+                    log.error("还款计划生成失败，订单：{}", pending.order.getFinancingOrderId(), e);
+                    bills = null;
+                }
+                planQueue.put(new GeneratedPlan(pending.order, pending.page, bills));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 写线程：攒够 writeBatchSize 行或上游暂时无数据时写入一批
+     */
+    private void write(int workerCount, BlockingQueue<GeneratedPlan> planQueue, Queue<OrderPage> pages,
+                       PipelineState state) throws InterruptedException {
+        List<GeneratedPlan> batch = new ArrayList<>();
+        int batchRows = 0;
+        int finishedWorkers = 0;
+        while (finishedWorkers < workerCount) {
+            GeneratedPlan plan = planQueue.poll(100, TimeUnit.MILLISECONDS);
+            if (plan == END_PLAN) {
+                finishedWorkers++;
+                continue;
+            }
+            if (plan != null) {
+                batch.add(plan);
+                batchRows += plan.bills == null ? 0 : plan.bills.size();
+            }
+            if (!batch.isEmpty() && (batchRows >= writeBatchSize || plan == null)) {
+                flush(batch, pages, state);
+                batch = new ArrayList<>();
+                batchRows = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, pages, state);
+        }
+    }
+
+    private void flush(List<GeneratedPlan> batch, Queue<OrderPage> pages, PipelineState state) {
+        List<BillEntity> rows = new ArrayList<>();
+        for (GeneratedPlan plan : batch) {
+            if (plan.bills != null) {
+                rows.addAll(plan.bills);
+            }
+        }
+        boolean written = true;
+        if (!rows.isEmpty()) {
+            try {
+                billService.batchInsertBill(rows, insertChunkSize);
+            } catch (RuntimeException e) {
+                log.error("还款计划写入账单失败，批次订单数：{}，账单数：{}", batch.size(), rows.size(), e);
+                written = false;
+                // 数据库不可用时停止读取新订单，已在队列中的订单照常排空
+                state.aborted = true;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (GeneratedPlan plan : batch) {
+            boolean success = written && plan.bills != null;
+            if (success) {
+                state.generated++;
+                state.bills += plan.bills.size();
+                LocalDateTime loanTime = plan.order.getStateChangeTime() != null
+                        ? plan.order.getStateChangeTime() : plan.order.getLoanTime();
+                if (loanTime != null) {
+                    state.maxLagMillis = Math.max(state.maxLagMillis, Duration.between(loanTime, now).toMillis());
+                }
+            } else {
+                state.failed.incrementAndGet();
+                plan.page.failed = true;
+            }
+            plan.page.remaining--;
+        }
+        advanceCheckpoint(pages, state);
+    }
+
+    /**
+     * 按页推进检查点：仅当前面所有页都已成功处理时才越过该页，存在失败页时停在其之前
+     */
+    private void advanceCheckpoint(Queue<OrderPage> pages, PipelineState state) {
+        OrderPage page;
+        while (!state.checkpointBlocked && (page = pages.peek()) != null && page.remaining == 0) {
+            if (page.failed) {
+                state.checkpointBlocked = true;
+                return;
+            }
+            state.watermark = page.maxId;
+            pages.poll();
+        }
+    }
+
+    RepayPlanRequest buildRequest(FinancingOrderEntity order) {
+        RepayPlanRequest request = new RepayPlanRequest();
+        request.setRepayMethod(repayMethod);
+        request.setPrincipal(order.getLoanAmount());
+        request.setDailyRate(dailyRate);
+        request.setPenaltyDailyRate(penaltyDailyRate);
+        request.setLoanDate(order.getLoanTime() != null ? order.getLoanTime().toLocalDate() : order.getStartDate());
+        request.setPeriodDays(periodDays);
+        request.setPeriodCount(periodCount);
+        return request;
+    }
+
+    static List<BillEntity> toBills(FinancingOrderEntity order, RepayPlanSchedule schedule, LocalDateTime now) {
+        if (schedule.getPeriodCount() == 0) {
+            return Collections.emptyList();
+        }
+        List<BillEntity> bills = new ArrayList<>(schedule.getPeriodCount());
+        for (int index = 0; index < schedule.getPeriodCount(); index++) {
+            long principal = schedule.getPrincipal(index);
+            long interest = schedule.getInterest(index);
+            BillEntity bill = new BillEntity();
+            bill.setFinancingOrderId(order.getFinancingOrderId());
+            bill.setBillId(order.getFinancingOrderId() + "-" + schedule.getPeriod(index));
+            bill.setBillPeriod(schedule.getPeriod(index));
+            bill.setBillStatus(BillEnum.WAIT_REPAY.getCode());
+            bill.setStartDate(LocalDate.ofEpochDay(schedule.getStartEpochDay(index)).toString());
+            bill.setDueDate(LocalDate.ofEpochDay(schedule.getDueEpochDay(index)).toString());
+            bill.setPrincipalAmount(principal);
+            bill.setInterestAmount(interest);
+            bill.setOtherAmount(0L);
+            bill.setTotalAmount(principal + interest);
+            bill.setPaidAmount(0L);
+            bill.setRemainingAmount(principal + interest);
+            bill.setOverdueDays(0);
+            bill.setStateChangeTime(now);
+            bill.setCreatedAt(now);
+            bill.setUpdatedAt(now);
+            bill.setCreatedBy(OPERATOR);
+            bill.setUpdatedBy(OPERATOR);
+            bill.setDelFlag(0);
+            bill.setRevision(0);
+            bills.add(bill);
+        }
+        return bills;
+    }
+
+    private QueryWrapper<FinancingOrderEntity> buildCondition(long cursor) {
+        QueryWrapper<FinancingOrderEntity> qw = new QueryWrapper<>();
+        qw.eq("loan_confirm_status", LoanConfirmEnum.LOAN_SUCCESS.getCode())
+                .eq("del_flag", 0)
+                .gt("id", cursor)
+                .notExists("SELECT 1 FROM t_scf_bill b WHERE b.financing_order_id = t_scf_financing_order.financing_order_id AND b.del_flag = 0")
+                .orderByAsc("id")
+                .last("LIMIT " + pageSize);
+        return qw;
+    }
+
+    private static class PendingOrder {
+        private final FinancingOrderEntity order;
+        private final OrderPage page;
+
+        private PendingOrder(FinancingOrderEntity order, OrderPage page) {
+            this.order = order;
+            this.page = page;
+        }
+    }
+
+    private static class GeneratedPlan {
+        private final FinancingOrderEntity order;
+        private final OrderPage page;
+        private final List<BillEntity> bills;
+
+        private GeneratedPlan(FinancingOrderEntity order, OrderPage page, List<BillEntity> bills) {
+            this.order = order;
+            this.page = page;
+            this.bills = bills;
+        }
+    }
+
+    /**
+     * 一页订单：remaining 与 failed 只由写线程修改
+     */
+    private static class OrderPage {
+        private final long maxId;
+        private int remaining;
+        private boolean failed;
+
+        private OrderPage(long maxId, int size) {
+            this.maxId = maxId;
+            this.remaining = size;
+        }
+    }
+
+    /**
+     * 流水线状态：计数字段除 orders/failed 外只由写线程修改
+     */
+    private static class PipelineState {
+        private final AtomicLong orders = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile boolean aborted;
+        private volatile boolean readerCompleted;
+        private long generated;
+        private long bills;
+        private long maxLagMillis;
+        private long watermark;
+        private boolean checkpointBlocked;
+
+        private PipelineState(long watermark) {
+            this.watermark = watermark;
+        }
+    }
+}
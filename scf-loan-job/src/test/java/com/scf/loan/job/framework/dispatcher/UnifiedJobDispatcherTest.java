@@ -1,5 +1,6 @@
 package com.scf.loan.job.framework.dispatcher;
 
+import com.scf.loan.job.framework.command.BatchScfCoreCommand;
 import com.scf.loan.job.framework.command.CommandRegistry;
 import com.scf.loan.job.framework.command.CommandService;
 import com.scf.loan.job.framework.command.ScfCoreCommand;
@@ -10,14 +11,22 @@ import com.scf.loan.job.framework.model.ScfCoreCommandParam;
 import com.scf.loan.job.framework.monitor.MonitorService;
 import com.scf.loan.job.framework.route.RouteService;
 import com.scf.loan.job.framework.route.RouteStrategy;
+import com.scf.loan.job.framework.trace.TraceContext;
 import com.xxl.job.core.biz.model.ReturnT;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class UnifiedJobDispatcherTest {
@@ -92,4 +101,130 @@ class UnifiedJobDispatcherTest {
         assertEquals(ReturnT.FAIL_CODE, result.getCode());
         assertTrue(result.getMsg().contains("command"));
     }
+
+    @Test
+    void dispatchBatchGroupsByCommandAndRoutesOncePerRouteInput() {
+        AtomicInteger routeCalls = new AtomicInteger();
+        RouteStrategy regionStrategy = new RouteStrategy() {
+            @Override
+            public boolean supports(ScfCoreCommandParam<?> param) {
+                return true;
+            }
+
+            @Override
+            public String route(ScfCoreCommandParam<?> param) {
+                routeCalls.incrementAndGet();
+                return "region-" + ((Map<?, ?>) param.getBusinessParam()).get("region");
+            }
+
+            @Override
+            public int getOrder() {
+                return 0;
+            }
+
+            @Override
+            public Set<String> getRouteAttributes() {
+                return Collections.singleton("region");
+            }
+        };
+        List<List<ScfCoreCommandParam<Map<String, Object>>>> batches = new ArrayList<>();
+        BatchScfCoreCommand<Map<String, Object>> batchCommand = new BatchScfCoreCommand<Map<String, Object>>() {
+            @Override
+            public ReturnT<String> executeBatch(List<ScfCoreCommandParam<Map<String, Object>>> params) {
+                batches.add(params);
+                return ReturnT.SUCCESS;
+            }
+
+            @Override
+            public String getCommandType() {
+                return "BATCH";
+            }
+
+            @Override
+            public ReturnT<String> execute(ScfCoreCommandParam<Map<String, Object>> param) {
+                throw new IllegalStateException("batch command should not run one by one");
+            }
+        };
+        AtomicInteger singleCalls = new AtomicInteger();
+        ScfCoreCommand<Map<String, Object>> singleCommand = new ScfCoreCommand<Map<String, Object>>() {
+            @Override
+            public String getCommandType() {
+                return "SINGLE";
+            }
+
+            @Override
+            public ReturnT<String> execute(ScfCoreCommandParam<Map<String, Object>> param) {
+                return singleCalls.incrementAndGet() == 2 ? ReturnT.FAIL : ReturnT.SUCCESS;
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UnifiedJobDispatcher dispatcher = new UnifiedJobDispatcher(new RouteService(List.of(regionStrategy)),
+                new CommandService(new CommandRegistry(), List.of(batchCommand, singleCommand)),
+                new ExecuteService(List.of(new SyncExecuteStrategy()), new DefaultRetryStrategy()),
+                new MonitorService(meterRegistry));
+
+        List<ScfCoreCommandParam<?>> params = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            params.add(param("BATCH", i % 2 == 0 ? "east" : "west"));
+        }
+        params.add(param("SINGLE", "east"));
+        params.add(param("SINGLE", "east"));
+        params.add(param("MISSING", "east"));
+
+        ReturnT<String> result = dispatcher.dispatchBatch(params);
+
+        assertEquals(ReturnT.FAIL_CODE, result.getCode());
+        assertTrue(result.getMsg().startsWith("total=7, success=5, failed=2"));
+        assertEquals(2, routeCalls.get());
+        assertEquals(1, batches.size());
+        assertEquals(4, batches.get(0).size());
+        assertEquals("region-west", batches.get(0).get(1).getRouteKey());
+        assertEquals(2, singleCalls.get());
+        assertEquals(params.get(0).getTraceLogId(), params.get(6).getTraceLogId());
+        assertEquals(4.0, meterRegistry.get("scf.job.command.success").tag("command", "BATCH").counter().count());
+        assertEquals(1.0, meterRegistry.get("scf.job.command.failed").tag("command", "SINGLE").counter().count());
+    }
+
+    @Test
+    void dispatchBatchEmpty() {
+        UnifiedJobDispatcher dispatcher = new UnifiedJobDispatcher(new RouteService(List.of()),
+                new CommandService(new CommandRegistry(), List.of()),
+                new ExecuteService(List.of(new SyncExecuteStrategy()), new DefaultRetryStrategy()),
+                new MonitorService(new SimpleMeterRegistry()));
+
+        assertEquals(ReturnT.FAIL_CODE, dispatcher.dispatchBatch(List.of()).getCode());
+    }
+
+    @Test
+    void dispatchJoinsCallerTraceAndClearsOwnTrace() {
+        UnifiedJobDispatcher dispatcher = new UnifiedJobDispatcher(new RouteService(List.of()),
+                new CommandService(new CommandRegistry(), List.of()),
+                new ExecuteService(List.of(new SyncExecuteStrategy()), new DefaultRetryStrategy()),
+                new MonitorService(new SimpleMeterRegistry()));
+
+        ScfCoreCommandParam<Map<String, Object>> own = param("MISSING", "east");
+        dispatcher.dispatch(own);
+        assertNotNull(own.getTraceLogId());
+        assertNull(TraceContext.getRootId());
+
+        String rootId = TraceContext.initRoot("SC", "JOB");
+        try {
+            ScfCoreCommandParam<Map<String, Object>> joined = param("MISSING", "east");
+            dispatcher.dispatch(joined);
+            assertEquals(rootId, joined.getTraceLogId());
+            assertEquals(rootId, TraceContext.getRootId());
+        } finally {
+            TraceContext.clear();
+        }
+    }
+
+    private static ScfCoreCommandParam<Map<String, Object>> param(String commandType, String region) {
+        Map<String, Object> businessParam = new HashMap<>();
+        businessParam.put("region", region);
+        ScfCoreCommandParam<Map<String, Object>> param = new ScfCoreCommandParam<>();
+        param.setCommandType(commandType);
+        param.setExecuteType("sync");
+        param.setBusinessParam(businessParam);
+        return param;
+    }
 }
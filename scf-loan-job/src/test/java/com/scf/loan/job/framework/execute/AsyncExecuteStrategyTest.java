@@ -0,0 +1,143 @@
+package com.scf.loan.job.framework.execute;
+
+import com.scf.loan.job.framework.command.ScfCoreCommand;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.scf.loan.job.framework.trace.TraceContext;
+import com.xxl.job.core.biz.model.ReturnT;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncExecuteStrategyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AsyncExecuteStrategy strategy;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        TraceContext.clear();
+        MDC.clear();
+        if (strategy != null) {
+            strategy.destroy();
+        }
+    }
+
+    @Test
+    void executePropagatesTraceAndRecordsResult() throws InterruptedException {
+        strategy = new AsyncExecuteStrategy(new AsyncExecutorProperties(), new MonitorService(meterRegistry));
+        String rootId = TraceContext.initRoot("SC", "TEST");
+        MDC.put("traceId", rootId);
+        AtomicReference<String> workerRootId = new AtomicReference<>();
+        AtomicReference<String> workerTraceId = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        ReturnT<String> result = strategy.execute(param(), command("TEST", () -> {
+            workerRootId.set(TraceContext.getRootId());
+            workerTraceId.set(MDC.get("traceId"));
+            done.countDown();
+        }), new DefaultRetryStrategy());
+
+        assertEquals(ReturnT.SUCCESS_CODE, result.getCode());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(rootId, workerRootId.get());
+        assertEquals(rootId, workerTraceId.get());
+        strategy.destroy();
+        assertEquals(1.0, meterRegistry.get("scf.job.async.command").tag("result", "success").counter().count());
+        assertEquals(1L, meterRegistry.get("scf.job.executor.wait").timer().count());
+    }
+
+    @Test
+    void bulkheadRejectsWhenCommandSaturated() throws InterruptedException {
+        AsyncExecutorProperties properties = new AsyncExecutorProperties();
+        properties.setBulkheads(Collections.singletonMap("SLOW", 1));
+        strategy = new AsyncExecuteStrategy(properties, new MonitorService(meterRegistry));
+        CountDownLatch release = new CountDownLatch(1);
+        ScfCoreCommand<Object> slow = command("SLOW", () -> await(release));
+
+        assertEquals(ReturnT.SUCCESS_CODE, strategy.execute(param(), slow, new DefaultRetryStrategy()).getCode());
+        assertEquals(ReturnT.FAIL_CODE, strategy.execute(param(), slow, new DefaultRetryStrategy()).getCode());
+        assertEquals(ReturnT.SUCCESS_CODE, strategy.execute(param(), command("OTHER", () -> { }), new DefaultRetryStrategy()).getCode());
+        assertEquals(1.0, meterRegistry.get("scf.job.executor.bulkhead.in.flight").tag("command", "SLOW").gauge().value());
+
+        release.countDown();
+        strategy.destroy();
+        assertEquals(1.0, meterRegistry.get("scf.job.executor.rejected").tag("reason", "bulkhead").counter().count());
+        assertEquals(0.0, meterRegistry.get("scf.job.executor.bulkhead.in.flight").tag("command", "SLOW").gauge().value());
+    }
+
+    @Test
+    void saturatedExecutorAppliesRejectionPolicy() throws InterruptedException {
+        AsyncExecutorProperties properties = new AsyncExecutorProperties();
+        properties.setCoreSize(1);
+        properties.setMaxSize(1);
+        properties.setQueueCapacity(1);
+        strategy = new AsyncExecuteStrategy(properties, new MonitorService(meterRegistry));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        strategy.execute(param(), command("BLOCK", () -> {
+            started.countDown();
+            await(release);
+        }), new DefaultRetryStrategy());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        strategy.execute(param(), command("QUEUED", () -> { }), new DefaultRetryStrategy());
+        assertEquals(1.0, meterRegistry.get("scf.job.executor.queue.depth").gauge().value());
+
+        ReturnT<String> rejected = strategy.execute(param(), command("REJECTED", () -> { }), new DefaultRetryStrategy());
+        assertEquals(ReturnT.FAIL_CODE, rejected.getCode());
+
+        properties.setRejectionPolicy(AsyncExecutorProperties.RejectionPolicy.CALLER_RUNS);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        ReturnT<String> callerRuns = strategy.execute(param(), command("CALLER", () -> runner.set(Thread.currentThread())), new DefaultRetryStrategy());
+        assertEquals(ReturnT.SUCCESS_CODE, callerRuns.getCode());
+        assertEquals(Thread.currentThread(), runner.get());
+
+        release.countDown();
+        strategy.destroy();
+        assertEquals(2.0, meterRegistry.get("scf.job.executor.rejected").tag("reason", "queue").counters()
+                .stream().mapToDouble(Counter::count).sum());
+        assertNotNull(meterRegistry.get("scf.job.async.command").tag("command", "QUEUED").counter());
+    }
+
+    private static ScfCoreCommandParam<Object> param() {
+        ScfCoreCommandParam<Object> param = new ScfCoreCommandParam<>();
+        param.setExecuteType("async");
+        return param;
+    }
+
+    private static ScfCoreCommand<Object> command(String commandType, Runnable body) {
+        return new ScfCoreCommand<Object>() {
+            @Override
+            public String getCommandType() {
+                return commandType;
+            }
+
+            @Override
+            public ReturnT<String> execute(ScfCoreCommandParam<Object> param) {
+                body.run();
+                return ReturnT.SUCCESS;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.scf.loan.job.framework.execute;
+
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.xxl.job.core.biz.model.ReturnT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackoffRetryStrategyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private BackoffRetryStrategy strategy;
+
+    @AfterEach
+    void tearDown() {
+        if (strategy != null) {
+            strategy.destroy();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void retriesWithExponentialBackoffUntilSuccess() {
+        RetryProperties properties = properties();
+        properties.setInitialDelayMillis(10);
+        strategy = new BackoffRetryStrategy(properties, new MonitorService(meterRegistry));
+        AtomicInteger calls = new AtomicInteger();
+
+        ReturnT<String> result = strategy.executeWithRetry(param(3),
+                () -> calls.incrementAndGet() < 3 ? ReturnT.FAIL : ReturnT.SUCCESS);
+
+        assertEquals(ReturnT.SUCCESS_CODE, result.getCode());
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.get("scf.job.retry.attempts").tag("command", "TEST").counter().count());
+        assertEquals(30.0, meterRegistry.get("scf.job.retry.wait").timer().totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void asyncRetryReleasesWorkerWhileWaiting() throws Exception {
+        RetryProperties properties = properties();
+        properties.setInitialDelayMillis(300);
+        strategy = new BackoffRetryStrategy(properties, new MonitorService(meterRegistry));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch otherTaskRan = new CountDownLatch(1);
+
+        CompletableFuture<ReturnT<String>> future = executor.submit(() -> strategy.executeWithRetryAsync(param(1),
+                () -> calls.incrementAndGet() < 2 ? ReturnT.FAIL : ReturnT.SUCCESS, executor)).get();
+        executor.execute(otherTaskRan::countDown);
+
+        assertTrue(otherTaskRan.await(200, TimeUnit.MILLISECONDS));
+        assertFalse(future.isDone());
+        assertEquals(ReturnT.SUCCESS_CODE, future.get(5, TimeUnit.SECONDS).getCode());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void syncRetryIsDrivenByTimerOnCallerThread() throws Exception {
+        RetryProperties properties = properties();
+        properties.setInitialDelayMillis(60_000);
+        strategy = new BackoffRetryStrategy(properties, new MonitorService(meterRegistry));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        Future<ReturnT<String>> result = executor.submit(() -> strategy.executeWithRetry(param(1), () -> {
+            threads.add(Thread.currentThread());
+            firstAttempt.countDown();
+            return calls.incrementAndGet() < 2 ? ReturnT.FAIL : ReturnT.SUCCESS;
+        }));
+        assertTrue(firstAttempt.await(5, TimeUnit.SECONDS));
+        strategy.destroy();
+
+        assertEquals(ReturnT.SUCCESS_CODE, result.get(5, TimeUnit.SECONDS).getCode());
+        assertEquals(2, calls.get());
+        assertEquals(1, threads.size());
+    }
+
+    @Test
+    void fatalErrorIsNotRetried() {
+        strategy = new BackoffRetryStrategy(properties(), new MonitorService(meterRegistry));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> strategy.executeWithRetry(param(3), () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("bad param");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("scf.job.retry.give.up").tag("reason", "fatal").counter().count());
+    }
+
+    @Test
+    void budgetLimitsRetriesPerCommandType() {
+        RetryProperties properties = properties();
+        properties.setBudgetCapacity(1);
+        properties.setBudgetRefillPerSecond(0);
+        strategy = new BackoffRetryStrategy(properties, new MonitorService(meterRegistry));
+        AtomicInteger calls = new AtomicInteger();
+
+        strategy.executeWithRetry(param(3), () -> {
+            calls.incrementAndGet();
+            return ReturnT.FAIL;
+        });
+        strategy.executeWithRetry(param(3), () -> {
+            calls.incrementAndGet();
+            return ReturnT.FAIL;
+        });
+
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.get("scf.job.retry.give.up").tag("reason", "budget").counter().count());
+    }
+
+    private static RetryProperties properties() {
+        RetryProperties properties = new RetryProperties();
+        properties.setInitialDelayMillis(1);
+        properties.setJitterRatio(0);
+        return properties;
+    }
+
+    private static ScfCoreCommandParam<Object> param(int retryTimes) {
+        ScfCoreCommandParam<Object> param = new ScfCoreCommandParam<>();
+        param.setCommandType("TEST");
+        param.setRetryTimes(retryTimes);
+        return param;
+    }
+}
@@ -0,0 +1,139 @@
+package com.scf.loan.job.framework.execute;
+
+import com.scf.loan.job.framework.command.ScfCoreCommand;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.xxl.job.core.biz.model.ReturnT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecuteServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MonitorService monitorService = new MonitorService(meterRegistry);
+
+    @Test
+    void overdueSyncCommandIsInterrupted() {
+        ExecuteService executeService = new ExecuteService(Collections.singletonList(new SyncExecuteStrategy()),
+                new DefaultRetryStrategy(), monitorService);
+        long start = System.currentTimeMillis();
+
+        ReturnT<String> result = executeService.execute(param("sync", 100L, 0), command("SLOW", () -> {
+            sleep(5000);
+            return ReturnT.SUCCESS;
+        }));
+
+        assertEquals(Deadline.TIMEOUT_CODE, result.getCode());
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertNull(Deadline.current());
+        assertEquals(1.0, meterRegistry.get("scf.job.command.timeout").tag("stage", "running").counter().count());
+    }
+
+    @Test
+    void remainingBudgetIsVisibleToCommand() {
+        ExecuteService executeService = new ExecuteService(Collections.singletonList(new SyncExecuteStrategy()),
+                new DefaultRetryStrategy(), monitorService);
+        AtomicLong remaining = new AtomicLong(-1);
+
+        executeService.execute(param("sync", 1000L, 0), command("TEST", () -> {
+            remaining.set(Deadline.current().remainingMillis());
+            return ReturnT.SUCCESS;
+        }));
+
+        assertTrue(remaining.get() > 0 && remaining.get() <= 1000);
+    }
+
+    @Test
+    void retriesStopAtDeadline() {
+        RetryProperties properties = new RetryProperties();
+        properties.setInitialDelayMillis(50);
+        properties.setMultiplier(1.0);
+        properties.setJitterRatio(0);
+        BackoffRetryStrategy retryStrategy = new BackoffRetryStrategy(properties, monitorService);
+        ExecuteService executeService = new ExecuteService(Collections.singletonList(new SyncExecuteStrategy()),
+                retryStrategy, monitorService);
+        AtomicInteger calls = new AtomicInteger();
+
+        ReturnT<String> result = executeService.execute(param("sync", 120L, 10), command("TEST", () -> {
+            calls.incrementAndGet();
+            return ReturnT.FAIL;
+        }));
+
+        retryStrategy.destroy();
+        assertEquals(ReturnT.FAIL_CODE, result.getCode());
+        assertTrue(calls.get() >= 2 && calls.get() <= 3);
+        assertEquals(1.0, meterRegistry.get("scf.job.retry.give.up").tag("reason", "deadline").counter().count());
+    }
+
+    @Test
+    void overdueAsyncCommandReleasesExecutorSlot() throws InterruptedException {
+        AsyncExecutorProperties properties = new AsyncExecutorProperties();
+        properties.setCoreSize(1);
+        properties.setMaxSize(1);
+        AsyncExecuteStrategy strategy = new AsyncExecuteStrategy(properties, monitorService);
+        ExecuteService executeService = new ExecuteService(Arrays.asList(new SyncExecuteStrategy(), strategy),
+                new DefaultRetryStrategy(), monitorService);
+        CountDownLatch secondRan = new CountDownLatch(1);
+
+        executeService.execute(param("async", 100L, 0), command("STUCK", () -> {
+            sleep(60000);
+            return ReturnT.SUCCESS;
+        }));
+        executeService.execute(param("async", null, 0), command("NEXT", () -> {
+            secondRan.countDown();
+            return ReturnT.SUCCESS;
+        }));
+
+        assertTrue(secondRan.await(5, TimeUnit.SECONDS));
+        strategy.destroy();
+        assertEquals(1.0, meterRegistry.get("scf.job.command.timeout").tag("command", "STUCK").counter().count());
+        assertEquals(1.0, meterRegistry.get("scf.job.async.command").tag("command", "STUCK")
+                .tag("result", "failed").counter().count());
+    }
+
+    private static ScfCoreCommandParam<Object> param(String executeType, Long timeout, int retryTimes) {
+        ScfCoreCommandParam<Object> param = new ScfCoreCommandParam<>();
+        param.setCommandType("TEST");
+        param.setExecuteType(executeType);
+        param.setTimeout(timeout);
+        param.setRetryTimes(retryTimes);
+        return param;
+    }
+
+    private static ScfCoreCommand<Object> command(String commandType, Supplier<ReturnT<String>> body) {
+        return new ScfCoreCommand<Object>() {
+            @Override
+            public String getCommandType() {
+                return commandType;
+            }
+
+            @Override
+            public ReturnT<String> execute(ScfCoreCommandParam<Object> param) {
+                return body.get();
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.scf.loan.job.framework.execute;
+
+import com.scf.loan.job.framework.command.ScfCoreCommand;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.monitor.MonitorService;
+import com.xxl.job.core.biz.model.ReturnT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadExecuteStrategyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VirtualThreadExecuteStrategy strategy;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (strategy != null) {
+            strategy.destroy();
+        }
+    }
+
+    @Test
+    void usesVirtualThreadsWhenRuntimeSupportsThem() {
+        strategy = new VirtualThreadExecuteStrategy(new VirtualExecutorProperties(), new MonitorService(meterRegistry));
+        String version = System.getProperty("java.specification.version");
+        int feature = Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+        assertEquals(feature >= 21, strategy.isVirtual());
+    }
+
+    @Test
+    void limitsConcurrencyPerCommandType() throws InterruptedException {
+        VirtualExecutorProperties properties = new VirtualExecutorProperties();
+        properties.setConcurrency(Collections.singletonMap("LIMITED", 2));
+        properties.setFallbackPoolSize(8);
+        strategy = new VirtualThreadExecuteStrategy(properties, new MonitorService(meterRegistry));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(6);
+        ScfCoreCommand<Object> limited = command("LIMITED", () -> {
+            int current = running.incrementAndGet();
+            maxRunning.accumulateAndGet(current, Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            done.countDown();
+        });
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(ReturnT.SUCCESS_CODE, strategy.execute(param(), limited, new DefaultRetryStrategy()).getCode());
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    void rejectsWhenPendingLimitReached() throws InterruptedException {
+        VirtualExecutorProperties properties = new VirtualExecutorProperties();
+        properties.setMaxPending(1);
+        strategy = new VirtualThreadExecuteStrategy(properties, new MonitorService(meterRegistry));
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertEquals(ReturnT.SUCCESS_CODE, strategy.execute(param(), command("SLOW", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), new DefaultRetryStrategy()).getCode());
+        assertEquals(ReturnT.FAIL_CODE, strategy.execute(param(), command("OTHER", () -> { }), new DefaultRetryStrategy()).getCode());
+
+        release.countDown();
+        strategy.destroy();
+        assertEquals(1.0, meterRegistry.get("scf.job.executor.rejected").tag("reason", "pending").counter().count());
+        assertEquals(1.0, meterRegistry.get("scf.job.async.command").tag("command", "SLOW").tag("result", "success").counter().count());
+    }
+
+    @Test
+    void saturatedCommandTypeDoesNotStarveFallbackPool() throws InterruptedException {
+        VirtualExecutorProperties properties = new VirtualExecutorProperties();
+        properties.setConcurrency(Collections.singletonMap("SATURATED", 1));
+        properties.setFallbackPoolSize(2);
+        strategy = new VirtualThreadExecuteStrategy(properties, new MonitorService(meterRegistry), null);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch saturatedDone = new CountDownLatch(6);
+        AtomicInteger saturatedRunning = new AtomicInteger();
+        ScfCoreCommand<Object> saturated = command("SATURATED", () -> {
+            saturatedRunning.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            saturatedDone.countDown();
+        });
+        for (int i = 0; i < 6; i++) {
+            assertEquals(ReturnT.SUCCESS_CODE, strategy.execute(param(), saturated, new DefaultRetryStrategy()).getCode());
+        }
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        assertEquals(ReturnT.SUCCESS_CODE, strategy.execute(param(), command("OTHER", otherDone::countDown),
+                new DefaultRetryStrategy()).getCode());
+
+        assertFalse(strategy.isVirtual());
+        assertTrue(otherDone.await(2, TimeUnit.SECONDS));
+        assertEquals(1, saturatedRunning.get());
+        release.countDown();
+        assertTrue(saturatedDone.await(5, TimeUnit.SECONDS));
+    }
+
+    private static ScfCoreCommandParam<Object> param() {
+        ScfCoreCommandParam<Object> param = new ScfCoreCommandParam<>();
+        param.setExecuteType("virtual");
+        return param;
+    }
+
+    private static ScfCoreCommand<Object> command(String commandType, Runnable body) {
+        return new ScfCoreCommand<Object>() {
+            @Override
+            public String getCommandType() {
+                return commandType;
+            }
+
+            @Override
+            public ReturnT<String> execute(ScfCoreCommandParam<Object> param) {
+                body.run();
+                return ReturnT.SUCCESS;
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.scf.loan.job.framework.monitor;
+
+import com.scf.loan.job.framework.command.CommandRegistry;
+import com.scf.loan.job.framework.command.CommandService;
+import com.scf.loan.job.framework.command.ScfCoreCommand;
+import com.scf.loan.job.framework.dispatcher.UnifiedJobDispatcher;
+import com.scf.loan.job.framework.execute.DefaultRetryStrategy;
+import com.scf.loan.job.framework.execute.ExecuteService;
+import com.scf.loan.job.framework.execute.SyncExecuteStrategy;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.route.DefaultRouteStrategy;
+import com.scf.loan.job.framework.route.RouteService;
+import com.xxl.job.core.biz.model.ReturnT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class MonitorServiceTest {
+
+    @Test
+    void steadyStateDispatchDoesNotTouchRegistry() {
+        MeterRegistry meterRegistry = spy(new SimpleMeterRegistry());
+        ScfCoreCommand<String> command = new ScfCoreCommand<String>() {
+            @Override
+            public String getCommandType() {
+                return "TEST";
+            }
+
+            @Override
+            public ReturnT<String> execute(ScfCoreCommandParam<String> param) {
+                return ReturnT.SUCCESS;
+            }
+        };
+        UnifiedJobDispatcher dispatcher = new UnifiedJobDispatcher(
+                new RouteService(List.of(new DefaultRouteStrategy())),
+                new CommandService(new CommandRegistry(), List.of(command)),
+                new ExecuteService(List.of(new SyncExecuteStrategy()), new DefaultRetryStrategy()),
+                new MonitorService(meterRegistry));
+
+        assertEquals(ReturnT.SUCCESS_CODE, dispatcher.dispatch(param()).getCode());
+        clearInvocations(meterRegistry);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(ReturnT.SUCCESS_CODE, dispatcher.dispatch(param()).getCode());
+        }
+
+        verifyNoInteractions(meterRegistry);
+        assertEquals(101.0, meterRegistry.get("scf.job.command.success").tag("command", "TEST").counter().count());
+    }
+
+    @Test
+    void tagValuesBeyondLimitFoldIntoOther() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MonitorService monitorService = new MonitorService(meterRegistry, 3);
+
+        for (int i = 0; i < 10; i++) {
+            monitorService.recordDispatcherError("error-" + i);
+        }
+
+        assertEquals(4, meterRegistry.get("scf.job.system.error").counters().size());
+        assertEquals(7.0, meterRegistry.get("scf.job.system.error")
+                .tag("error_type", MeterHandleCache.OTHER).counter().count());
+    }
+
+    private static ScfCoreCommandParam<String> param() {
+        ScfCoreCommandParam<String> param = new ScfCoreCommandParam<>();
+        param.setCommandType("TEST");
+        param.setExecuteType("sync");
+        param.setRouteKey("key");
+        return param;
+    }
+}
@@ -0,0 +1,215 @@
+package com.scf.loan.job.framework.route;
+
+import com.scf.loan.job.framework.model.RouteInput;
+import com.scf.loan.job.framework.model.RouteResult;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteServiceTest {
+
+    private final List<RouteStrategy> strategies = Arrays.asList(new RegionRouteStrategy(), new BusinessTypeRouteStrategy(),
+            new CreditContractTypeRouteStrategy(), new DefaultRouteStrategy());
+
+    @Test
+    void compiledRoutingMatchesStrategyOrder() {
+        RouteService routeService = new RouteService(strategies);
+
+        ScfCoreCommandParam<Map<String, Object>> param = param("east", "factoring", null);
+        param.setExt(Collections.singletonMap("creditContractType", "revolving"));
+        RouteResult result = routeService.route(param);
+        assertEquals("revolving", result.getRouteKey());
+        assertEquals("CreditContractTypeRouteStrategy", result.getStrategyName());
+        assertEquals("revolving", param.getRouteKey());
+
+        result = routeService.route(param("east", "factoring", null));
+        assertEquals("factoring", result.getRouteKey());
+        assertEquals("BusinessTypeRouteStrategy", result.getStrategyName());
+
+        result = routeService.route(param(null, null, "preset"));
+        assertEquals("preset", result.getRouteKey());
+        assertEquals("DefaultRouteStrategy", result.getStrategyName());
+
+        result = routeService.route(param(null, null, null));
+        assertFalse(result.isHit());
+        assertNull(result.getStrategyName());
+    }
+
+    @Test
+    void repeatedAttributeTuplesHitCache() {
+        AtomicInteger resolved = new AtomicInteger();
+        RouteStrategy counting = new RouteStrategy() {
+            @Override
+            public boolean supports(ScfCoreCommandParam<?> param) {
+                return true;
+            }
+
+            @Override
+            public String route(ScfCoreCommandParam<?> param) {
+                throw new IllegalStateException("compiled routing should not route by param");
+            }
+
+            @Override
+            public int getOrder() {
+                return 0;
+            }
+
+            @Override
+            public Set<String> getRouteAttributes() {
+                return Collections.singleton("region");
+            }
+
+            @Override
+            public String route(RouteInput input) {
+                resolved.incrementAndGet();
+                return "r-" + input.get("region");
+            }
+        };
+        RouteService routeService = new RouteService(Collections.singletonList(counting));
+
+        RouteResult first = routeService.route(param("east", null, null));
+        for (int i = 0; i < 10; i++) {
+            ScfCoreCommandParam<Map<String, Object>> param = param("east", null, null);
+            assertSame(first, routeService.route(param));
+            assertEquals("r-east", param.getRouteKey());
+        }
+        routeService.route(param("west", null, null));
+
+        assertEquals(2, resolved.get());
+        assertEquals(2, routeService.cacheSize());
+    }
+
+    @Test
+    void attributeStrategiesReuseResults() {
+        RouteService routeService = new RouteService(strategies);
+
+        RouteResult first = routeService.route(param("east", null, null));
+        assertSame(first, routeService.route(param("east", null, null)));
+        assertEquals(1, routeService.cacheSize());
+    }
+
+    @Test
+    void cacheIsBounded() {
+        RouteService routeService = new RouteService(strategies, 4);
+
+        for (int i = 0; i < 10; i++) {
+            routeService.route(param("region-" + i, null, null));
+        }
+
+        assertTrue(routeService.cacheSize() <= 4);
+    }
+
+    @Test
+    void undeclaredStrategyFallsBackToPerParamRouting() {
+        RouteStrategy legacy = new RouteStrategy() {
+            @Override
+            public boolean supports(ScfCoreCommandParam<?> param) {
+                return param.getBusinessParam() instanceof Map;
+            }
+
+            @Override
+            public String route(ScfCoreCommandParam<?> param) {
+                return "legacy-" + ((Map<?, ?>) param.getBusinessParam()).get("region");
+            }
+
+            @Override
+            public int getOrder() {
+                return 0;
+            }
+        };
+        RouteService routeService = new RouteService(Arrays.asList(legacy, new RegionRouteStrategy()));
+
+        RouteResult result = routeService.route(param("east", null, null));
+
+        assertEquals("legacy-east", result.getRouteKey());
+        assertEquals(0, routeService.cacheSize());
+    }
+
+    @Test
+    void routeInputEquality() {
+        String[] attributes = {"businessType", "region"};
+        RouteInput a = RouteInput.of(param("east", "factoring", null), attributes);
+        RouteInput b = RouteInput.of(param("east", "factoring", null), attributes);
+        RouteInput c = RouteInput.of(param("east", null, null), attributes);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertFalse(a.equals(c));
+        assertEquals("factoring", a.get("businessType"));
+        assertNull(c.get("businessType"));
+        assertNull(a.get("missing"));
+    }
+
+    @Test
+    void strategyImplementingOnlyParamRouteIsCompiled() {
+        AtomicInteger calls = new AtomicInteger();
+        RouteStrategy channel = new RouteStrategy() {
+            @Override
+            public boolean supports(ScfCoreCommandParam<?> param) {
+                return RouteInput.extract(param, "channel") != null;
+            }
+
+            @Override
+            public String route(ScfCoreCommandParam<?> param) {
+                calls.incrementAndGet();
+                return "channel-" + RouteInput.extract(param, "channel");
+            }
+
+            @Override
+            public int getOrder() {
+                return 0;
+            }
+
+            @Override
+            public Set<String> getRouteAttributes() {
+                return Collections.singleton("channel");
+            }
+        };
+        RouteService routeService = new RouteService(Arrays.asList(channel, new DefaultRouteStrategy()));
+
+        ScfCoreCommandParam<Map<String, Object>> param = param(null, null, "preset");
+        param.setExt(Collections.singletonMap("channel", "app"));
+        assertEquals("channel-app", routeService.route(param).getRouteKey());
+        param = param(null, null, "preset");
+        param.setExt(Collections.singletonMap("channel", "app"));
+        assertEquals("channel-app", routeService.route(param).getRouteKey());
+        assertEquals(1, calls.get());
+
+        RouteResult unsupported = routeService.route(param(null, null, "preset"));
+        assertEquals("preset", unsupported.getRouteKey());
+        assertEquals("DefaultRouteStrategy", unsupported.getStrategyName());
+        assertEquals(1, calls.get());
+
+        RouteInput detached = RouteInput.of(param, new String[]{"channel"}).detach();
+        assertThrows(IllegalStateException.class, () -> channel.route(detached));
+    }
+
+    private static ScfCoreCommandParam<Map<String, Object>> param(String region, String businessType, String routeKey) {
+        Map<String, Object> businessParam = new HashMap<>();
+        if (region != null) {
+            businessParam.put("region", region);
+        }
+        if (businessType != null) {
+            businessParam.put("businessType", businessType);
+        }
+        ScfCoreCommandParam<Map<String, Object>> param = new ScfCoreCommandParam<>();
+        param.setCommandType("TEST");
+        param.setRouteKey(routeKey);
+        param.setBusinessParam(businessParam);
+        return param;
+    }
+}
@@ -0,0 +1,70 @@
+package com.scf.loan.job.framework.trace;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceIdGeneratorTest {
+
+    @Test
+    void rootIdLayout() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
+        String before = LocalDate.now().format(formatter);
+        String rootId = TraceIdGenerator.generateRootId("S", "AB");
+        String after = LocalDate.now().format(formatter);
+
+        assertEquals(TraceIdGenerator.ROOT_ID_LENGTH, rootId.length());
+        assertEquals("S0", rootId.substring(0, 2));
+        assertTrue(rootId.startsWith(before, 2) || rootId.startsWith(after, 2));
+        assertEquals(TraceIdGenerator.getNodeId(), rootId.substring(10, 14));
+        assertEquals("AB00", rootId.substring(14, 18));
+        assertTrue(rootId.substring(18).chars().allMatch(Character::isDigit));
+        assertEquals("SC", TraceIdGenerator.generateRootId(null, "LONGTASK").substring(0, 2));
+        assertEquals("LONG", TraceIdGenerator.generateRootId(null, "LONGTASK").substring(14, 18));
+    }
+
+    @Test
+    void splitIdLayout() {
+        assertEquals("ROOT-10-0007-B1", TraceIdGenerator.generateSplitId("ROOT", "1", "7", "B1"));
+        assertEquals("ROOT-00-0000", TraceIdGenerator.generateSplitId("ROOT", null, " ", ""));
+        assertEquals("ROOT-AB-1234", TraceIdGenerator.generateSplitId("ROOT", "ABC", "12345", null));
+    }
+
+    @Test
+    void nodeIdIsPaddedToFixedWidth() {
+        String original = TraceIdGenerator.getNodeId();
+        try {
+            TraceIdGenerator.setNodeId("12");
+            assertEquals("0012", TraceIdGenerator.generateRootId("SC", "TEST").substring(10, 14));
+        } finally {
+            TraceIdGenerator.setNodeId(original);
+        }
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws InterruptedException {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 5000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(TraceIdGenerator.generateRootId("SC", "TEST"));
+                }
+                done.countDown();
+            });
+            worker.start();
+        }
+        done.await();
+
+        assertEquals(threads * perThread, ids.size());
+    }
+}
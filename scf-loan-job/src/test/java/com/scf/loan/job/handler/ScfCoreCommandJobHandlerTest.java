@@ -0,0 +1,80 @@
+package com.scf.loan.job.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scf.loan.job.framework.dispatcher.UnifiedJobDispatcher;
+import com.scf.loan.job.framework.model.ScfCoreCommandParam;
+import com.scf.loan.job.framework.trace.TraceContext;
+import com.xxl.job.core.biz.model.ReturnT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ScfCoreCommandJobHandler 参数解析测试
+ *
+ * @author scf-loan
+ */
+class ScfCoreCommandJobHandlerTest {
+
+    private final ScfCoreCommandJobHandler handler = new ScfCoreCommandJobHandler();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(handler, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void testParseSingleObject() throws Exception {
+        List<ScfCoreCommandParam<?>> params = handler.parseParams("{\n  \"commandType\": \"A\",\n  \"businessParam\": {\"id\": 1}\n}");
+
+        assertEquals(1, params.size());
+        assertEquals("A", params.get(0).getCommandType());
+        assertEquals(1, ((Map<?, ?>) params.get(0).getBusinessParam()).get("id"));
+    }
+
+    @Test
+    void testParseJsonArray() throws Exception {
+        List<ScfCoreCommandParam<?>> params = handler.parseParams("[{\"commandType\":\"A\"},{\"commandType\":\"B\"}]");
+
+        assertEquals(2, params.size());
+        assertEquals("B", params.get(1).getCommandType());
+    }
+
+    @Test
+    void testParseNdjson() throws Exception {
+        List<ScfCoreCommandParam<?>> params = handler.parseParams(
+                "{\"commandType\":\"A\",\"routeKey\":\"r1\"}\n\n{\"commandType\":\"A\",\"routeKey\":\"r2\"}\n{\"commandType\":\"B\"}\n");
+
+        assertEquals(3, params.size());
+        assertEquals("r2", params.get(1).getRouteKey());
+        assertEquals("B", params.get(2).getCommandType());
+    }
+
+    @Test
+    void testTraceRootIdCarriesFixedTaskCode() {
+        UnifiedJobDispatcher dispatcher = mock(UnifiedJobDispatcher.class);
+        AtomicReference<String> rootId = new AtomicReference<>();
+        when(dispatcher.dispatch(any())).thenAnswer(invocation -> {
+            rootId.set(TraceContext.getRootId());
+            return ReturnT.SUCCESS;
+        });
+        ReflectionTestUtils.setField(handler, "dispatcher", dispatcher);
+        ReflectionTestUtils.setField(handler, "meterRegistry", new SimpleMeterRegistry());
+
+        ReturnT<String> result = handler.executeInternal("{\"commandType\":\"A\"}", "scfCoreCommand");
+
+        assertEquals(ReturnT.SUCCESS_CODE, result.getCode());
+        // 任务类型码位于系统码(2)、日期(8)、节点(4)之后
+        assertEquals("CCMD", rootId.get().substring(14, 18));
+    }
+}
@@ -0,0 +1,122 @@
+package com.scf.loan.job.service;
+
+import com.scf.loan.biz.service.BillService;
+import com.scf.loan.common.enums.BillEnum;
+import com.scf.loan.dal.entity.BillEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * OverdueCheckService 单元测试
+ *
+ * @author scf-loan
+ */
+@ExtendWith(MockitoExtension.class)
+class OverdueCheckServiceTest {
+
+    private static final LocalDate BIZ_DATE = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private BillService billService;
+
+    @InjectMocks
+    private OverdueCheckService overdueCheckService;
+
+    @Test
+    void testRecompute() {
+        LocalDateTime now = LocalDateTime.now();
+
+        BillEntity change = OverdueCheckService.recompute(bill(1L, "order-1", "2026-03-07", BillEnum.WAIT_REPAY, 0), BIZ_DATE, now);
+        assertNotNull(change);
+        assertEquals(3, change.getOverdueDays());
+        assertEquals(BillEnum.OVERDUE.getCode(), change.getBillStatus());
+        assertEquals(now, change.getStateChangeTime());
+        assertEquals(1, change.getRevision());
+
+        BillEntity overdue = bill(2L, "order-1", "2026-03-07", BillEnum.OVERDUE, 2);
+        change = OverdueCheckService.recompute(overdue, BIZ_DATE, now);
+        assertEquals(3, change.getOverdueDays());
+        assertNull(change.getBillStatus());
+
+        overdue.setOverdueDays(3);
+        assertNull(OverdueCheckService.recompute(overdue, BIZ_DATE, now));
+        assertNull(OverdueCheckService.recompute(bill(3L, "order-1", "2026-03-07", BillEnum.CLEARED, 0), BIZ_DATE, now));
+    }
+
+    @Test
+    void testShardOfIsStable() {
+        for (int i = 0; i < 100; i++) {
+            int shard = OverdueCheckService.shardOf("order-" + i, 4);
+            assertTrue(shard >= 0 && shard < 4);
+            assertEquals(shard, OverdueCheckService.shardOf("order-" + i, 4));
+        }
+        assertEquals(0, OverdueCheckService.shardOf(null, 4));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCheckProcessesChunksInParallel() throws Exception {
+        ReflectionTestUtils.setField(overdueCheckService, "chunkSize", 2);
+        ReflectionTestUtils.setField(overdueCheckService, "parallelism", 2);
+        List<BillEntity> bills = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            bills.add(bill(id, "order-" + id, "2026-03-01", BillEnum.WAIT_REPAY, 0));
+        }
+        doAnswer(invocation -> {
+            Consumer<List<BillEntity>> consumer = invocation.getArgument(2);
+            for (int from = 0; from < bills.size(); from += 2) {
+                consumer.accept(new ArrayList<>(bills.subList(from, Math.min(bills.size(), from + 2))));
+            }
+            return (long) bills.size();
+        }).when(billService).scanBill(any(), anyInt(), any(Consumer.class));
+        when(billService.batchUpdateBillWithRevision(anyList())).thenAnswer(invocation -> {
+            List<BillEntity> changes = invocation.getArgument(0);
+            return changes.stream().anyMatch(change -> change.getId() == 5L)
+                    ? Collections.singletonList(changes.get(0)) : Collections.emptyList();
+        });
+
+        OverdueCheckResult result = overdueCheckService.check(BIZ_DATE, 0, 1);
+
+        assertEquals(5, result.getScanned());
+        assertEquals(5, result.getOverdue());
+        assertEquals(4, result.getUpdated());
+        assertEquals(1, result.getConflicts());
+        assertEquals(0, result.getFailedChunks());
+        verify(billService, times(3)).batchUpdateBillWithRevision(anyList());
+    }
+
+    @Test
+    void testCheckWithInvalidShard() {
+        assertThrows(IllegalArgumentException.class, () -> overdueCheckService.check(BIZ_DATE, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> overdueCheckService.check(null, 0, 1));
+    }
+
+    private BillEntity bill(Long id, String financingOrderId, String dueDate, BillEnum status, int overdueDays) {
+        BillEntity bill = new BillEntity();
+        bill.setId(id);
+        bill.setFinancingOrderId(financingOrderId);
+        bill.setDueDate(dueDate);
+        bill.setBillStatus(status.getCode());
+        bill.setOverdueDays(overdueDays);
+        bill.setRemainingAmount(100L);
+        bill.setRevision(1);
+        return bill;
+    }
+}
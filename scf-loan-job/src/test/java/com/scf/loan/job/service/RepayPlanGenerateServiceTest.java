@@ -0,0 +1,159 @@
+package com.scf.loan.job.service;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.scf.loan.bill.service.RepayPlanService;
+import com.scf.loan.biz.service.BillService;
+import com.scf.loan.biz.service.FinancingOrderService;
+import com.scf.loan.common.enums.BillEnum;
+import com.scf.loan.dal.entity.BillEntity;
+import com.scf.loan.dal.entity.FinancingOrderEntity;
+import com.scf.loan.job.config.BillSdkConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * RepayPlanGenerateService 单元测试
+ *
+ * @author scf-loan
+ */
+@ExtendWith(MockitoExtension.class)
+class RepayPlanGenerateServiceTest {
+
+    @Mock
+    private FinancingOrderService financingOrderService;
+
+    @Mock
+    private BillService billService;
+
+    @Spy
+    private RepayPlanService billRepayPlanService = new BillSdkConfig().billRepayPlanService();
+
+    @InjectMocks
+    private RepayPlanGenerateService repayPlanGenerateService;
+
+    private final List<BillEntity> written = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repayPlanGenerateService, "pageSize", 2);
+        ReflectionTestUtils.setField(repayPlanGenerateService, "workers", 2);
+        ReflectionTestUtils.setField(repayPlanGenerateService, "queueCapacity", 2);
+        ReflectionTestUtils.setField(repayPlanGenerateService, "writeBatchSize", 12);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGenerateWritesBillsForAllOrders() throws Exception {
+        when(financingOrderService.list(any(Wrapper.class)))
+                .thenReturn(Arrays.asList(order(1L, 1_000_000L), order(2L, 2_000_000L)))
+                .thenReturn(Collections.singletonList(order(3L, 3_000_000L)));
+        when(billService.batchInsertBill(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<BillEntity> rows = invocation.getArgument(0);
+            written.addAll(rows);
+            return rows.size();
+        });
+
+        RepayPlanGenerateResult result = repayPlanGenerateService.generate(null);
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getOrders());
+        assertEquals(3, result.getGenerated());
+        assertEquals(36, result.getBills());
+        assertEquals(0, result.getFailed());
+        assertEquals(3L, result.getCheckpointId());
+        assertEquals(0L, repayPlanGenerateService.getCheckpoint());
+        assertEquals(36, written.size());
+        long principal = written.stream()
+                .filter(bill -> "order-2".equals(bill.getFinancingOrderId()))
+                .mapToLong(BillEntity::getPrincipalAmount)
+                .sum();
+        assertEquals(2_000_000L, principal);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCheckpointStopsBeforeFailedPage() throws Exception {
+        when(financingOrderService.list(any(Wrapper.class)))
+                .thenReturn(Arrays.asList(order(1L, 1_000_000L), order(2L, 2_000_000L)))
+                .thenReturn(Collections.singletonList(order(3L, null)))
+                .thenReturn(Collections.emptyList());
+        when(billService.batchInsertBill(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<BillEntity> rows = invocation.getArgument(0);
+            return rows.size();
+        });
+
+        RepayPlanGenerateResult result = repayPlanGenerateService.generate(null);
+
+        assertTrue(result.isCompleted());
+        assertEquals(2, result.getGenerated());
+        assertEquals(1, result.getFailed());
+        assertEquals(2L, result.getCheckpointId());
+        assertEquals(2L, repayPlanGenerateService.getCheckpoint());
+
+        RepayPlanGenerateResult resumed = repayPlanGenerateService.generate(null);
+        assertEquals(2L, resumed.getStartId());
+        assertEquals(0L, repayPlanGenerateService.getCheckpoint());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWriteFailureAbortsRun() throws Exception {
+        when(financingOrderService.list(any(Wrapper.class)))
+                .thenReturn(Arrays.asList(order(1L, 1_000_000L), order(2L, 2_000_000L)))
+                .thenReturn(Collections.singletonList(order(3L, 3_000_000L)));
+        when(billService.batchInsertBill(anyList(), anyInt())).thenThrow(new IllegalStateException("db down"));
+
+        RepayPlanGenerateResult result = repayPlanGenerateService.generate(null);
+
+        assertFalse(result.isCompleted());
+        assertEquals(0, result.getGenerated());
+        assertEquals(result.getOrders(), result.getFailed());
+        assertEquals(0L, result.getCheckpointId());
+    }
+
+    @Test
+    void testToBills() {
+        FinancingOrderEntity order = order(1L, 1_200_000L);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BillEntity> bills = RepayPlanGenerateService.toBills(order,
+                billRepayPlanService.generateSchedule(repayPlanGenerateService.buildRequest(order)), now);
+
+        assertEquals(12, bills.size());
+        BillEntity first = bills.get(0);
+        assertEquals("order-1-1", first.getBillId());
+        assertEquals(BillEnum.WAIT_REPAY.getCode(), first.getBillStatus());
+        assertEquals("2026-01-01", first.getStartDate());
+        assertEquals("2026-01-31", first.getDueDate());
+        assertEquals(first.getTotalAmount(), first.getPrincipalAmount() + first.getInterestAmount());
+        assertEquals(first.getTotalAmount(), first.getRemainingAmount());
+        assertEquals(1_200_000L, bills.stream().mapToLong(BillEntity::getPrincipalAmount).sum());
+    }
+
+    private FinancingOrderEntity order(Long id, Long loanAmount) {
+        FinancingOrderEntity order = new FinancingOrderEntity();
+        order.setId(id);
+        order.setFinancingOrderId("order-" + id);
+        order.setLoanAmount(loanAmount);
+        order.setLoanTime(LocalDateTime.of(2026, 1, 1, 10, 0));
+        return order;
+    }
+}